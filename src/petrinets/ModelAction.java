@@ -2,5 +2,7 @@ package petrinets;
 
 public enum ModelAction {
 	LOAD_FILE, PRINT_LINE, UPDATE_PLACE, UPDATE_TRANSITION, ADD_ARC, ADD_PLACE, ADD_TRANSITION, ADD_MARKING, HIGHLIGHT_MARKING, ADD_EDGE,
-	HIGHLIGHT_EDGE, SET_SECOND_OMEGA_MARKING, SET_FIRST_OMEGA_MARKING, SET_OMEGA_PATH, HIGHLIGHT_PLACE
+	HIGHLIGHT_EDGE, SET_SECOND_OMEGA_MARKING, SET_FIRST_OMEGA_MARKING, SET_OMEGA_PATH, HIGHLIGHT_PLACE,
+	SET_PLACE_BOUNDS, SET_STRUCTURAL_BOUNDED, SET_FIRING_SEQUENCE, SET_APPROXIMATE, SET_UNDECIDED, SET_METRICS, SET_LIVENESS,
+	SET_DEADLOCK, SET_DEADLOCK_PATH, SET_BOUNDED
 }
@@ -0,0 +1,209 @@
+package petrinets.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse repräsentiert den Erreichbarkeits-Algorithmus mit Bitstate-Hashing (Supertrace).<br>
+ * Besuchte Markierungen werden nicht gespeichert, sondern setzen nur einige Bits in einem<br>
+ * {@link BitStateTable}. Im Speicher liegen nur der Bitarray und der Stapel einer Tiefensuche,<br>
+ * so dass um Größenordnungen mehr Markierungen als bei der exakten Exploration besucht werden.<p>
+ *
+ * Der Stapel enthält keine Markierungen, sondern pro Tiefe nur die geschaltete und die nächste<br>
+ * zu prüfende Transition. Die aktuelle Markierung wird beim Abstieg vorwärts und beim Rückzug<br>
+ * rückwärts geschaltet.<p>
+ *
+ * Das Abbruchkriterium wird wie bei der Tiefensuche gegen den Stapel geprüft, die Vorfahren<br>
+ * entstehen dabei durch Rückwärtsschalten. Wird es erreicht, ist das Petri-Netz sicher<br>
+ * unbeschränkt und der Stapel ist der Pfad. Sonst ist das Ergebnis approximativ, da<br>
+ * Markierungen fälschlich als besucht gelten können.<p>
+ *
+ * Das Ergebnis enthält nur den Pfad von der Startmarkierung zum Abbruchkriterium bzw.<br>
+ * die Startmarkierung sowie eine {@link BitStateSummary}.
+ *
+ * @author Michael Assmair
+ *
+ * @see ExplorationMode#BIT_STATE
+ * @see DepthFirstReachabilityExplorer
+ *
+ */
+final class BitStateExplorer extends ReachabilityExplorer {
+	
+	//Änderung der Summe der Marken beim Schalten jeder Transition
+	private final int[] tokenDelta;
+	
+	//pro Tiefe die geschaltete Transition, die nächste zu prüfende Transition und
+	//die kleinste Summe der Marken auf dem Stapel bis zu dieser Tiefe
+	private int[] transitions = new int[1024];
+	private int[] nextTransitions = new int[1024];
+	private long[] minTokens = new long[1024];
+	
+	
+	/**
+	 * Konstruktor für Bitstate-Hashing auf dem übergebenen Petri-Netz.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	BitStateExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+		tokenDelta = new int[net.getTransitionCount()];
+		for(int transition = 0; transition < tokenDelta.length; transition++) {
+			tokenDelta[transition] = net.getNextPlaces(transition).length - net.getPreviousPlaces(transition).length;
+		}
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung die erreichbaren Markierungen<br>
+	 * in der Reihenfolge einer Tiefensuche besucht, ohne sie zu speichern.
+	 *
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Pfad des Abbruchkriteriums bzw. Startmarkierung mit der Zusammenfassung
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final BitStateTable visited = new BitStateTable(settings.getBitStateSize(), settings.getBitStateHashes(), settings.getStorage());
+		final int[] marking = initialMarking.clone();
+		final int[] ancestor = new int[marking.length];
+		long fired = 0;
+		int maxDepth = 0;
+		
+		//Schritte der Tiefensuche, für einen Teil davon werden die Zeiten gemessen
+		long steps = 0;
+		
+		try {
+			visited.add(marking);
+			long tokens = 0;
+			for(int place : marking) {
+				tokens += place;
+			}
+			int depth = 0;
+			transitions[0] = -1;
+			nextTransitions[0] = 0;
+			minTokens[0] = tokens;
+			monitor.setMemoryUsage(visited::memoryUsage);
+			
+			while(depth >= 0) {
+				//vorzeitiges Ende, das Ergebnis enthält nur die Zusammenfassung
+				if(monitor.isExhausted(visited.size(), fired, depth + 1)) {
+					final ReachabilityResult result = result(initialMarking, 0, -1, visited.summarize(fired, maxDepth));
+					result.setUndecided(monitor.getStopReason());
+					return result;
+				}
+				
+				//Zeiten werden nur für einen Teil der Schritte gemessen
+				final boolean timed = monitor.isTimed(steps++);
+				final long start = timed ? System.nanoTime() : 0;
+				
+				//nächste aktive Transition der obersten Markierung
+				int transition = nextTransitions[depth];
+				while(transition < net.getTransitionCount() && !net.isActiv(marking, transition)) {
+					transition++;
+				}
+				
+				//keine mehr, die Markierung wird durch Rückwärtsschalten verlassen
+				if(transition == net.getTransitionCount()) {
+					if(depth > 0) {
+						net.undoInPlace(marking, transitions[depth]);
+						tokens -= tokenDelta[transitions[depth]];
+					}
+					depth--;
+					if(timed) {
+						monitor.addTiming(System.nanoTime() - start, 0);
+					}
+					continue;
+				}
+				nextTransitions[depth] = transition + 1;
+				net.fireInPlace(marking, transition);
+				tokens += tokenDelta[transition];
+				fired++;
+				
+				//bereits besucht, die Transition wird zurückgenommen
+				if(!visited.add(marking)) {
+					net.undoInPlace(marking, transition);
+					tokens -= tokenDelta[transition];
+					if(timed) {
+						monitor.addTiming(System.nanoTime() - start, 0);
+					}
+					continue;
+				}
+				
+				//Abstieg in die neue Markierung
+				depth++;
+				push(depth, transition, Math.min(tokens, minTokens[depth - 1]));
+				maxDepth = Math.max(maxDepth, depth);
+				
+				//Abbruchkriterium nur, falls eine Markierung des Stapels weniger Marken trägt
+				final long omegaStart = timed ? System.nanoTime() : 0;
+				if(tokens > minTokens[depth - 1]) {
+					final int omega = findOmega(marking, ancestor, depth, tokens);
+					if(omega >= 0) {
+						return result(initialMarking, depth, omega, visited.summarize(fired, maxDepth));
+					}
+				}
+				if(timed) {
+					final long end = System.nanoTime();
+					monitor.addTiming(end - start, end - omegaStart);
+				}
+			}
+			return result(initialMarking, 0, -1, visited.summarize(fired, maxDepth));
+		} finally {
+			//die endgültigen Messwerte enthalten den Speicher des Bitarrays
+			monitor.freezeMemoryUsage();
+			visited.release();
+		}
+	}
+	
+	
+	//legt eine neue Tiefe auf den Stapel
+	private void push(int depth, int transition, long min) {
+		if(depth == transitions.length) {
+			transitions = Arrays.copyOf(transitions, depth * 2);
+			nextTransitions = Arrays.copyOf(nextTransitions, depth * 2);
+			minTokens = Arrays.copyOf(minTokens, depth * 2);
+		}
+		transitions[depth] = transition;
+		nextTransitions[depth] = 0;
+		minTokens[depth] = min;
+	}
+	
+	
+	//sucht auf dem Stapel unter der obersten Markierung die der Startmarkierung nächste
+	//Markierung, die von der obersten echt überdeckt wird. Die Vorfahren entstehen durch
+	//Rückwärtsschalten, Vorfahren mit mindestens gleich vielen Marken entfallen
+	private int findOmega(int[] marking, int[] ancestor, int depth, long tokens) {
+		System.arraycopy(marking, 0, ancestor, 0, marking.length);
+		long ancestorTokens = tokens;
+		int omega = -1;
+		for(int level = depth - 1; level >= 0 && minTokens[level] < tokens; level--) {
+			net.undoInPlace(ancestor, transitions[level + 1]);
+			ancestorTokens -= tokenDelta[transitions[level + 1]];
+			if(ancestorTokens < tokens && isOmega(ancestor, marking)) {
+				omega = level;
+			}
+		}
+		return omega;
+	}
+	
+	
+	//Ergebnis mit dem Pfad des Stapels bis zur übergebenen Tiefe, die Markierungen
+	//werden ab der Startmarkierung durch Schalten berechnet
+	private ReachabilityResult result(int[] initialMarking, int depth, int omega, BitStateSummary summary) {
+		final ReachabilityResult result = newResult();
+		final int[] marking = initialMarking.clone();
+		result.addMarking(marking, -1, -1);
+		for(int id = 1; id <= depth; id++) {
+			net.fireInPlace(marking, transitions[id]);
+			result.beginEdges(id - 1);
+			result.addMarking(marking, id - 1, transitions[id]);
+			result.addEdge(id - 1, transitions[id], id);
+		}
+		if(omega >= 0) {
+			result.setOmega(omega, depth);
+		}
+		result.setBitStateSummary(summary);
+		return result;
+	}
+}
@@ -0,0 +1,139 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse fasst das Ergebnis einer Exploration mit Bitstate-Hashing zusammen.<br>
+ * Die Exploration ist approximativ: Markierungen, deren Bits bereits gesetzt waren,<br>
+ * werden ausgelassen, und mit ihnen alle nur über sie erreichbaren Markierungen.<p>
+ *
+ * Ein gefundenes Abbruchkriterium ist trotzdem exakt, da sein Pfad tatsächlich geschaltet<br>
+ * wurde. Ein beschränktes Ergebnis gilt dagegen nur für die besuchten Markierungen,<br>
+ * seine Verlässlichkeit beschreiben {@link #getCoverage()} und {@link #getOmissionProbability()}.
+ *
+ * @author Michael Assmair
+ *
+ * @see ExplorationMode#BIT_STATE
+ * @see ReachabilityResult#getBitStateSummary()
+ *
+ */
+public final class BitStateSummary {
+	
+	//Anzahl der besuchten Markierungen und der geschalteten Transitionen
+	private final long states;
+	private final long transitions;
+	
+	//größte Tiefe des Stapels
+	private final int maxDepth;
+	
+	//Zweierlogarithmus der Anzahl der Bits, Anzahl der Hashfunktionen und gesetzte Bits
+	private final int sizeBits;
+	private final int hashCount;
+	private final long bitsSet;
+	
+	//erwartete Anzahl ausgelassener Markierungen
+	private final double expectedOmissions;
+	
+	
+	//Konstruktor übernimmt die Zähler des Bitarrays
+	BitStateSummary(long states, long transitions, int maxDepth, int sizeBits, int hashCount, long bitsSet, double expectedOmissions) {
+		this.states = states;
+		this.transitions = transitions;
+		this.maxDepth = maxDepth;
+		this.sizeBits = sizeBits;
+		this.hashCount = hashCount;
+		this.bitsSet = bitsSet;
+		this.expectedOmissions = expectedOmissions;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der besuchten Markierungen liefert.
+	 *
+	 * @return Anzahl der Markierungen, deren Bits gesetzt wurden
+	 */
+	public long getStates() {
+		return states;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der geschalteten Transitionen liefert.<br>
+	 * Das entspricht den Kanten des Erreichbarkeitsgraphen, die von besuchten Markierungen ausgehen.
+	 *
+	 * @return Anzahl der geschalteten Transitionen
+	 */
+	public long getTransitions() {
+		return transitions;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die größte Tiefe des Stapels liefert.
+	 *
+	 * @return Länge des längsten untersuchten Pfades
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Zweierlogarithmus der Anzahl der Bits liefert.
+	 *
+	 * @return Zweierlogarithmus der Größe des Bitarrays
+	 */
+	public int getSizeBits() {
+		return sizeBits;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Hashfunktionen pro Markierung liefert.
+	 *
+	 * @return Anzahl der Hashfunktionen
+	 */
+	public int getHashCount() {
+		return hashCount;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Anteil der gesetzten Bits liefert.
+	 *
+	 * @return Anteil zwischen 0 und 1
+	 */
+	public double getFillRatio() {
+		return bitsSet / Math.scalb(1.0, sizeBits);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Wahrscheinlichkeit liefert, dass eine neue Markierung<br>
+	 * beim aktuellen Füllstand des Bitarrays fälschlich als besucht gilt.
+	 *
+	 * @return Wahrscheinlichkeit einer Auslassung pro Markierung
+	 */
+	public double getOmissionProbability() {
+		return Math.pow(getFillRatio(), hashCount);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die erwartete Anzahl ausgelassener Markierungen liefert.<br>
+	 * Nicht enthalten sind Markierungen, die nur über ausgelassene Markierungen erreichbar sind.
+	 *
+	 * @return erwartete Anzahl ausgelassener Markierungen
+	 */
+	public double getExpectedOmissions() {
+		return expectedOmissions;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den geschätzten Anteil der besuchten an allen erreichbaren Markierungen liefert.
+	 *
+	 * @return geschätzte Abdeckung zwischen 0 und 1
+	 */
+	public double getCoverage() {
+		return states / (states + expectedOmissions);
+	}
+}
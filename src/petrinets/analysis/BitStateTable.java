@@ -0,0 +1,135 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse repräsentiert die besuchten Markierungen beim Bitstate-Hashing.<br>
+ * Eine Markierung wird nicht gespeichert, sondern setzt nur k Bits in einem großen<br>
+ * Bitarray, deren Positionen aus zwei Hashwerten der Markierung berechnet werden.<p>
+ *
+ * Sind alle k Bits einer neuen Markierung bereits durch andere Markierungen gesetzt,<br>
+ * gilt sie fälschlich als besucht und wird ausgelassen. Die Wahrscheinlichkeit dafür<br>
+ * ist beim Anteil f gesetzter Bits etwa f hoch k. Für jede eingefügte Markierung wird<br>
+ * die erwartete Anzahl der bis dahin ausgelassenen Markierungen aufsummiert.
+ *
+ * @author Michael Assmair
+ *
+ * @see BitStateExplorer
+ * @see BitStateSummary
+ *
+ */
+final class BitStateTable {
+	
+	//Startwert des ersten Hashwertes
+	private static final long SEED = 0x2545F4914F6CDD1DL;
+	
+	//Bitarray in Blöcken von 64 Bits
+	private final LongArray words;
+	
+	//Zweierlogarithmus der Anzahl der Bits und Anzahl der Hashfunktionen
+	private final int sizeBits;
+	private final int hashCount;
+	
+	//Maske für die Position eines Bits
+	private final long mask;
+	
+	//Anzahl der gesetzten Bits und der eingefügten Markierungen
+	private long bitsSet;
+	private long inserted;
+	
+	//erwartete Anzahl der bisher fälschlich als besucht gewerteten Markierungen
+	private double expectedOmissions;
+	
+	
+	/**
+	 * Konstruktor für einen leeren Bitarray.
+	 *
+	 * @param sizeBits Zweierlogarithmus der Anzahl der Bits
+	 * @param hashCount Anzahl der Hashfunktionen
+	 * @param backend Speicher des Bitarrays
+	 */
+	BitStateTable(int sizeBits, int hashCount, StorageBackend backend) {
+		this.sizeBits = sizeBits;
+		this.hashCount = hashCount;
+		this.mask = (1L << sizeBits) - 1;
+		words = LongArray.create(backend);
+		words.ensureCapacity(Math.max(1L, 1L << (sizeBits - 6)));
+	}
+	
+	
+	/**
+	 * Setzt die Bits der übergebenen Markierung.
+	 *
+	 * @param marking Markierung in Array-Darstellung
+	 *
+	 * @return true, falls mindestens ein Bit noch nicht gesetzt war und die Markierung damit neu ist
+	 */
+	boolean add(int[] marking) {
+		final long first = FingerprintSet.fingerprint(marking, SEED);
+		//ungerade Schrittweite, damit die k Positionen verschieden sind
+		final long step = FingerprintSet.fingerprint(marking, first) | 1;
+		
+		//Wahrscheinlichkeit einer Auslassung vor dem Einfügen
+		final double fill = (double)bitsSet / (mask + 1);
+		
+		int added = 0;
+		for(int i = 0; i < hashCount; i++) {
+			final long bit = (first + i * step) & mask;
+			final long word = words.get(bit >>> 6);
+			final long flag = 1L << bit;
+			if((word & flag) == 0) {
+				words.set(bit >>> 6, word | flag);
+				added++;
+			}
+		}
+		if(added == 0) {
+			return false;
+		}
+		
+		//pro eingefügter Markierung gingen im Mittel p / (1 - p) neue Markierungen verloren
+		final double omission = Math.pow(fill, hashCount);
+		expectedOmissions += omission / (1 - omission);
+		bitsSet += added;
+		inserted++;
+		return true;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der als neu eingefügten Markierungen liefert.
+	 *
+	 * @return Anzahl der eingefügten Markierungen
+	 */
+	long size() {
+		return inserted;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher des Bitarrays liefert.
+	 *
+	 * @return belegter Speicher in Bytes
+	 */
+	long memoryUsage() {
+		return words.capacity() * Long.BYTES;
+	}
+	
+	
+	/**
+	 * Liefert eine Zusammenfassung des Bitarrays nach der Exploration.
+	 *
+	 * @param transitions Anzahl der geschalteten Transitionen
+	 * @param maxDepth größte Tiefe des Stapels
+	 *
+	 * @return Zusammenfassung mit Abdeckung und Wahrscheinlichkeit einer Auslassung
+	 */
+	BitStateSummary summarize(long transitions, int maxDepth) {
+		return new BitStateSummary(inserted, transitions, maxDepth, sizeBits, hashCount, bitsSet, expectedOmissions);
+	}
+	
+	
+	/**
+	 * Gibt den Speicher des Bitarrays frei. Er darf danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		words.release();
+	}
+}
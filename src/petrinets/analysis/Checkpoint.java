@@ -0,0 +1,229 @@
+package petrinets.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Diese Klasse repräsentiert einen gespeicherten Zwischenstand der Breitensuche.<br>
+ * Gespeichert werden die gefundenen Markierungen mit ihren Vorgängern, die Kanten der<br>
+ * bereits verarbeiteten Markierungen und die ID der nächsten zu verarbeitenden Markierung.<br>
+ * Da die Markierungen in der Reihenfolge ihrer ID verarbeitet werden, ist die Warteschlange<br>
+ * genau die Folge der Markierungen ab dieser ID und muss nicht gespeichert werden.<p>
+ *
+ * Alle Werte werden mit variabler Länge kodiert. Der Name der Datei ergibt sich aus einem<br>
+ * Hashwert über Stellen, Transitionen, Bögen, Startmarkierung und Art der Exploration, so dass<br>
+ * in einem Verzeichnis die Zwischenstände mehrerer Petri-Netze und Analysen liegen können.<br>
+ * Die Art der Exploration steht zusätzlich im Kopf der Datei, ein Zwischenstand einer anderen<br>
+ * Art wird nicht fortgesetzt, da z.B. eine Verklemmungssuche die bereits verarbeiteten<br>
+ * Markierungen nicht erneut prüft. Geschrieben wird zuerst in eine<br>
+ * temporäre Datei, die danach umbenannt wird, ein Abbruch beim Schreiben lässt den<br>
+ * vorherigen Zwischenstand unverändert.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityExplorer
+ * @see ExplorationSettings#setCheckpointDirectory(Path)
+ *
+ */
+final class Checkpoint {
+	
+	//Kennung und Version des Dateiformats
+	private static final int MAGIC = 0x504E434B;
+	private static final int VERSION = 2;
+	
+	//Größe der Puffer für Schreiben und Lesen
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	//gelesenes Ergebnis und ID der nächsten zu verarbeitenden Markierung
+	private final ReachabilityResult result;
+	private final int next;
+	
+	
+	//Konstruktor übernimmt den gelesenen Zwischenstand
+	private Checkpoint(ReachabilityResult result, int next) {
+		this.result = result;
+		this.next = next;
+	}
+	
+	
+	/**
+	 * Liefert die Datei für den Zwischenstand des Petri-Netzes mit der übergebenen Startmarkierung.
+	 *
+	 * @param directory Verzeichnis der Zwischenstände
+	 * @param net kompiliertes Petri-Netz
+	 * @param mode Art der Exploration
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Datei im Verzeichnis, sie muss nicht existieren
+	 */
+	static Path file(Path directory, CompiledNet net, ExplorationMode mode, int[] initialMarking) {
+		long key = FingerprintSet.fingerprint(initialMarking, net.getPlaceCount());
+		key = FingerprintSet.fingerprint(new int[] {mode.ordinal()}, key);
+		for(int place = 0; place < net.getPlaceCount(); place++) {
+			key = FingerprintSet.fingerprint(new int[] {net.getPlace(place).getId().hashCode()}, key);
+		}
+		for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+			key = FingerprintSet.fingerprint(new int[] {net.getTransition(transition).getId().hashCode()}, key);
+			key = FingerprintSet.fingerprint(net.getPreviousPlaces(transition), key);
+			key = FingerprintSet.fingerprint(net.getNextPlaces(transition), key);
+		}
+		return directory.resolve(String.format("%016x.checkpoint", key));
+	}
+	
+	
+	/**
+	 * Schreibt den Zwischenstand in die übergebene Datei.
+	 *
+	 * @param file Datei des Zwischenstandes
+	 * @param mode Art der Exploration
+	 * @param result bisheriges Ergebnis der Exploration
+	 * @param next ID der nächsten zu verarbeitenden Markierung, alle kleineren IDs sind verarbeitet
+	 *
+	 * @throws UncheckedIOException falls die Datei nicht geschrieben werden kann
+	 */
+	static void save(Path file, ExplorationMode mode, ReachabilityResult result, int next) {
+		final int placeCount = result.getPlaceCount();
+		final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeValue(out, mode.ordinal());
+				writeValue(out, placeCount);
+				writeValue(out, result.size());
+				writeValue(out, next);
+				writeValue(out, result.getFirstOmegaMarking() + 1);
+				writeValue(out, result.getSecondOmegaMarking() + 1);
+				
+				//Markierungen mit Vorgänger und der dabei geschalteten Transition
+				final int[] marking = new int[placeCount];
+				for(int id = 0; id < result.size(); id++) {
+					result.getMarking(id, marking);
+					for(int tokens : marking) {
+						writeValue(out, tokens);
+					}
+					writeValue(out, result.getParent(id) + 1);
+					writeValue(out, result.getParentTransition(id) + 1);
+				}
+				
+				//Kanten der verarbeiteten Markierungen, die Quelle ergibt sich aus der Reihenfolge
+				for(int id = 0; id < next; id++) {
+					final int first = result.getFirstEdge(id);
+					final int end = result.getEndEdge(id);
+					writeValue(out, end - first);
+					for(int edge = first; edge < end; edge++) {
+						writeValue(out, result.getEdgeTransition(edge));
+						writeValue(out, result.getEdgeTarget(edge));
+					}
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	/**
+	 * Liest den Zwischenstand aus der übergebenen Datei.
+	 *
+	 * @param file Datei des Zwischenstandes
+	 * @param mode Art der Exploration, ein Zwischenstand einer anderen Art passt nicht
+	 * @param placeCount Anzahl der Stellen einer Markierung
+	 * @param backend Speicher für Markierungen und Kanten des gelesenen Ergebnisses
+	 *
+	 * @return Zwischenstand oder null, falls die Datei nicht existiert oder nicht passt
+	 *
+	 * @throws UncheckedIOException falls die Datei nicht gelesen werden kann
+	 */
+	static Checkpoint load(Path file, ExplorationMode mode, int placeCount, StorageBackend backend) {
+		if(!Files.isRegularFile(file)) {
+			return null;
+		}
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION
+					|| readValue(in) != mode.ordinal() || readValue(in) != placeCount) {
+				return null;
+			}
+			final int size = readValue(in);
+			final int next = readValue(in);
+			final int firstOmega = readValue(in) - 1;
+			final int secondOmega = readValue(in) - 1;
+			
+			final ReachabilityResult result = new ReachabilityResult(placeCount, backend);
+			final int[] marking = new int[placeCount];
+			for(int id = 0; id < size; id++) {
+				for(int place = 0; place < placeCount; place++) {
+					marking[place] = readValue(in);
+				}
+				final int parent = readValue(in) - 1;
+				result.addMarking(marking, parent, readValue(in) - 1);
+			}
+			for(int id = 0; id < next; id++) {
+				result.beginEdges(id);
+				for(int count = readValue(in); count > 0; count--) {
+					final int transition = readValue(in);
+					result.addEdge(id, transition, readValue(in));
+				}
+			}
+			if(secondOmega >= 0) {
+				result.setOmega(firstOmega, secondOmega);
+			}
+			return new Checkpoint(result, next);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	//schreibt einen nicht negativen Wert mit sieben Bits pro Byte
+	private static void writeValue(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+	
+	
+	//liest einen mit sieben Bits pro Byte geschriebenen Wert
+	private static int readValue(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0);
+		return value;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die das gelesene Ergebnis liefert.
+	 *
+	 * @return bisheriges Ergebnis der Exploration
+	 */
+	ReachabilityResult getResult() {
+		return result;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die ID der nächsten zu verarbeitenden Markierung liefert.
+	 *
+	 * @return ID der nächsten Markierung, gleich der Anzahl der Markierungen, falls die Exploration abgeschlossen ist
+	 */
+	int getNext() {
+		return next;
+	}
+}
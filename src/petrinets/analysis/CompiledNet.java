@@ -0,0 +1,333 @@
+package petrinets.analysis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import petrinets.markingGraphModel.Marking;
+import petrinets.petrinetModel.Petrinet;
+import petrinets.petrinetModel.Place;
+import petrinets.petrinetModel.Transition;
+
+/**
+ * Diese Klasse repräsentiert eine unveränderliche, kompilierte Kopie eines Petri-Netzes.<br>
+ * Stellen und Transitionen werden über ihren Index angesprochen, eine Markierung ist<br>
+ * ein int-Array, dessen Einträge in der Reihenfolge der Stellen des {@link Petrinet} stehen.<p>
+ * 
+ * Aktivierung und Schalten von Transitionen arbeiten direkt auf diesen Arrays,<br>
+ * dabei werden weder die Stellen des Petri-Netzes verändert noch Beobachter informiert.<br>
+ * Das {@link Petrinet} verwendet die kompilierte Kopie auch für das Schalten durch den Benutzer.<br>
+ * Stellen mit dem Wert {@link Marking#OMEGA} behalten beim Schalten diesen Wert.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see Petrinet
+ * @see ReachabilityExplorer
+ *
+ */
+public final class CompiledNet {
+	
+	//Stellen und Transitionen in der Reihenfolge ihres Index
+	private final Place[] places;
+	private final Transition[] transitions;
+	
+	//Index jeder Transition über ihre ID
+	private final Map<String, Integer> transitionIndex;
+	
+	//Index der Stellen im Vorbereich jeder Transition
+	private final int[][] previousPlaces;
+	
+	//Index der Stellen im Nachbereich jeder Transition
+	private final int[][] nextPlaces;
+	
+	//Index der Transitionen, in deren Vorbereich die Stelle liegt, für jede Stelle
+	private final int[][] dependentTransitions;
+	
+	
+	//Konstruktor übernimmt die bereits kompilierten Daten
+	private CompiledNet(Place[] places, Transition[] transitions, Map<String, Integer> transitionIndex,
+			int[][] previousPlaces, int[][] nextPlaces) {
+		this.places = places;
+		this.transitions = transitions;
+		this.transitionIndex = transitionIndex;
+		this.previousPlaces = previousPlaces;
+		this.nextPlaces = nextPlaces;
+		this.dependentTransitions = invert(previousPlaces, places.length);
+	}
+	
+	
+	//kehrt die Vorbereiche um, so dass zu jeder Stelle
+	//die Transitionen mit der Stelle im Vorbereich vorliegen
+	private static int[][] invert(int[][] previousPlaces, int placeCount) {
+		final int[] count = new int[placeCount];
+		for(int[] places : previousPlaces) {
+			for(int place : places) {
+				count[place]++;
+			}
+		}
+		final int[][] dependents = new int[placeCount][];
+		for(int place = 0; place < placeCount; place++) {
+			dependents[place] = new int[count[place]];
+			count[place] = 0;
+		}
+		for(int transition = 0; transition < previousPlaces.length; transition++) {
+			for(int place : previousPlaces[transition]) {
+				dependents[place][count[place]++] = transition;
+			}
+		}
+		return dependents;
+	}
+	
+	
+	/**
+	 * Methode, die aus dem übergebenen Petri-Netz eine kompilierte Kopie erzeugt.<br>
+	 * Die Transitionen behalten die Reihenfolge, in der das Petri-Netz sie liefert.
+	 * 
+	 * @param petrinet zu kompilierendes Petri-Netz
+	 * 
+	 * @return kompilierte Kopie des Petri-Netzes
+	 */
+	public static CompiledNet compile(Petrinet petrinet) {
+		//Index jeder Stelle innerhalb einer Markierung
+		final Place[] places = new Place[petrinet.getPlaces().size()];
+		final Map<Place, Integer> placeIndex = new HashMap<>();
+		for(Place place : petrinet.getPlaces().values()) {
+			places[placeIndex.size()] = place;
+			placeIndex.put(place, placeIndex.size());
+		}
+		
+		final int transitionCount = petrinet.getTransitions().size();
+		final Transition[] transitions = new Transition[transitionCount];
+		final Map<String, Integer> transitionIndex = new HashMap<>();
+		final int[][] previousPlaces = new int[transitionCount][];
+		final int[][] nextPlaces = new int[transitionCount][];
+		
+		//Vor- und Nachbereich werden als Index-Arrays gespeichert
+		int idx = 0;
+		for(Transition transition : petrinet.getTransitions().values()) {
+			transitions[idx] = transition;
+			transitionIndex.put(transition.getId(), idx);
+			previousPlaces[idx] = toIndexArray(transition.getPreviousPlaces(), placeIndex);
+			nextPlaces[idx] = toIndexArray(transition.getNextPlaces(), placeIndex);
+			idx++;
+		}
+		return new CompiledNet(places, transitions, transitionIndex, previousPlaces, nextPlaces);
+	}
+	
+	/**
+	 * Methode, die aus einem Teil der Stellen und Transitionen ein neues kompiliertes<br>
+	 * Petri-Netz mit den übergebenen Vor- und Nachbereichen erzeugt.<br>
+	 * Eine Stelle darf im Nachbereich mehrfach vorkommen, sie erhält dann mehrere Marken.
+	 *
+	 * @param net kompiliertes Petri-Netz, aus dem Stellen und Transitionen übernommen werden
+	 * @param places Indizes der übernommenen Stellen in der neuen Reihenfolge
+	 * @param transitions Indizes der übernommenen Transitionen in der neuen Reihenfolge
+	 * @param previousPlaces Vorbereich jeder neuen Transition über den neuen Indizes der Stellen
+	 * @param nextPlaces Nachbereich jeder neuen Transition über den neuen Indizes der Stellen
+	 *
+	 * @return neues kompiliertes Petri-Netz
+	 *
+	 * @see NetReduction
+	 */
+	static CompiledNet subnet(CompiledNet net, int[] places, int[] transitions, int[][] previousPlaces, int[][] nextPlaces) {
+		final Place[] subPlaces = new Place[places.length];
+		for(int i = 0; i < places.length; i++) {
+			subPlaces[i] = net.places[places[i]];
+		}
+		final Transition[] subTransitions = new Transition[transitions.length];
+		final Map<String, Integer> transitionIndex = new HashMap<>();
+		for(int i = 0; i < transitions.length; i++) {
+			subTransitions[i] = net.transitions[transitions[i]];
+			transitionIndex.put(subTransitions[i].getId(), i);
+		}
+		return new CompiledNet(subPlaces, subTransitions, transitionIndex, previousPlaces, nextPlaces);
+	}
+	
+	
+	//wandelt eine Menge von Stellen in einen Array ihrer Indizes um
+	private static int[] toIndexArray(Set<Place> places, Map<Place, Integer> placeIndex) {
+		final int[] array = new int[places.size()];
+		int idx = 0;
+		for(Place place : places) {
+			array[idx++] = placeIndex.get(place);
+		}
+		return array;
+	}
+	
+	
+	/**
+	 * Prüft, ob die Transition unter der übergebenen Markierung aktiv ist.
+	 * 
+	 * @param marking Markierung in Array-Darstellung
+	 * @param transition Index der Transition
+	 * 
+	 * @return true, falls jede Stelle im Vorbereich mindestens eine Marke trägt
+	 */
+	public boolean isActiv(int[] marking, int transition) {
+		for(int place : previousPlaces[transition]) {
+			if(marking[place] < 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	/**
+	 * Schaltet die Transition unter der übergebenen Markierung.<br>
+	 * Die übergebene Markierung bleibt unverändert, die Nachfolgemarkierung<br>
+	 * wird als neuer Array geliefert. Die Transition muss aktiv sein.<br>
+	 * Stellen mit beliebig vielen Marken bleiben unverändert.
+	 * 
+	 * @param marking Markierung in Array-Darstellung
+	 * @param transition Index der Transition
+	 * 
+	 * @return Nachfolgemarkierung
+	 */
+	public int[] fire(int[] marking, int transition) {
+		final int[] next = marking.clone();
+		fireInPlace(next, transition);
+		return next;
+	}
+	
+	
+	/**
+	 * Schaltet die Transition unter der übergebenen Markierung und<br>
+	 * verändert dabei den übergebenen Array. Die Transition muss aktiv sein.<br>
+	 * Stellen mit beliebig vielen Marken bleiben unverändert.
+	 * 
+	 * @param marking Markierung in Array-Darstellung, enthält danach die Nachfolgemarkierung
+	 * @param transition Index der Transition
+	 */
+	public void fireInPlace(int[] marking, int transition) {
+		for(int place : previousPlaces[transition]) {
+			if(marking[place] != Marking.OMEGA) {
+				marking[place]--;
+			}
+		}
+		for(int place : nextPlaces[transition]) {
+			if(marking[place] != Marking.OMEGA) {
+				marking[place]++;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Schaltet die Transition rückwärts und verändert dabei den übergebenen Array.<br>
+	 * Danach enthält er die Markierung, unter der die Transition geschaltet wurde.<br>
+	 * Stellen mit beliebig vielen Marken bleiben unverändert.
+	 * 
+	 * @param marking Nachfolgemarkierung in Array-Darstellung, enthält danach die Markierung vor dem Schalten
+	 * @param transition Index der geschalteten Transition
+	 */
+	public void undoInPlace(int[] marking, int transition) {
+		for(int place : nextPlaces[transition]) {
+			if(marking[place] != Marking.OMEGA) {
+				marking[place]--;
+			}
+		}
+		for(int place : previousPlaces[transition]) {
+			if(marking[place] != Marking.OMEGA) {
+				marking[place]++;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Indizes der Stellen im Vorbereich einer Transition liefert.<br>
+	 * Der gelieferte Array darf nicht verändert werden.
+	 * 
+	 * @param transition Index der Transition
+	 * 
+	 * @return Indizes der Stellen im Vorbereich
+	 */
+	public int[] getPreviousPlaces(int transition) {
+		return previousPlaces[transition];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Indizes der Stellen im Nachbereich einer Transition liefert.<br>
+	 * Der gelieferte Array darf nicht verändert werden.
+	 * 
+	 * @param transition Index der Transition
+	 * 
+	 * @return Indizes der Stellen im Nachbereich
+	 */
+	public int[] getNextPlaces(int transition) {
+		return nextPlaces[transition];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Indizes der Transitionen liefert, in deren Vorbereich<br>
+	 * die Stelle liegt. Nur deren Aktivierung kann sich ändern, wenn sich die Marken<br>
+	 * der Stelle ändern. Der gelieferte Array darf nicht verändert werden.
+	 * 
+	 * @param place Index der Stelle
+	 * 
+	 * @return Indizes der abhängigen Transitionen in aufsteigender Reihenfolge
+	 */
+	public int[] getDependentTransitions(int place) {
+		return dependentTransitions[place];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Stelle zum übergebenen Index liefert.
+	 * 
+	 * @param place Index der Stelle
+	 * 
+	 * @return Stelle des Petri-Netzes
+	 */
+	public Place getPlace(int place) {
+		return places[place];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Index der Transition mit der übergebenen ID liefert.
+	 * 
+	 * @param id ID der Transition
+	 * 
+	 * @return Index der Transition oder -1, falls es keine Transition mit dieser ID gibt
+	 */
+	public int indexOf(String id) {
+		final Integer idx = transitionIndex.get(id);
+		return idx == null ? -1 : idx;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Transition zum übergebenen Index liefert.
+	 * 
+	 * @param transition Index der Transition
+	 * 
+	 * @return Transition des Petri-Netzes
+	 */
+	public Transition getTransition(int transition) {
+		return transitions[transition];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Transitionen liefert.
+	 * 
+	 * @return Anzahl der Transitionen
+	 */
+	public int getTransitionCount() {
+		return transitions.length;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Stellen liefert.
+	 * 
+	 * @return Anzahl der Stellen
+	 */
+	public int getPlaceCount() {
+		return places.length;
+	}
+}
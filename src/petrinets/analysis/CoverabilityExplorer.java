@@ -0,0 +1,144 @@
+package petrinets.analysis;
+
+import petrinets.markingGraphModel.Marking;
+
+/**
+ * Diese Klasse repräsentiert die Konstruktion des Überdeckungsgraphen nach Karp und Miller.<p>
+ * 
+ * Die Markierungen werden wie beim {@link ReachabilityExplorer} in der Reihenfolge ihrer ID<br>
+ * verarbeitet. Überdeckt eine Nachfolgemarkierung einen ihrer Vorfahren echt, wird sie<br>
+ * beschleunigt: jede Stelle, die mehr Marken als beim Vorfahren trägt, erhält den Wert<br>
+ * {@link Marking#OMEGA}. Gleiche Markierungen werden zusammengefasst, die Exploration<br>
+ * bricht nicht ab und liefert immer einen endlichen Graphen.<p>
+ * 
+ * Eine Stelle ist genau dann unbeschränkt, wenn sie in einer Markierung des Graphen ω trägt,<br>
+ * die Schranken der übrigen Stellen liefert {@link ReachabilityResult#getPlaceBounds()}.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ExplorationMode
+ * @see ReachabilityResult
+ *
+ */
+final class CoverabilityExplorer extends ReachabilityExplorer {
+	
+	
+	/**
+	 * Konstruktor für einen Überdeckungsgraphen auf dem übergebenen Petri-Netz.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	CoverabilityExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung den Überdeckungsgraphen aufbaut.<br>
+	 * Das Ergebnis ist unbeschränkt, falls eine Markierung ω enthält. Als Markierungen<br>
+	 * des Abbruchkriteriums werden die erste beschleunigte Markierung und der von ihr<br>
+	 * echt überdeckte, der Startmarkierung nächste Vorfahre geliefert.
+	 * 
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 * 
+	 * @return Überdeckungsgraph
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final ReachabilityResult result = newResult();
+		result.addMarking(initialMarking, -1, -1);
+		
+		final Frontier frontier = new Frontier(net.getPlaceCount() + 1, settings.getFrontierWindow());
+		final int[] record = new int[net.getPlaceCount() + 1];
+		final int[] marking = new int[net.getPlaceCount()];
+		final int[] ancestor = new int[net.getPlaceCount()];
+		enqueue(frontier, record, 0, initialMarking);
+		monitor.setMemoryUsage(result::getMemoryUsage);
+		
+		try {
+			while(frontier.poll(record)) {
+				final int current = record[0];
+				
+				//vorzeitiges Ende, ω in einer Markierung entscheidet trotzdem die Unbeschränktheit
+				if(monitor.isExhausted(result.size(), result.getEdgeCount(), frontier.size())) {
+					result.setUndecided(monitor.getStopReason());
+					return result;
+				}
+				System.arraycopy(record, 1, marking, 0, marking.length);
+				result.beginEdges(current);
+				
+				//Zeiten werden nur für einen Teil der Markierungen gemessen
+				final boolean timed = monitor.isTimed(current);
+				final long start = timed ? System.nanoTime() : 0;
+				long omegaNanos = 0;
+				
+				//versucht alle Transitionen zu schalten
+				for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+					if(!net.isActiv(marking, transition)) {
+						continue;
+					}
+					final int[] next = net.fire(marking, transition);
+					final long omegaStart = timed ? System.nanoTime() : 0;
+					final boolean accelerated = accelerate(result, current, next, ancestor);
+					if(timed) {
+						omegaNanos += System.nanoTime() - omegaStart;
+					}
+					
+					int target = result.indexOf(next);
+					if(target < 0) {
+						target = result.addMarking(next, current, transition);
+						enqueue(frontier, record, target, next);
+						
+						//die erste beschleunigte Markierung ist immer neu
+						//und wird mit ihrem Vorfahren als Zeuge gespeichert
+						if(accelerated && !result.isUnbounded()) {
+							result.setOmega(findOmega(result, current, next), target);
+						}
+					}
+					result.addEdge(current, transition, target);
+				}
+				if(timed) {
+					monitor.addTiming(System.nanoTime() - start, omegaNanos);
+				}
+			}
+		} finally {
+			frontier.release();
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Setzt jede Stelle der neuen Markierung auf ω, die mehr Marken trägt als ein<br>
+	 * von ihr überdeckter Vorfahre. Wird wiederholt, bis sich nichts mehr ändert,<br>
+	 * da eine beschleunigte Markierung weitere Vorfahren überdecken kann.
+	 * 
+	 * @param result bisheriges Ergebnis der Exploration
+	 * @param parent ID der Markierung, von der aus die neue Markierung gefunden wurde
+	 * @param next neue Markierung, wird verändert
+	 * @param ancestor Hilfs-Array mit einem Eintrag pro Stelle
+	 * 
+	 * @return true, falls mindestens eine Stelle auf ω gesetzt wurde
+	 */
+	static boolean accelerate(ReachabilityResult result, int parent, int[] next, int[] ancestor) {
+		boolean accelerated = false;
+		boolean changed = true;
+		while(changed) {
+			changed = false;
+			for(int id = parent; id >= 0; id = result.getParent(id)) {
+				if(isOmega(result.getMarking(id, ancestor), next)) {
+					for(int place = 0; place < next.length; place++) {
+						if(next[place] > ancestor[place] && next[place] != Marking.OMEGA) {
+							next[place] = Marking.OMEGA;
+							changed = true;
+						}
+					}
+				}
+			}
+			accelerated |= changed;
+		}
+		return accelerated;
+	}
+}
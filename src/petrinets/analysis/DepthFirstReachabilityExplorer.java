@@ -0,0 +1,188 @@
+package petrinets.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Diese Klasse repräsentiert den Erreichbarkeits-Algorithmus als Tiefensuche.<br>
+ * Beim Betreten einer Markierung werden alle ihre Nachfolger berechnet und die Kanten<br>
+ * eingefügt, anschließend wird nacheinander in die neuen Nachfolger abgestiegen.<p>
+ *
+ * Der Stapel der Tiefensuche ist der Pfad von der Startmarkierung zur aktuellen Markierung.<br>
+ * Das Abbruchkriterium wird nur gegen die Markierungen auf dem Stapel geprüft, die dafür<br>
+ * bereits entpackt vorliegen, und der Stapel ist zugleich der Pfad des Abbruchkriteriums.<br>
+ * Statt einer Warteschlange mit allen Markierungen einer Ebene wird nur der Pfad gehalten,<br>
+ * bei tiefen Petri-Netzen wird eine wachsende Stelle entlang eines Zweiges früher gefunden.<p>
+ *
+ * Bei der Verklemmungssuche endet die Exploration bei der ersten Markierung ohne aktivierte<br>
+ * Transition. Der Stapel ist dann meist kein kürzester Pfad, die kürzeste Schaltfolge<br>
+ * liefert {@link ReachabilityResult#getShortestPath(int)} über die explorierten Kanten.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityExplorer
+ * @see SearchStrategy#DEPTH_FIRST
+ *
+ */
+final class DepthFirstReachabilityExplorer extends ReachabilityExplorer {
+	
+	
+	/**
+	 * Konstruktor für eine Tiefensuche auf dem übergebenen Petri-Netz.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	DepthFirstReachabilityExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung alle erreichbaren Markierungen<br>
+	 * in der Reihenfolge einer Tiefensuche sucht.
+	 *
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Ergebnis der Exploration
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final ReachabilityResult result = newResult();
+		result.addMarking(initialMarking, -1, -1);
+		
+		//Pfad von der Startmarkierung zur aktuellen Markierung
+		final List<Frame> stack = new ArrayList<>();
+		final Frame root = new Frame(0, initialMarking.clone(), null);
+		stack.add(root);
+		monitor.setMemoryUsage(result::getMemoryUsage);
+		if(expand(result, stack, root)) {
+			return result;
+		}
+		
+		while(!stack.isEmpty()) {
+			final Frame frame = stack.get(stack.size() - 1);
+			
+			//alle neuen Nachfolger verarbeitet, die Markierung wird verlassen
+			if(frame.position == frame.size) {
+				stack.remove(stack.size() - 1);
+				continue;
+			}
+			
+			//vorzeitiges Ende vor dem Abstieg
+			if(monitor.isExhausted(result.size(), result.getEdgeCount(), stack.size())) {
+				result.setUndecided(monitor.getStopReason());
+				return result;
+			}
+			
+			//Abstieg in den nächsten neuen Nachfolger, dessen Markierung
+			//durch Schalten statt durch Entpacken berechnet wird
+			final int child = frame.children[frame.position++];
+			final Frame next = new Frame(child, net.fire(frame.marking, result.getParentTransition(child)), frame);
+			stack.add(next);
+			if(expand(result, stack, next)) {
+				return result;
+			}
+		}
+		return result;
+	}
+	
+	
+	//berechnet alle Nachfolger der obersten Markierung des Stapels und fügt ihre Kanten ein,
+	//true falls dabei das Abbruchkriterium erreicht oder eine Verklemmung gefunden wurde
+	private boolean expand(ReachabilityResult result, List<Frame> stack, Frame frame) {
+		result.beginEdges(frame.id);
+		
+		//Zeiten werden nur für einen Teil der Markierungen gemessen
+		final boolean timed = monitor.isTimed(frame.id);
+		final long start = timed ? System.nanoTime() : 0;
+		long omegaNanos = 0;
+		for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+			if(!net.isActiv(frame.marking, transition)) {
+				continue;
+			}
+			final int[] next = net.fire(frame.marking, transition);
+			int target = result.indexOf(next);
+			final boolean isNew = target < 0;
+			if(isNew) {
+				target = result.addMarking(next, frame.id, transition);
+			}
+			result.addEdge(frame.id, transition, target);
+			
+			//Abbruchkriterium wird nur für neue Markierungen und
+			//nur gegen den Stapel geprüft, die Startmarkierung zuerst.
+			//Eine echt überdeckte Markierung hat weniger Marken, trägt keine Markierung
+			//des Stapels weniger Marken als die neue, entfällt der Vergleich
+			if(isNew) {
+				final long omegaStart = timed ? System.nanoTime() : 0;
+				final long tokens = sum(next);
+				for(int i = 0; tokens > frame.minTokens && i < stack.size(); i++) {
+					final Frame ancestor = stack.get(i);
+					if(ancestor.tokens < tokens && isOmega(ancestor.marking, next)) {
+						result.setOmega(ancestor.id, target);
+						return true;
+					}
+				}
+				if(timed) {
+					omegaNanos += System.nanoTime() - omegaStart;
+				}
+				frame.addChild(target);
+			}
+		}
+		if(timed) {
+			monitor.addTiming(System.nanoTime() - start, omegaNanos);
+		}
+		
+		//Verklemmungssuche endet bei der ersten Markierung ohne aktivierte Transition
+		if(isDeadlock(result, frame.id)) {
+			result.setDeadlock(frame.id);
+			return true;
+		}
+		return false;
+	}
+	
+	
+	//Summe der Marken einer Markierung
+	private static long sum(int[] marking) {
+		long sum = 0;
+		for(int tokens : marking) {
+			sum += tokens;
+		}
+		return sum;
+	}
+	
+	
+	//Eintrag des Stapels mit der Markierung und ihren noch nicht besuchten neuen Nachfolgern
+	private static final class Frame {
+		
+		private final int id;
+		private final int[] marking;
+		
+		//Summe der Marken und kleinste Summe der Marken auf dem Stapel bis hierher
+		private final long tokens;
+		private final long minTokens;
+		
+		//IDs der neuen Nachfolger und Position des nächsten
+		private int[] children = new int[4];
+		private int size;
+		private int position;
+		
+		
+		private Frame(int id, int[] marking, Frame parent) {
+			this.id = id;
+			this.marking = marking;
+			this.tokens = sum(marking);
+			this.minTokens = parent == null ? tokens : Math.min(tokens, parent.minTokens);
+		}
+		
+		
+		private void addChild(int child) {
+			if(size == children.length) {
+				children = Arrays.copyOf(children, size * 2);
+			}
+			children[size++] = child;
+		}
+	}
+}
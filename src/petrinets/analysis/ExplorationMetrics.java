@@ -0,0 +1,168 @@
+package petrinets.analysis;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diese Klasse repräsentiert die Messwerte einer laufenden oder beendeten Exploration.<br>
+ * Sie wird vom {@link ExplorationMonitor} regelmäßig erzeugt und ist unveränderlich.<p>
+ *
+ * Markierungen und Kanten zählen wie bei den Grenzen der Exploration, bei der minimalen<br>
+ * Überdeckungsmenge, dem Bitstate-Hashing und der Hash-Kompaktierung sind Kanten die<br>
+ * geschalteten Transitionen. Rate und Anteil der Duplikate beziehen sich nur auf die<br>
+ * Markierungen, die seit Beginn der Überwachung gefunden wurden, ein fortgesetzter<br>
+ * Zwischenstand zählt nicht mit.<p>
+ *
+ * Die Zeiten für die Prüfung des Abbruchkriteriums und die Berechnung der Nachfolger<br>
+ * werden nur für jede 64. Markierung gemessen und hochgerechnet, da das Messen<br>
+ * selbst teurer ist als das Schalten einer Transition.
+ *
+ * @author Michael Assmair
+ *
+ * @see ExplorationMonitor#getMetrics()
+ * @see ExplorationSettings#setMetricsInterval(int)
+ *
+ */
+public final class ExplorationMetrics {
+	
+	//gefundene Markierungen, Kanten bzw. geschaltete Transitionen und Länge der Warteschlange
+	private final long states;
+	private final long edges;
+	private final long frontier;
+	
+	//seit Beginn der Überwachung gefundene Markierungen und geschaltete Transitionen
+	private final long newStates;
+	private final long newEdges;
+	
+	//Laufzeit seit Beginn der Überwachung
+	private final long elapsedNanos;
+	
+	//belegter Speicher der gefundenen Markierungen und Kanten in Bytes
+	private final long memoryUsage;
+	
+	//hochgerechnete Zeit für die Nachfolger und für die Prüfung des Abbruchkriteriums
+	private final long successorNanos;
+	private final long omegaNanos;
+	
+	
+	//Konstruktor übernimmt die Messwerte des Monitors
+	ExplorationMetrics(long states, long edges, long frontier, long newStates, long newEdges,
+			long elapsedNanos, long memoryUsage, long successorNanos, long omegaNanos) {
+		this.states = states;
+		this.edges = edges;
+		this.frontier = frontier;
+		this.newStates = newStates;
+		this.newEdges = newEdges;
+		this.elapsedNanos = elapsedNanos;
+		this.memoryUsage = memoryUsage;
+		this.successorNanos = successorNanos;
+		this.omegaNanos = omegaNanos;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der gefundenen Markierungen liefert.
+	 *
+	 * @return Anzahl der Markierungen
+	 */
+	public long getStates() {
+		return states;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Kanten bzw. geschalteten Transitionen liefert.
+	 *
+	 * @return Anzahl der Kanten
+	 */
+	public long getEdges() {
+		return edges;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der noch zu verarbeitenden Markierungen liefert,<br>
+	 * bei der Tiefensuche die Höhe des Stapels.
+	 *
+	 * @return Länge der Warteschlange
+	 */
+	public long getFrontierSize() {
+		return frontier;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Laufzeit seit Beginn der Überwachung liefert.
+	 *
+	 * @return Laufzeit in Millisekunden
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der neuen Markierungen pro Sekunde liefert.
+	 *
+	 * @return Markierungen pro Sekunde, 0 falls noch keine Zeit vergangen ist
+	 */
+	public double getStatesPerSecond() {
+		return elapsedNanos > 0 ? newStates * 1e9 / elapsedNanos : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Anteil der Nachfolger liefert, die bereits gefunden waren.
+	 *
+	 * @return Anteil zwischen 0 und 1, 0 falls noch keine Transition geschaltet wurde
+	 */
+	public double getDuplicateRatio() {
+		return newEdges > 0 ? Math.max(0, 1 - (double)newStates / newEdges) : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher pro Markierung liefert.<br>
+	 * Er enthält Kanten, Vorgänger und Hashtabelle, aber nicht die Warteschlange.
+	 *
+	 * @return Bytes pro Markierung, 0 falls der Speicher nicht bekannt ist
+	 */
+	public double getBytesPerState() {
+		return states > 0 ? (double)memoryUsage / states : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die hochgerechnete Zeit für die Berechnung der Nachfolger liefert.<br>
+	 * Sie enthält das Schalten der Transitionen und das Suchen und Einfügen der Markierungen.
+	 *
+	 * @return Zeit in Millisekunden
+	 */
+	public long getSuccessorMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(successorNanos);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die hochgerechnete Zeit für die Prüfung des Abbruchkriteriums liefert,<br>
+	 * beim Überdeckungsgraphen für das Einsetzen von ω.
+	 *
+	 * @return Zeit in Millisekunden
+	 */
+	public long getOmegaCheckMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(omegaNanos);
+	}
+	
+	
+	/**
+	 * Liefert die Messwerte als eine Zeile für das Textfeld.
+	 *
+	 * @return Messwerte als Text
+	 */
+	@Override
+	public String toString() {
+		return String.format("Exploration nach %.1f s: %d Markierungen, %d Kanten, Warteschlange %d, %.0f Markierungen/s, "
+				+ "%.1f%% Duplikate, %.1f Bytes pro Markierung, Nachfolger %d ms, Abbruchkriterium %d ms",
+				elapsedNanos / 1e9, states, edges, frontier, getStatesPerSecond(),
+				getDuplicateRatio() * 100, getBytesPerState(), getSuccessorMillis(), getOmegaCheckMillis());
+	}
+}
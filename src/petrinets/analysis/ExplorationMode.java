@@ -0,0 +1,38 @@
+package petrinets.analysis;
+
+/**
+ * Art des Graphen, der bei der Exploration aufgebaut wird.
+ * <ul>
+ * <li> <Strong>REACHABILITY</Strong> - Erreichbarkeitsgraph, die Exploration bricht beim<br>
+ * 		Abbruchkriterium für unbeschränkte Petri-Netze ab
+ * <li> <Strong>COVERABILITY</Strong> - Überdeckungsgraph nach Karp und Miller, Stellen mit beliebig<br>
+ * 		vielen Marken werden als ω dargestellt, der Graph ist immer endlich.<br>
+ * 		Die Exploration erfolgt unabhängig von der Suchstrategie auf einem Thread
+ * <li> <Strong>MINIMAL_COVERABILITY_SET</Strong> - minimale Überdeckungsmenge, der Überdeckungsbaum wird<br>
+ * 		beschnitten, sobald eine Markierung von einer anderen überdeckt wird.<br>
+ * 		Die Exploration erfolgt unabhängig von der Suchstrategie auf einem Thread
+ * <li> <Strong>BIT_STATE</Strong> - Bitstate-Hashing (Supertrace), besuchte Markierungen setzen nur Bits<br>
+ * 		in einem Bitarray, das Ergebnis ist approximativ. Die Exploration erfolgt<br>
+ * 		unabhängig von der Suchstrategie als Tiefensuche auf einem Thread
+ * <li> <Strong>HASH_COMPACTION</Strong> - Hash-Kompaktierung, besuchte Markierungen werden nur als<br>
+ * 		64-Bit-Fingerabdruck gespeichert, das Ergebnis ist approximativ. Die Exploration<br>
+ * 		erfolgt unabhängig von der Suchstrategie als Breitensuche auf einem Thread
+ * <li> <Strong>DEADLOCK</Strong> - Verklemmungssuche, Erreichbarkeitsgraph wie bei REACHABILITY, die<br>
+ * 		Exploration endet zusätzlich bei der ersten Markierung ohne aktivierte Transition.<br>
+ * 		Geliefert wird die kürzeste Schaltfolge innerhalb der explorierten Markierungen, bei der<br>
+ * 		Breitensuche und der parallelen Breitensuche ist sie die kürzeste überhaupt
+ * </ul>
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ReachabilityExplorer
+ * @see CoverabilityExplorer
+ * @see MinimalCoverabilityExplorer
+ * @see BitStateExplorer
+ * @see HashCompactionExplorer
+ * @see ReachabilityResult#getDeadlock()
+ * @see ExplorationSettings
+ */
+public enum ExplorationMode {
+	REACHABILITY, COVERABILITY, MINIMAL_COVERABILITY_SET, BIT_STATE, HASH_COMPACTION, DEADLOCK
+}
@@ -0,0 +1,278 @@
+package petrinets.analysis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Diese Klasse überwacht eine laufende Exploration.<br>
+ * Sie prüft die Grenzen der {@link ExplorationSettings} für Markierungen, Kanten, Laufzeit<br>
+ * und Belegung des Heaps und kann von einem anderen Thread abgebrochen werden.<p>
+ *
+ * Die Algorithmen fragen nach jeder verarbeiteten Markierung {@link #isExhausted(long, long, long)}<br>
+ * ab und liefern dann ihr bisheriges Ergebnis als unentschieden. Laufzeit und Heap werden<br>
+ * nur bei jedem 1024. Aufruf geprüft, da sie deutlich teurer als die Zähler sind.<p>
+ *
+ * Aus den Zählern erzeugt der Monitor die {@link ExplorationMetrics}. Ist ein Beobachter<br>
+ * angemeldet, erhält er sie im eingestellten Abstand auf dem Thread der Exploration.<p>
+ *
+ * Die Laufzeit zählt ab der Erzeugung des Monitors, ein Monitor überwacht daher genau eine Analyse.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityResult#isUndecided()
+ * @see ReachabilityExplorer#create(CompiledNet, ExplorationSettings, ExplorationMonitor)
+ *
+ */
+public final class ExplorationMonitor {
+	
+	//Laufzeit und Heap werden nur bei jedem CHECK_INTERVAL. Aufruf geprüft
+	private static final int CHECK_INTERVAL = 1 << 10;
+	
+	//Zeiten werden nur für jede TIMING_INTERVAL. Markierung gemessen
+	private static final int TIMING_INTERVAL = 1 << 6;
+	
+	//Grenzen der Exploration, 0 für unbegrenzt
+	private final int maxStates;
+	private final long maxEdges;
+	private final long timeout;
+	private final int heapThreshold;
+	
+	//Abstand der Messwerte, 0 falls keine gemeldet werden
+	private final long metricsInterval;
+	
+	//Beginn der Überwachung und Zeitpunkt der letzten Messwerte
+	private final long start = System.nanoTime();
+	private long lastMetrics = start;
+	
+	//wird vom abbrechenden Thread gesetzt
+	private volatile boolean cancelled;
+	
+	//Grund des Abbruchs, null solange die Exploration läuft
+	private volatile String stopReason;
+	
+	//Anzahl der Aufrufe seit der letzten Prüfung von Laufzeit und Heap,
+	//bei parallelen Aufrufen ungenau, was nur den Abstand der Prüfungen verschiebt
+	private int calls;
+	
+	//Zähler der Exploration beim letzten Aufruf und beim ersten Aufruf, -1 vor dem ersten Aufruf
+	private long states;
+	private long edges;
+	private long frontier;
+	private long firstStates = -1;
+	private long firstEdges;
+	
+	//gemessene Zeiten für Nachfolger und Abbruchkriterium, auch von parallelen Threads
+	private final LongAdder successorNanos = new LongAdder();
+	private final LongAdder omegaNanos = new LongAdder();
+	
+	//liefert den belegten Speicher der Exploration, null falls nicht bekannt
+	private LongSupplier memoryUsage;
+	
+	//Beobachter der Messwerte, null falls keiner angemeldet ist
+	private volatile Consumer<ExplorationMetrics> metricsListener;
+	
+	
+	/**
+	 * Konstruktor für einen Monitor mit den Grenzen der übergebenen Einstellungen.
+	 *
+	 * @param settings Einstellungen der Exploration
+	 */
+	public ExplorationMonitor(ExplorationSettings settings) {
+		maxStates = settings.getMaxStates();
+		maxEdges = settings.getMaxEdges();
+		timeout = TimeUnit.SECONDS.toNanos(settings.getTimeout());
+		heapThreshold = settings.getHeapThreshold();
+		metricsInterval = TimeUnit.SECONDS.toNanos(settings.getMetricsInterval());
+	}
+	
+	
+	/**
+	 * Bricht die überwachte Exploration ab. Sie endet nach der aktuell verarbeiteten Markierung.<br>
+	 * Darf von jedem Thread aufgerufen werden.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls die Exploration abgebrochen wurde.
+	 *
+	 * @return true, falls {@link #cancel()} aufgerufen wurde
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	
+	/**
+	 * Meldet einen Beobachter an, der die Messwerte im eingestellten Abstand erhält.<br>
+	 * Er wird auf dem Thread der Exploration aufgerufen.
+	 *
+	 * @param listener Beobachter der Messwerte, null um ihn abzumelden
+	 *
+	 * @see ExplorationSettings#setMetricsInterval(int)
+	 */
+	public void setMetricsListener(Consumer<ExplorationMetrics> listener) {
+		metricsListener = listener;
+	}
+	
+	
+	/**
+	 * Setzt die Quelle für den belegten Speicher der Exploration. Sie wird nur<br>
+	 * beim Erzeugen der Messwerte auf dem Thread der Exploration abgefragt.
+	 *
+	 * @param memoryUsage liefert den belegten Speicher in Bytes
+	 */
+	void setMemoryUsage(LongSupplier memoryUsage) {
+		this.memoryUsage = memoryUsage;
+	}
+	
+	
+	/**
+	 * Fragt den belegten Speicher ein letztes Mal ab und behält diesen Wert für alle<br>
+	 * weiteren Messwerte. Muss aufgerufen werden, bevor eine Exploration ihre eigenen<br>
+	 * Tabellen freigibt, sonst enthalten die endgültigen Messwerte keinen Speicher.
+	 */
+	void freezeMemoryUsage() {
+		if(memoryUsage != null) {
+			final long bytes = memoryUsage.getAsLong();
+			memoryUsage = () -> bytes;
+		}
+	}
+	
+	
+	/**
+	 * Prüft, ob die Exploration beendet werden muss, weil sie abgebrochen oder<br>
+	 * eine der Grenzen erreicht wurde. Der Grund bleibt danach erhalten.<br>
+	 * Die Zähler werden für die Messwerte übernommen.
+	 *
+	 * @param states Anzahl der bisher gefundenen Markierungen
+	 * @param edges Anzahl der bisher gefundenen Kanten bzw. geschalteten Transitionen
+	 * @param frontier Anzahl der noch zu verarbeitenden Markierungen bzw. Höhe des Stapels
+	 *
+	 * @return true, falls die Exploration beendet werden muss
+	 */
+	boolean isExhausted(long states, long edges, long frontier) {
+		this.states = states;
+		this.edges = edges;
+		this.frontier = frontier;
+		if(firstStates < 0) {
+			firstStates = states;
+			firstEdges = edges;
+		}
+		if(stopReason != null) {
+			return true;
+		}
+		if(cancelled) {
+			return stop("abgebrochen");
+		}
+		if(maxStates > 0 && states >= maxStates) {
+			return stop("Grenze von " + maxStates + " Markierungen erreicht");
+		}
+		if(maxEdges > 0 && edges >= maxEdges) {
+			return stop("Grenze von " + maxEdges + " Kanten erreicht");
+		}
+		if(++calls < CHECK_INTERVAL) {
+			return false;
+		}
+		calls = 0;
+		final long now = System.nanoTime();
+		if(metricsListener != null && metricsInterval > 0 && now - lastMetrics >= metricsInterval) {
+			lastMetrics = now;
+			metricsListener.accept(getMetrics());
+		}
+		if(timeout > 0 && now - start >= timeout) {
+			return stop("Zeitlimit von " + TimeUnit.NANOSECONDS.toSeconds(timeout) + " Sekunden erreicht");
+		}
+		if(heapThreshold > 0 && isHeapExhausted()) {
+			return stop("Heap zu mehr als " + heapThreshold + "% belegt");
+		}
+		return false;
+	}
+	
+	
+	/**
+	 * Prüft, ob für die Markierung mit der übergebenen Nummer die Zeiten gemessen werden.<br>
+	 * Das ist für jede 64. Nummer der Fall, die Nummer kann z.B. die ID der Markierung sein.
+	 *
+	 * @param count Nummer der Markierung
+	 *
+	 * @return true, falls die Zeiten gemessen und mit {@link #addTiming(long, long)} übergeben werden
+	 */
+	boolean isTimed(long count) {
+		return (count & (TIMING_INTERVAL - 1)) == 0;
+	}
+	
+	
+	/**
+	 * Übernimmt die gemessenen Zeiten einer Markierung. Darf von mehreren Threads aufgerufen werden.
+	 *
+	 * @param totalNanos Zeit für die gesamte Verarbeitung der Markierung
+	 * @param omegaNanos darin enthaltene Zeit für die Prüfung des Abbruchkriteriums
+	 */
+	void addTiming(long totalNanos, long omegaNanos) {
+		this.successorNanos.add(totalNanos - omegaNanos);
+		this.omegaNanos.add(omegaNanos);
+	}
+	
+	
+	/**
+	 * Liefert die Messwerte zum Stand des letzten Aufrufs von {@link #isExhausted(long, long, long)}.<br>
+	 * Der Speicher wird dabei abgefragt, die Methode sollte daher auf dem Thread der Exploration<br>
+	 * oder nach ihrem Ende aufgerufen werden, bevor das Ergebnis freigegeben wurde. Hat die<br>
+	 * Exploration ihre Tabellen bereits freigegeben, gilt der mit {@link #freezeMemoryUsage()} behaltene Wert.
+	 *
+	 * @return Messwerte der Exploration
+	 */
+	public ExplorationMetrics getMetrics() {
+		final long first = Math.max(firstStates, 0);
+		return new ExplorationMetrics(states, edges, frontier, states - first, edges - firstEdges, System.nanoTime() - start,
+				memoryUsage != null ? memoryUsage.getAsLong() : 0,
+				successorNanos.sum() * TIMING_INTERVAL, omegaNanos.sum() * TIMING_INTERVAL);
+	}
+	
+	
+	//setzt den Grund des Abbruchs
+	private boolean stop(String reason) {
+		stopReason = reason;
+		return true;
+	}
+	
+	
+	//true, falls der Heap über der Schwelle liegt. Der aktuelle Verbrauch enthält auch
+	//nicht mehr erreichbare Objekte, entscheidend ist daher der Verbrauch nach der letzten
+	//Garbage Collection. Er wird nur gelesen, wenn schon der aktuelle über der Schwelle liegt
+	private boolean isHeapExhausted() {
+		final Runtime runtime = Runtime.getRuntime();
+		final long limit = runtime.maxMemory() / 100 * heapThreshold;
+		if(runtime.totalMemory() - runtime.freeMemory() < limit) {
+			return false;
+		}
+		long used = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() != MemoryType.HEAP) {
+				continue;
+			}
+			final MemoryUsage usage = pool.getCollectionUsage() != null ? pool.getCollectionUsage() : pool.getUsage();
+			used += usage.getUsed();
+		}
+		return used >= limit;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Grund liefert, aus dem die Exploration beendet wurde.
+	 *
+	 * @return Grund des Abbruchs oder null, falls die Exploration nicht vorzeitig beendet wurde
+	 */
+	public String getStopReason() {
+		return stopReason;
+	}
+}
@@ -0,0 +1,530 @@
+package petrinets.analysis;
+
+import java.nio.file.Path;
+
+/**
+ * Diese Klasse fasst die Einstellungen für die Exploration des<br>
+ * Erreichbarkeitsgraphen zusammen. Die Einstellungen werden vom Controller<br>
+ * gesetzt und an die Analyse bzw. die Stapelverarbeitung übergeben.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ReachabilityExplorer
+ * @see ExplorationMode
+ * @see SearchStrategy
+ * @see StorageBackend
+ *
+ */
+public final class ExplorationSettings {
+	
+	//Art des aufgebauten Graphen
+	private ExplorationMode mode = ExplorationMode.REACHABILITY;
+	
+	//Suchstrategie der Exploration
+	private SearchStrategy strategy = SearchStrategy.BREADTH_FIRST;
+	
+	//Anzahl der Threads für die parallele Exploration
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
+	//Speicher für Markierungen und Kanten
+	private StorageBackend storage = StorageBackend.HEAP;
+	
+	//true, falls vor der Exploration P-Invarianten und steigende T-Vektoren geprüft werden
+	private boolean structuralCheck;
+	
+	//true, falls das Petri-Netz vor der Exploration reduziert wird
+	private boolean reduction;
+	
+	//Anzahl der Markierungen der Warteschlange, die pro Fenster im Speicher gehalten werden
+	private int frontierWindow = 1 << 16;
+	
+	//Zweierlogarithmus der Anzahl der Bits und Anzahl der Hashfunktionen beim Bitstate-Hashing
+	private int bitStateSize = 28;
+	private int bitStateHashes = 3;
+	
+	//Verzeichnis der Zwischenstände, null falls keine gespeichert werden,
+	//und Abstand zwischen zwei Zwischenständen in Sekunden
+	private Path checkpointDirectory;
+	private int checkpointInterval = 60;
+	
+	//Grenzen der Exploration für Markierungen, Kanten und Laufzeit in Sekunden, 0 für unbegrenzt
+	private int maxStates;
+	private long maxEdges;
+	private int timeout;
+	
+	//Belegung des Heaps in Prozent, ab der die Exploration beendet wird, 0 für unbegrenzt
+	private int heapThreshold;
+	
+	//Abstand der Messwerte einer laufenden Exploration in Sekunden, 0 falls keine gemeldet werden
+	private int metricsInterval = 5;
+	
+	//größte Anzahl an Markierungen, die in den Markierungsgraphen übertragen werden, 0 für alle
+	private int graphLimit = 10000;
+	
+	
+	/**
+	 * Konstruktor für Einstellungen mit Standardwerten.
+	 */
+	public ExplorationSettings() {
+	}
+	
+	
+	/**
+	 * Konstruktor, der eine Kopie der übergebenen Einstellungen liefert.
+	 * 
+	 * @param settings zu kopierende Einstellungen
+	 */
+	public ExplorationSettings(ExplorationSettings settings) {
+		this.mode = settings.mode;
+		this.strategy = settings.strategy;
+		this.parallelism = settings.parallelism;
+		this.storage = settings.storage;
+		this.frontierWindow = settings.frontierWindow;
+		this.structuralCheck = settings.structuralCheck;
+		this.reduction = settings.reduction;
+		this.bitStateSize = settings.bitStateSize;
+		this.bitStateHashes = settings.bitStateHashes;
+		this.checkpointDirectory = settings.checkpointDirectory;
+		this.checkpointInterval = settings.checkpointInterval;
+		this.maxStates = settings.maxStates;
+		this.maxEdges = settings.maxEdges;
+		this.timeout = settings.timeout;
+		this.heapThreshold = settings.heapThreshold;
+		this.metricsInterval = settings.metricsInterval;
+		this.graphLimit = settings.graphLimit;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Art des aufgebauten Graphen liefert.
+	 * 
+	 * @return Art des Graphen
+	 */
+	public ExplorationMode getMode() {
+		return mode;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Art des aufgebauten Graphen setzt.
+	 * 
+	 * @param mode Art des Graphen
+	 */
+	public void setMode(ExplorationMode mode) {
+		this.mode = mode;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Suchstrategie liefert.
+	 * 
+	 * @return Suchstrategie der Exploration
+	 */
+	public SearchStrategy getStrategy() {
+		return strategy;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Suchstrategie setzt.
+	 * 
+	 * @param strategy Suchstrategie der Exploration
+	 */
+	public void setStrategy(SearchStrategy strategy) {
+		this.strategy = strategy;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Threads für die parallele Exploration liefert.
+	 * 
+	 * @return Anzahl der Threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Anzahl der Threads für die parallele Exploration setzt.
+	 * 
+	 * @param parallelism Anzahl der Threads, mindestens 1
+	 * 
+	 * @throws IllegalArgumentException falls weniger als ein Thread übergeben wurde
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("Die Anzahl der Threads muss mindestens 1 sein.");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Speicher für Markierungen und Kanten liefert.
+	 * 
+	 * @return Speicher der Exploration
+	 */
+	public StorageBackend getStorage() {
+		return storage;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die den Speicher für Markierungen und Kanten setzt.
+	 * 
+	 * @param storage Speicher der Exploration
+	 */
+	public void setStorage(StorageBackend storage) {
+		this.storage = storage;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Markierungen der Warteschlange liefert,<br>
+	 * die pro Fenster im Speicher gehalten werden.
+	 * 
+	 * @return Anzahl der Markierungen pro Fenster
+	 */
+	public int getFrontierWindow() {
+		return frontierWindow;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Anzahl der Markierungen der Warteschlange setzt,<br>
+	 * die pro Fenster im Speicher gehalten werden. Darüber hinaus werden<br>
+	 * Markierungen in temporäre Dateien ausgelagert.
+	 * 
+	 * @param frontierWindow Anzahl der Markierungen pro Fenster, mindestens 1
+	 * 
+	 * @throws IllegalArgumentException falls weniger als eine Markierung übergeben wurde
+	 */
+	public void setFrontierWindow(int frontierWindow) {
+		if(frontierWindow < 1) {
+			throw new IllegalArgumentException("Das Fenster der Warteschlange muss mindestens eine Markierung umfassen.");
+		}
+		this.frontierWindow = frontierWindow;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls vor der Exploration eine strukturelle Prüfung erfolgt.
+	 * 
+	 * @return true, falls die strukturelle Prüfung eingeschaltet ist
+	 * 
+	 * @see PInvariants
+	 */
+	public boolean isStructuralCheck() {
+		return structuralCheck;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die strukturelle Prüfung vor der Exploration ein- oder ausschaltet.<br>
+	 * Werden alle Stellen von P-Invarianten überdeckt oder gibt es keinen steigenden<br>
+	 * T-Vektor, entfällt die Exploration.
+	 * 
+	 * @param structuralCheck true, um die strukturelle Prüfung einzuschalten
+	 */
+	public void setStructuralCheck(boolean structuralCheck) {
+		this.structuralCheck = structuralCheck;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls das Petri-Netz vor der Exploration reduziert wird.
+	 * 
+	 * @return true, falls die Netzreduktion eingeschaltet ist
+	 * 
+	 * @see NetReduction
+	 */
+	public boolean isReduction() {
+		return reduction;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Netzreduktion vor der Exploration ein- oder ausschaltet.<br>
+	 * Die Reduktion wird nicht für Überdeckungsgraph und -menge verwendet,<br>
+	 * da dort die Schranken der entfernten Stellen verloren gingen.
+	 * 
+	 * @param reduction true, um die Netzreduktion einzuschalten
+	 */
+	public void setReduction(boolean reduction) {
+		this.reduction = reduction;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Zweierlogarithmus der Größe des Bitarrays beim Bitstate-Hashing liefert.
+	 * 
+	 * @return Zweierlogarithmus der Anzahl der Bits
+	 * 
+	 * @see ExplorationMode#BIT_STATE
+	 */
+	public int getBitStateSize() {
+		return bitStateSize;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Größe des Bitarrays beim Bitstate-Hashing setzt.<br>
+	 * Ein größerer Bitarray verringert die Wahrscheinlichkeit, Markierungen auszulassen,<br>
+	 * 2 hoch 30 Bits belegen 128 MiB.
+	 * 
+	 * @param bitStateSize Zweierlogarithmus der Anzahl der Bits, zwischen 10 und 36
+	 * 
+	 * @throws IllegalArgumentException falls die Größe außerhalb des Bereichs liegt
+	 */
+	public void setBitStateSize(int bitStateSize) {
+		if(bitStateSize < 10 || bitStateSize > 36) {
+			throw new IllegalArgumentException("Der Bitarray muss zwischen 2^10 und 2^36 Bits groß sein.");
+		}
+		this.bitStateSize = bitStateSize;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Hashfunktionen pro Markierung beim Bitstate-Hashing liefert.
+	 * 
+	 * @return Anzahl der Hashfunktionen
+	 */
+	public int getBitStateHashes() {
+		return bitStateHashes;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Anzahl der Hashfunktionen pro Markierung beim Bitstate-Hashing setzt.
+	 * 
+	 * @param bitStateHashes Anzahl der Hashfunktionen, zwischen 1 und 8
+	 * 
+	 * @throws IllegalArgumentException falls die Anzahl außerhalb des Bereichs liegt
+	 */
+	public void setBitStateHashes(int bitStateHashes) {
+		if(bitStateHashes < 1 || bitStateHashes > 8) {
+			throw new IllegalArgumentException("Es müssen zwischen 1 und 8 Hashfunktionen verwendet werden.");
+		}
+		this.bitStateHashes = bitStateHashes;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die das Verzeichnis der Zwischenstände liefert.
+	 * 
+	 * @return Verzeichnis der Zwischenstände oder null, falls keine gespeichert werden
+	 */
+	public Path getCheckpointDirectory() {
+		return checkpointDirectory;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die das Verzeichnis der Zwischenstände setzt.<br>
+	 * Die Breitensuche speichert dort regelmäßig ihren Zwischenstand und setzt einen<br>
+	 * vorhandenen Zwischenstand des gleichen Petri-Netzes fort, statt neu zu beginnen.<br>
+	 * Ein abgeschlossener Zwischenstand bleibt erhalten und liefert das Ergebnis sofort.<br>
+	 * Die anderen Suchstrategien und Arten des Graphen speichern keine Zwischenstände.
+	 * 
+	 * @param checkpointDirectory Verzeichnis der Zwischenstände, null um sie auszuschalten
+	 * 
+	 * @see Checkpoint
+	 */
+	public void setCheckpointDirectory(Path checkpointDirectory) {
+		this.checkpointDirectory = checkpointDirectory;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Abstand zwischen zwei Zwischenständen liefert.
+	 * 
+	 * @return Abstand in Sekunden
+	 */
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die den Abstand zwischen zwei Zwischenständen setzt.
+	 * 
+	 * @param checkpointInterval Abstand in Sekunden, mindestens 1
+	 * 
+	 * @throws IllegalArgumentException falls der Abstand kleiner als eine Sekunde ist
+	 */
+	public void setCheckpointInterval(int checkpointInterval) {
+		if(checkpointInterval < 1) {
+			throw new IllegalArgumentException("Der Abstand der Zwischenstände muss mindestens eine Sekunde betragen.");
+		}
+		this.checkpointInterval = checkpointInterval;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die größte Anzahl an Markierungen der Exploration liefert.
+	 * 
+	 * @return Anzahl der Markierungen, 0 für unbegrenzt
+	 * 
+	 * @see ExplorationMonitor
+	 */
+	public int getMaxStates() {
+		return maxStates;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die größte Anzahl an Markierungen der Exploration setzt.<br>
+	 * Wird sie erreicht, endet die Exploration unentschieden mit dem bisherigen Ergebnis.
+	 * 
+	 * @param maxStates Anzahl der Markierungen, 0 für unbegrenzt
+	 * 
+	 * @throws IllegalArgumentException falls die Anzahl negativ ist
+	 */
+	public void setMaxStates(int maxStates) {
+		if(maxStates < 0) {
+			throw new IllegalArgumentException("Die Anzahl der Markierungen darf nicht negativ sein.");
+		}
+		this.maxStates = maxStates;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die größte Anzahl an Kanten der Exploration liefert.
+	 * 
+	 * @return Anzahl der Kanten, 0 für unbegrenzt
+	 */
+	public long getMaxEdges() {
+		return maxEdges;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die größte Anzahl an Kanten der Exploration setzt.<br>
+	 * Bei der minimalen Überdeckungsmenge, dem Bitstate-Hashing und der Hash-Kompaktierung<br>
+	 * zählen die geschalteten Transitionen.
+	 * 
+	 * @param maxEdges Anzahl der Kanten, 0 für unbegrenzt
+	 * 
+	 * @throws IllegalArgumentException falls die Anzahl negativ ist
+	 */
+	public void setMaxEdges(long maxEdges) {
+		if(maxEdges < 0) {
+			throw new IllegalArgumentException("Die Anzahl der Kanten darf nicht negativ sein.");
+		}
+		this.maxEdges = maxEdges;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die längste Laufzeit der Exploration liefert.
+	 * 
+	 * @return Laufzeit in Sekunden, 0 für unbegrenzt
+	 */
+	public int getTimeout() {
+		return timeout;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die längste Laufzeit der Exploration setzt.
+	 * 
+	 * @param timeout Laufzeit in Sekunden, 0 für unbegrenzt
+	 * 
+	 * @throws IllegalArgumentException falls die Laufzeit negativ ist
+	 */
+	public void setTimeout(int timeout) {
+		if(timeout < 0) {
+			throw new IllegalArgumentException("Die Laufzeit darf nicht negativ sein.");
+		}
+		this.timeout = timeout;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Belegung des Heaps liefert, ab der die Exploration beendet wird.
+	 * 
+	 * @return Belegung in Prozent, 0 für unbegrenzt
+	 */
+	public int getHeapThreshold() {
+		return heapThreshold;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die Belegung des Heaps setzt, ab der die Exploration beendet wird.<br>
+	 * Maßgeblich ist die Belegung nach der letzten Garbage Collection, so dass die<br>
+	 * Exploration vor einem OutOfMemoryError mit dem bisherigen Ergebnis endet.<br>
+	 * Im Heap wachsen Markierungen und Kanten durch Verdoppeln ihrer Arrays, die Schwelle<br>
+	 * muss daher Platz für eine Kopie des größten Arrays lassen, etwa 60% bei einem<br>
+	 * Erreichbarkeitsgraphen mit wenigen Stellen.
+	 * 
+	 * @param heapThreshold Belegung in Prozent zwischen 1 und 99, 0 für unbegrenzt
+	 * 
+	 * @throws IllegalArgumentException falls die Belegung außerhalb des Bereichs liegt
+	 */
+	public void setHeapThreshold(int heapThreshold) {
+		if(heapThreshold < 0 || heapThreshold > 99) {
+			throw new IllegalArgumentException("Die Belegung des Heaps muss zwischen 0 und 99 Prozent liegen.");
+		}
+		this.heapThreshold = heapThreshold;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Abstand der Messwerte einer laufenden Exploration liefert.
+	 * 
+	 * @return Abstand in Sekunden, 0 falls keine Messwerte gemeldet werden
+	 */
+	public int getMetricsInterval() {
+		return metricsInterval;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die den Abstand der Messwerte einer laufenden Exploration setzt.<br>
+	 * Die Messwerte werden an den Beobachter des {@link ExplorationMonitor} gemeldet.
+	 * 
+	 * @param metricsInterval Abstand in Sekunden, 0 falls keine Messwerte gemeldet werden
+	 * 
+	 * @throws IllegalArgumentException falls der Abstand negativ ist
+	 * 
+	 * @see ExplorationMetrics
+	 */
+	public void setMetricsInterval(int metricsInterval) {
+		if(metricsInterval < 0) {
+			throw new IllegalArgumentException("Der Abstand der Messwerte darf nicht negativ sein.");
+		}
+		this.metricsInterval = metricsInterval;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die größte Anzahl an Markierungen liefert,<br>
+	 * die nach der Exploration in den Markierungsgraphen übertragen werden.
+	 * 
+	 * @return Anzahl der Markierungen, 0 für alle
+	 */
+	public int getGraphLimit() {
+		return graphLimit;
+	}
+	
+	
+	/**
+	 * Setter-Methode, die die größte Anzahl an Markierungen setzt,<br>
+	 * die nach der Exploration in den Markierungsgraphen übertragen werden.<br>
+	 * Übertragen werden die Markierungen mit den kleinsten IDs und die Kanten zwischen<br>
+	 * ihnen, die Pfade des Abbruchkriteriums und zu einer Verklemmung immer vollständig.<br>
+	 * Anzahlen und Ergebnisse der Analyse gelten weiterhin für die ganze Exploration.
+	 * 
+	 * @param graphLimit Anzahl der Markierungen, 1 für nur die Startmarkierung, 0 für alle
+	 * 
+	 * @throws IllegalArgumentException falls die Anzahl negativ ist
+	 */
+	public void setGraphLimit(int graphLimit) {
+		if(graphLimit < 0) {
+			throw new IllegalArgumentException("Die Anzahl der Markierungen darf nicht negativ sein.");
+		}
+		this.graphLimit = graphLimit;
+	}
+}
@@ -0,0 +1,174 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse speichert die besuchten Markierungen bei der Hash-Kompaktierung.<br>
+ * Statt der Markierung wird nur ein 64-Bit-Fingerabdruck in einer Hashtabelle mit<br>
+ * offener Adressierung über einem long-Array abgelegt, pro Markierung also<br>
+ * bei höchstens 75% Füllgrad zwischen 8 und 16 Bytes.<p>
+ *
+ * Zwei verschiedene Markierungen mit gleichem Fingerabdruck gelten als gleich,<br>
+ * die zweite wird dann ausgelassen. Bei n Markierungen ist die Wahrscheinlichkeit<br>
+ * dafür etwa n² / 2^65.
+ *
+ * @author Michael Assmair
+ *
+ * @see HashCompactionExplorer
+ * @see StateStore
+ *
+ */
+final class FingerprintSet {
+	
+	//Eintrag für einen freien Platz der Hashtabelle, der Fingerabdruck 0
+	//wird als 1 eingetragen, so dass neue Tabellen in jedem Speicher bereits leer sind
+	private static final long EMPTY = 0;
+	
+	//maximaler Füllgrad der Hashtabelle in Prozent
+	private static final int LOAD_FACTOR = 75;
+	
+	//Konstanten für das Mischen der Hashwerte
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+	private static final long SEED = 0x2545F4914F6CDD1DL;
+	
+	//Speicher der Hashtabelle
+	private final StorageBackend backend;
+	
+	//Hashtabelle mit offener Adressierung, enthält die Fingerabdrücke
+	private LongArray table;
+	private long tableCapacity = 1024;
+	
+	//Anzahl der Fingerabdrücke
+	private long size;
+	
+	
+	/**
+	 * Konstruktor für eine leere Menge.
+	 *
+	 * @param backend Speicher der Hashtabelle
+	 */
+	FingerprintSet(StorageBackend backend) {
+		this.backend = backend;
+		table = newTable(tableCapacity);
+	}
+	
+	
+	/**
+	 * Fügt den Fingerabdruck der übergebenen Markierung ein.
+	 *
+	 * @param marking Markierung in Array-Darstellung
+	 *
+	 * @return true, falls der Fingerabdruck noch nicht enthalten war
+	 */
+	boolean add(int[] marking) {
+		long fingerprint = fingerprint(marking, SEED);
+		if(fingerprint == EMPTY) {
+			fingerprint = 1;
+		}
+		
+		//Hashtabelle wird vor dem Einfügen bei Bedarf vergrößert
+		if((size + 1) * 100 > tableCapacity * LOAD_FACTOR) {
+			rehash(tableCapacity * 2);
+		}
+		final long mask = tableCapacity - 1;
+		for(long slot = fingerprint & mask; ; slot = (slot + 1) & mask) {
+			final long entry = table.get(slot);
+			if(entry == fingerprint) {
+				return false;
+			}
+			if(entry == EMPTY) {
+				table.set(slot, fingerprint);
+				size++;
+				return true;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Berechnet einen 64-Bit-Hashwert der Markierung, dessen Bits alle von jeder Stelle abhängen.
+	 *
+	 * @param marking Markierung in Array-Darstellung
+	 * @param seed Startwert, verschiedene Startwerte liefern unabhängige Hashwerte
+	 *
+	 * @return Hashwert der Markierung
+	 */
+	static long fingerprint(int[] marking, long seed) {
+		long h = seed ^ marking.length * GOLDEN;
+		for(int tokens : marking) {
+			h = Long.rotateLeft(h ^ tokens * GOLDEN, 29) * GOLDEN;
+		}
+		//Schlussmischung, damit auch die niedrigen Bits von allen Stellen abhängen
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		return h ^ h >>> 33;
+	}
+	
+	
+	//vergrößert die Hashtabelle und fügt alle Fingerabdrücke neu ein
+	private void rehash(long capacity) {
+		final LongArray oldTable = table;
+		final long oldCapacity = tableCapacity;
+		tableCapacity = capacity;
+		table = newTable(capacity);
+		final long mask = capacity - 1;
+		for(long old = 0; old < oldCapacity; old++) {
+			final long fingerprint = oldTable.get(old);
+			if(fingerprint == EMPTY) {
+				continue;
+			}
+			long slot = fingerprint & mask;
+			while(table.get(slot) != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			table.set(slot, fingerprint);
+		}
+		oldTable.release();
+	}
+	
+	
+	//erzeugt eine leere Hashtabelle
+	private LongArray newTable(long capacity) {
+		final LongArray table = LongArray.create(backend);
+		table.ensureCapacity(capacity);
+		return table;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Fingerabdrücke liefert.
+	 *
+	 * @return Anzahl der Fingerabdrücke
+	 */
+	long size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Plätze der Hashtabelle liefert.
+	 *
+	 * @return Anzahl der Plätze, jeder belegt 8 Bytes
+	 */
+	long capacity() {
+		return tableCapacity;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher der Hashtabelle liefert.
+	 *
+	 * @return belegter Speicher in Bytes
+	 */
+	long memoryUsage() {
+		return table.capacity() * Long.BYTES;
+	}
+	
+	
+	/**
+	 * Gibt den Speicher der Hashtabelle frei. Die Menge darf danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		table.release();
+	}
+}
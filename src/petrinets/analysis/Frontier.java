@@ -0,0 +1,273 @@
+package petrinets.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Diese Klasse repräsentiert die Warteschlange der noch zu verarbeitenden Markierungen.<br>
+ * Ein Eintrag ist ein int-Array fester Länge, z.B. ID und Markierung.<p>
+ *
+ * Im Speicher werden höchstens zwei Fenster mit einer festen Anzahl von Einträgen gehalten,<br>
+ * eines zum Lesen und eines zum Schreiben. Die Fenster beginnen klein und wachsen durch<br>
+ * Verdoppeln bis zu ihrer Größe, kleine Petri-Netze belegen daher nur wenig Speicher.<br>
+ * Ist das Fenster zum Schreiben voll, wird es als Segment in eine temporäre Datei ausgelagert. Die Werte werden dabei mit variabler Länge<br>
+ * kodiert, so dass kleine Markenzahlen nur ein Byte benötigen. Segmente werden in der<br>
+ * Reihenfolge ihres Schreibens wieder eingelesen, die Reihenfolge der Einträge bleibt erhalten.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityExplorer
+ *
+ */
+final class Frontier {
+	
+	//Größe des Puffers für das Schreiben und Lesen der Segmente
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	//Anzahl der Einträge, die ein Fenster anfangs aufnimmt
+	private static final int INITIAL_RECORDS = 16;
+	
+	//größte Länge eines Arrays, die die JVM sicher anlegen kann
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+	
+	//Anzahl der Werte eines Eintrags
+	private final int recordLength;
+	
+	//Anzahl der Werte eines vollen Fensters, ein ausgelagertes Segment enthält genau so viele
+	private final int windowCapacity;
+	
+	//Fenster zum Lesen, gelesen wird ab readPosition bis readLimit
+	private int[] readWindow;
+	private int readPosition;
+	private int readLimit;
+	
+	//Fenster zum Schreiben, enthält writeLimit Werte
+	private int[] writeWindow;
+	private int writeLimit;
+	
+	//ausgelagerte Segmente in der Reihenfolge ihres Schreibens
+	private final Deque<Path> segments = new ArrayDeque<>();
+	
+	//Puffer für das Schreiben und Lesen der Segmente
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	
+	//Anzahl der Einträge insgesamt und Anzahl der bisher ausgelagerten Segmente
+	private long size;
+	private int spilledSegments;
+	
+	
+	/**
+	 * Konstruktor für eine leere Warteschlange.
+	 *
+	 * @param recordLength Anzahl der Werte eines Eintrags
+	 * @param window höchste Anzahl der Einträge pro Fenster, kleiner falls sie nicht in einen Array passen
+	 *
+	 * @throws IllegalArgumentException falls nicht einmal ein Eintrag in einen Array passt
+	 */
+	Frontier(int recordLength, int window) {
+		if(recordLength < 1 || recordLength > MAX_ARRAY_LENGTH || window < 1) {
+			throw new IllegalArgumentException("Ein Fenster der Warteschlange muss mindestens einen Eintrag aufnehmen.");
+		}
+		this.recordLength = recordLength;
+		final long records = Math.min(window, MAX_ARRAY_LENGTH / recordLength);
+		windowCapacity = (int)(records * recordLength);
+		final int initial = (int)(Math.min(records, INITIAL_RECORDS) * recordLength);
+		readWindow = new int[initial];
+		writeWindow = new int[initial];
+	}
+	
+	
+	/**
+	 * Fügt am Ende der Warteschlange einen Eintrag hinzu.
+	 *
+	 * @param record Eintrag, die Werte werden kopiert
+	 *
+	 * @throws UncheckedIOException falls ein Segment nicht geschrieben werden kann
+	 */
+	void add(int[] record) {
+		//volles Fenster wächst bis zu seiner Größe und wird danach ausgelagert
+		if(writeLimit == writeWindow.length) {
+			if(writeWindow.length < windowCapacity) {
+				writeWindow = Arrays.copyOf(writeWindow, (int)Math.min((long)writeWindow.length * 2, windowCapacity));
+			} else {
+				spill();
+			}
+		}
+		System.arraycopy(record, 0, writeWindow, writeLimit, recordLength);
+		writeLimit += recordLength;
+		size++;
+	}
+	
+	
+	/**
+	 * Entfernt den ersten Eintrag der Warteschlange und schreibt ihn in den übergebenen Array.
+	 *
+	 * @param record Array mit mindestens der Länge eines Eintrags
+	 *
+	 * @return false, falls die Warteschlange leer ist
+	 *
+	 * @throws UncheckedIOException falls ein Segment nicht gelesen werden kann
+	 */
+	boolean poll(int[] record) {
+		if(size == 0) {
+			return false;
+		}
+		//leeres Fenster wird aus dem ältesten Segment oder dem Fenster zum Schreiben gefüllt
+		if(readPosition == readLimit) {
+			if(segments.isEmpty()) {
+				swapWindows();
+			} else {
+				load(segments.poll());
+			}
+		}
+		System.arraycopy(readWindow, readPosition, record, 0, recordLength);
+		readPosition += recordLength;
+		size--;
+		return true;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Einträge liefert.
+	 *
+	 * @return Anzahl der Einträge
+	 */
+	long size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der bisher ausgelagerten Segmente liefert.
+	 *
+	 * @return Anzahl der ausgelagerten Segmente
+	 */
+	int getSpilledSegments() {
+		return spilledSegments;
+	}
+	
+	
+	/**
+	 * Löscht alle noch ausgelagerten Segmente.
+	 */
+	void release() {
+		for(Path segment : segments) {
+			try {
+				Files.deleteIfExists(segment);
+			} catch (IOException ignore) {}
+		}
+		segments.clear();
+	}
+	
+	
+	//das Fenster zum Schreiben wird zum Fenster zum Lesen
+	private void swapWindows() {
+		final int[] tmp = readWindow;
+		readWindow = writeWindow;
+		readLimit = writeLimit;
+		readPosition = 0;
+		writeWindow = tmp;
+		writeLimit = 0;
+	}
+	
+	
+	//lagert das Fenster zum Schreiben als Segment aus
+	private void spill() {
+		//solange nichts ausgelagert ist und das Fenster zum Lesen leer ist,
+		//genügt ein Tausch der Fenster
+		if(segments.isEmpty() && readPosition == readLimit) {
+			swapWindows();
+			return;
+		}
+		try {
+			final Path segment = Files.createTempFile("petrinets", ".frontier");
+			try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+				buffer.clear();
+				for(int i = 0; i < writeLimit; i++) {
+					//Platz für einen Wert mit maximal fünf Bytes
+					if(buffer.remaining() < 5) {
+						flush(channel);
+					}
+					int value = writeWindow[i];
+					while((value & ~0x7F) != 0) {
+						buffer.put((byte)((value & 0x7F) | 0x80));
+						value >>>= 7;
+					}
+					buffer.put((byte)value);
+				}
+				flush(channel);
+			}
+			segments.add(segment);
+			spilledSegments++;
+			writeLimit = 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	//schreibt den Inhalt des Puffers in die Datei
+	private void flush(FileChannel channel) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	
+	//liest die nächsten Bytes der Datei in den Puffer
+	private void fill(FileChannel channel, Path segment) throws IOException {
+		buffer.clear();
+		int read;
+		do {
+			read = channel.read(buffer);
+			if(read < 0) {
+				throw new IOException("Segment der Warteschlange ist unvollständig: " + segment);
+			}
+		} while(read == 0);
+		buffer.flip();
+	}
+	
+	
+	//liest ein Segment in das Fenster zum Lesen und löscht die Datei
+	private void load(Path segment) {
+		//ein ausgelagertes Segment enthält immer ein volles Fenster
+		if(readWindow.length < windowCapacity) {
+			readWindow = new int[windowCapacity];
+		}
+		try {
+			try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+				buffer.clear();
+				buffer.flip();
+				for(int i = 0; i < windowCapacity; i++) {
+					int value = 0;
+					int shift = 0;
+					byte b;
+					do {
+						if(!buffer.hasRemaining()) {
+							fill(channel, segment);
+						}
+						b = buffer.get();
+						value |= (b & 0x7F) << shift;
+						shift += 7;
+					} while(b < 0);
+					readWindow[i] = value;
+				}
+				readLimit = windowCapacity;
+				readPosition = 0;
+			}
+			Files.deleteIfExists(segment);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
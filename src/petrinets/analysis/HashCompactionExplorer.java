@@ -0,0 +1,168 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse repräsentiert den Erreichbarkeits-Algorithmus mit Hash-Kompaktierung.<br>
+ * Die Markierungen werden wie beim {@link ReachabilityExplorer} in der Reihenfolge ihrer ID<br>
+ * verarbeitet. Vollständige Markierungen liegen aber nur in der Warteschlange, als besucht<br>
+ * wird pro Markierung nur ein 64-Bit-Fingerabdruck im {@link FingerprintSet} gespeichert.<p>
+ *
+ * Für das Abbruchkriterium werden pro Markierung zusätzlich der Vorgänger und die dabei<br>
+ * geschaltete Transition gespeichert. Die Vorfahren einer neuen Markierung entstehen durch<br>
+ * Schalten entlang dieses Pfades ab der Startmarkierung. Wird das Abbruchkriterium erreicht,<br>
+ * ist das Petri-Netz sicher unbeschränkt. Sonst ist das Ergebnis approximativ, da zwei<br>
+ * Markierungen den gleichen Fingerabdruck haben können.<p>
+ *
+ * Das Ergebnis enthält nur den Pfad von der Startmarkierung zum Abbruchkriterium bzw.<br>
+ * die Startmarkierung sowie eine {@link HashCompactionSummary}.
+ *
+ * @author Michael Assmair
+ *
+ * @see ExplorationMode#HASH_COMPACTION
+ * @see BitStateExplorer
+ *
+ */
+final class HashCompactionExplorer extends ReachabilityExplorer {
+	
+	
+	/**
+	 * Konstruktor für Hash-Kompaktierung auf dem übergebenen Petri-Netz.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	HashCompactionExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung die erreichbaren Markierungen<br>
+	 * ähnlich einer Breitensuche besucht und nur ihre Fingerabdrücke speichert.
+	 *
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Pfad des Abbruchkriteriums bzw. Startmarkierung mit der Zusammenfassung
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final FingerprintSet visited = new FingerprintSet(settings.getStorage());
+		final IntList parents = new IntList(settings.getStorage());
+		final IntList parentTransitions = new IntList(settings.getStorage());
+		final Frontier frontier = new Frontier(net.getPlaceCount() + 1, settings.getFrontierWindow());
+		final int[] record = new int[net.getPlaceCount() + 1];
+		final int[] marking = new int[net.getPlaceCount()];
+		long fired = 0;
+		
+		try {
+			visited.add(initialMarking);
+			parents.add(-1);
+			parentTransitions.add(-1);
+			enqueue(frontier, record, 0, initialMarking);
+			monitor.setMemoryUsage(() -> visited.memoryUsage() + parents.memoryUsage() + parentTransitions.memoryUsage());
+			
+			while(frontier.poll(record)) {
+				final int current = record[0];
+				
+				//vorzeitiges Ende, das Ergebnis enthält nur die Zusammenfassung
+				if(monitor.isExhausted(visited.size(), fired, frontier.size())) {
+					final ReachabilityResult result = result(initialMarking, new int[0], -1, new HashCompactionSummary(visited.size(), fired, visited.capacity()));
+					result.setUndecided(monitor.getStopReason());
+					return result;
+				}
+				System.arraycopy(record, 1, marking, 0, marking.length);
+				
+				//Zeiten werden nur für einen Teil der Markierungen gemessen
+				final boolean timed = monitor.isTimed(current);
+				final long start = timed ? System.nanoTime() : 0;
+				long omegaNanos = 0;
+				
+				//versucht alle Transitionen zu schalten
+				for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+					if(!net.isActiv(marking, transition)) {
+						continue;
+					}
+					final int[] next = net.fire(marking, transition);
+					fired++;
+					if(!visited.add(next)) {
+						continue;
+					}
+					final int id = parents.size();
+					parents.add(current);
+					parentTransitions.add(transition);
+					
+					//Abbruchkriterium wird nur für neue Markierungen geprüft
+					final long omegaStart = timed ? System.nanoTime() : 0;
+					final int[] path = path(parents, parentTransitions, id);
+					final int omega = findOmega(initialMarking, path, next);
+					if(timed) {
+						omegaNanos += System.nanoTime() - omegaStart;
+					}
+					if(omega >= 0) {
+						return result(initialMarking, path, omega, new HashCompactionSummary(visited.size(), fired, visited.capacity()));
+					}
+					enqueue(frontier, record, id, next);
+				}
+				if(timed) {
+					monitor.addTiming(System.nanoTime() - start, omegaNanos);
+				}
+			}
+			return result(initialMarking, new int[0], -1, new HashCompactionSummary(visited.size(), fired, visited.capacity()));
+		} finally {
+			//die endgültigen Messwerte enthalten den Speicher der Tabellen
+			monitor.freezeMemoryUsage();
+			frontier.release();
+			visited.release();
+			parents.release();
+			parentTransitions.release();
+		}
+	}
+	
+	
+	//Transitionen des Pfades von der Startmarkierung zur übergebenen Markierung
+	private static int[] path(IntList parents, IntList parentTransitions, int id) {
+		int length = 0;
+		for(int node = id; parents.get(node) >= 0; node = parents.get(node)) {
+			length++;
+		}
+		final int[] path = new int[length];
+		for(int node = id; parents.get(node) >= 0; node = parents.get(node)) {
+			path[--length] = parentTransitions.get(node);
+		}
+		return path;
+	}
+	
+	
+	//sucht unter den Vorfahren der neuen Markierung die der Startmarkierung nächste Markierung,
+	//die von ihr echt überdeckt wird, und liefert deren Position auf dem Pfad
+	private int findOmega(int[] initialMarking, int[] path, int[] newMarking) {
+		final int[] ancestor = initialMarking.clone();
+		for(int position = 0; position < path.length; position++) {
+			if(isOmega(ancestor, newMarking)) {
+				return position;
+			}
+			net.fireInPlace(ancestor, path[position]);
+		}
+		return -1;
+	}
+	
+	
+	//Ergebnis mit dem übergebenen Pfad, die Markierungen werden ab der Startmarkierung
+	//durch Schalten berechnet und erhalten ihre Position auf dem Pfad als ID
+	private ReachabilityResult result(int[] initialMarking, int[] path, int omega, HashCompactionSummary summary) {
+		final ReachabilityResult result = newResult();
+		final int[] marking = initialMarking.clone();
+		result.addMarking(marking, -1, -1);
+		for(int id = 1; id <= path.length; id++) {
+			net.fireInPlace(marking, path[id - 1]);
+			result.beginEdges(id - 1);
+			result.addMarking(marking, id - 1, path[id - 1]);
+			result.addEdge(id - 1, path[id - 1], id);
+		}
+		if(omega >= 0) {
+			result.setOmega(omega, path.length);
+		}
+		result.setHashCompactionSummary(summary);
+		return result;
+	}
+}
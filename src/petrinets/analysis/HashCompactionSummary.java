@@ -0,0 +1,87 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse fasst das Ergebnis einer Exploration mit Hash-Kompaktierung zusammen.<br>
+ * Besuchte Markierungen werden nur über ihren 64-Bit-Fingerabdruck erkannt. Haben zwei<br>
+ * verschiedene Markierungen den gleichen Fingerabdruck, wird die zweite ausgelassen.<p>
+ *
+ * Ein gefundenes Abbruchkriterium ist trotzdem exakt, da sein Pfad tatsächlich geschaltet<br>
+ * wurde. Ein beschränktes Ergebnis ist mit der Wahrscheinlichkeit<br>
+ * {@link #getCollisionProbability()} unvollständig.
+ *
+ * @author Michael Assmair
+ *
+ * @see ExplorationMode#HASH_COMPACTION
+ * @see ReachabilityResult#getHashCompactionSummary()
+ *
+ */
+public final class HashCompactionSummary {
+	
+	//Anzahl der besuchten Markierungen und der geschalteten Transitionen
+	private final long states;
+	private final long transitions;
+	
+	//Anzahl der Plätze der Hashtabelle
+	private final long tableCapacity;
+	
+	
+	//Konstruktor übernimmt die Zähler der Exploration
+	HashCompactionSummary(long states, long transitions, long tableCapacity) {
+		this.states = states;
+		this.transitions = transitions;
+		this.tableCapacity = tableCapacity;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der besuchten Markierungen liefert.
+	 *
+	 * @return Anzahl der gespeicherten Fingerabdrücke
+	 */
+	public long getStates() {
+		return states;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der geschalteten Transitionen liefert.<br>
+	 * Das entspricht den Kanten des Erreichbarkeitsgraphen, die von besuchten Markierungen ausgehen.
+	 *
+	 * @return Anzahl der geschalteten Transitionen
+	 */
+	public long getTransitions() {
+		return transitions;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Plätze der Hashtabelle liefert.
+	 *
+	 * @return Anzahl der Plätze, jeder belegt 8 Bytes
+	 */
+	public long getTableCapacity() {
+		return tableCapacity;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Speicher der besuchten Markierungen pro Markierung liefert.
+	 *
+	 * @return Bytes der Hashtabelle pro Markierung
+	 */
+	public double getBytesPerState() {
+		return tableCapacity * 8.0 / Math.max(1, states);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Wahrscheinlichkeit liefert, dass zwei der besuchten<br>
+	 * Markierungen den gleichen Fingerabdruck haben und damit eine ausgelassen wurde.
+	 *
+	 * @return Wahrscheinlichkeit einer Kollision, etwa n² / 2^65
+	 */
+	public double getCollisionProbability() {
+		final double pairs = states * (states - 1.0) / 2;
+		return -Math.expm1(-pairs / Math.scalb(1.0, 64));
+	}
+}
@@ -0,0 +1,142 @@
+package petrinets.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse repräsentiert einen wachsenden Array von int-Werten.<br>
+ * Der Array liegt je nach {@link StorageBackend} im Heap oder in Blöcken<br>
+ * außerhalb des Heaps, die beim Wachsen nicht kopiert werden müssen.<br>
+ * Neue Einträge sind mit 0 initialisiert.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see StorageBackend
+ * @see SegmentedMemory
+ * @see LongArray
+ *
+ */
+abstract class IntArray {
+	
+	/**
+	 * Erzeugt einen leeren Array im übergebenen Speicher.
+	 * 
+	 * @param backend Speicher des Arrays
+	 * 
+	 * @return leerer Array
+	 */
+	static IntArray create(StorageBackend backend) {
+		if(backend == StorageBackend.HEAP) {
+			return new HeapIntArray();
+		}
+		return new SegmentedIntArray(backend);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Eintrag an der übergebenen Position liefert.
+	 * 
+	 * @param index Position im Array
+	 * 
+	 * @return Wert des Eintrags
+	 */
+	abstract int get(long index);
+	
+	
+	/**
+	 * Setter-Methode, die den Eintrag an der übergebenen Position setzt.
+	 * 
+	 * @param index Position im Array
+	 * @param value neuer Wert des Eintrags
+	 */
+	abstract void set(long index, int value);
+	
+	
+	/**
+	 * Vergrößert den Array, so dass er mindestens die übergebene Anzahl von Einträgen hat.
+	 * 
+	 * @param capacity benötigte Anzahl von Einträgen
+	 */
+	abstract void ensureCapacity(long capacity);
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der reservierten Einträge liefert.
+	 * 
+	 * @return Anzahl der Einträge, die ohne Vergrößern Platz haben
+	 */
+	abstract long capacity();
+	
+	
+	/**
+	 * Gibt den Speicher außerhalb des Heaps frei. Der Array darf danach nicht mehr verwendet werden.
+	 */
+	void release() {
+	}
+	
+	
+	
+	//Array im Heap
+	private static final class HeapIntArray extends IntArray {
+		
+		private int[] values = new int[16];
+		
+		@Override
+		int get(long index) {
+			return values[(int)index];
+		}
+		
+		@Override
+		void set(long index, int value) {
+			values[(int)index] = value;
+		}
+		
+		@Override
+		void ensureCapacity(long capacity) {
+			if(capacity > values.length) {
+				values = Arrays.copyOf(values, (int)Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, values.length * 2L)));
+			}
+		}
+		
+		@Override
+		long capacity() {
+			return values.length;
+		}
+	}
+	
+	
+	
+	//Array in Blöcken außerhalb des Heaps
+	private static final class SegmentedIntArray extends IntArray {
+		
+		private final SegmentedMemory memory;
+		
+		private SegmentedIntArray(StorageBackend backend) {
+			this.memory = new SegmentedMemory(backend, Integer.BYTES);
+		}
+		
+		@Override
+		int get(long index) {
+			return memory.segment(index).getInt(memory.position(index));
+		}
+		
+		@Override
+		void set(long index, int value) {
+			memory.segment(index).putInt(memory.position(index), value);
+		}
+		
+		@Override
+		void ensureCapacity(long capacity) {
+			memory.ensureCapacity(capacity);
+		}
+		
+		@Override
+		long capacity() {
+			return memory.capacity();
+		}
+		
+		@Override
+		void release() {
+			memory.release();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package petrinets.analysis;
+
+/**
+ * Diese Klasse repräsentiert eine wachsende Liste von primitiven int-Werten.<br>
+ * Sie wird vom Erreichbarkeits-Algorithmus verwendet, um Kanten und Verweise<br>
+ * ohne ein eigenes Objekt pro Eintrag zu speichern.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see IntArray
+ *
+ */
+final class IntList {
+	
+	//Einträge der Liste
+	private final IntArray values;
+	
+	//Anzahl der belegten Einträge
+	private int size;
+	
+	
+	/**
+	 * Konstruktor für eine leere Liste im Heap.
+	 */
+	IntList() {
+		this(StorageBackend.HEAP);
+	}
+	
+	
+	/**
+	 * Konstruktor für eine leere Liste im übergebenen Speicher.
+	 * 
+	 * @param backend Speicher der Liste
+	 */
+	IntList(StorageBackend backend) {
+		values = IntArray.create(backend);
+	}
+	
+	
+	/**
+	 * Fügt am Ende der Liste einen Wert hinzu.
+	 * 
+	 * @param value hinzuzufügender Wert
+	 */
+	void add(int value) {
+		values.ensureCapacity(size + 1L);
+		values.set(size++, value);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Wert an der übergebenen Position liefert.
+	 * 
+	 * @param index Position in der Liste
+	 * 
+	 * @return Wert an der Position
+	 */
+	int get(int index) {
+		return values.get(index);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Einträge liefert.
+	 * 
+	 * @return Anzahl der Einträge
+	 */
+	int size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher der Liste liefert.
+	 * 
+	 * @return belegter Speicher in Bytes
+	 */
+	long memoryUsage() {
+		return values.capacity() * Integer.BYTES;
+	}
+	
+	
+	/**
+	 * Gibt den Speicher der Liste frei. Die Liste darf danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		values.release();
+	}
+}
@@ -0,0 +1,200 @@
+package petrinets.analysis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Diese Klasse repräsentiert die Berechnung der minimalen Überdeckungsmenge.<p>
+ * 
+ * Wie beim {@link CoverabilityExplorer} wird ein Überdeckungsbaum aufgebaut und neue<br>
+ * Markierungen entlang ihrer Vorfahren beschleunigt. Zusätzlich wird eine Antikette<br>
+ * der aktiven Markierungen geführt, von denen keine eine andere überdeckt:
+ * <ul>
+ * <li> eine neue Markierung, die von einer aktiven Markierung überdeckt wird, wird verworfen
+ * <li> aktive Markierungen, die von einer neuen Markierung überdeckt werden, werden deaktiviert<br>
+ * 		und nicht weiter verarbeitet, bleiben aber als Vorfahren für die Beschleunigung erhalten
+ * </ul>
+ * Am Ende bilden die aktiven Markierungen die minimale Überdeckungsmenge. Das Ergebnis<br>
+ * enthält nur die Knoten und Kanten des beschnittenen Baumes, Kanten zu verworfenen<br>
+ * Markierungen werden nicht gespeichert.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ExplorationMode
+ * @see ReachabilityResult#getCoveringSet()
+ *
+ */
+final class MinimalCoverabilityExplorer extends ReachabilityExplorer {
+	
+	
+	/**
+	 * Konstruktor für die minimale Überdeckungsmenge des übergebenen Petri-Netzes.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	MinimalCoverabilityExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung die minimale Überdeckungsmenge berechnet.<br>
+	 * Das Ergebnis ist unbeschränkt, falls eine Markierung ω enthält, die Markierungen des<br>
+	 * Abbruchkriteriums werden wie beim Überdeckungsgraphen bestimmt.
+	 * 
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 * 
+	 * @return beschnittener Überdeckungsbaum mit der minimalen Überdeckungsmenge
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final ReachabilityResult result = newResult();
+		result.addMarking(initialMarking, -1, -1);
+		
+		//Antikette der aktiven Markierungen
+		final Antichain antichain = new Antichain();
+		antichain.add(0, initialMarking.clone());
+		
+		final Frontier frontier = new Frontier(net.getPlaceCount() + 1, settings.getFrontierWindow());
+		final int[] record = new int[net.getPlaceCount() + 1];
+		final int[] marking = new int[net.getPlaceCount()];
+		final int[] ancestor = new int[net.getPlaceCount()];
+		enqueue(frontier, record, 0, initialMarking);
+		monitor.setMemoryUsage(result::getMemoryUsage);
+		
+		//geschaltete Transitionen, überdeckte Nachfolger ergeben keine Kante
+		long fired = 0;
+		
+		try {
+			while(frontier.poll(record)) {
+				final int current = record[0];
+				
+				//deaktivierte Markierungen werden nicht weiter verarbeitet
+				if(!antichain.isActive(current)) {
+					continue;
+				}
+				
+				//vorzeitiges Ende, die Antikette ist dann keine Überdeckungsmenge
+				if(monitor.isExhausted(result.size(), fired, frontier.size())) {
+					result.setUndecided(monitor.getStopReason());
+					return result;
+				}
+				System.arraycopy(record, 1, marking, 0, marking.length);
+				result.beginEdges(current);
+				
+				//Zeiten werden nur für einen Teil der Markierungen gemessen
+				final boolean timed = monitor.isTimed(current);
+				final long start = timed ? System.nanoTime() : 0;
+				long omegaNanos = 0;
+				
+				//versucht alle Transitionen zu schalten, bis die aktuelle
+				//Markierung selbst von einer neuen Markierung überdeckt wird
+				for(int transition = 0; transition < net.getTransitionCount() && antichain.isActive(current); transition++) {
+					if(!net.isActiv(marking, transition)) {
+						continue;
+					}
+					final int[] next = net.fire(marking, transition);
+					fired++;
+					final long omegaStart = timed ? System.nanoTime() : 0;
+					final boolean accelerated = CoverabilityExplorer.accelerate(result, current, next, ancestor);
+					if(timed) {
+						omegaNanos += System.nanoTime() - omegaStart;
+					}
+					
+					//überdeckte Markierungen werden verworfen, alle übrigen
+					//sind neu, da die Antikette jede bisherige Markierung überdeckt
+					if(antichain.covers(next)) {
+						continue;
+					}
+					final int target = result.addMarking(next, current, transition);
+					result.addEdge(current, transition, target);
+					if(accelerated && !result.isUnbounded()) {
+						result.setOmega(findOmega(result, current, next), target);
+					}
+					
+					antichain.removeCoveredBy(next);
+					antichain.add(target, next);
+					enqueue(frontier, record, target, next);
+				}
+				if(timed) {
+					monitor.addTiming(System.nanoTime() - start, omegaNanos);
+				}
+			}
+		} finally {
+			frontier.release();
+		}
+		
+		result.setCoveringSet(antichain.getIds());
+		return result;
+	}
+	
+	
+	//prüft, ob die erste Markierung die zweite überdeckt
+	private static boolean covers(int[] marking, int[] other) {
+		for(int place = 0; place < marking.length; place++) {
+			if(marking[place] < other[place]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	//Antikette der aktiven Markierungen mit ihren IDs
+	private static final class Antichain {
+		
+		private final List<int[]> markings = new ArrayList<>();
+		private final List<Integer> ids = new ArrayList<>();
+		
+		//aktive IDs
+		private final BitSet active = new BitSet();
+		
+		
+		private void add(int id, int[] marking) {
+			markings.add(marking);
+			ids.add(id);
+			active.set(id);
+		}
+		
+		
+		private boolean isActive(int id) {
+			return active.get(id);
+		}
+		
+		
+		//true, falls eine aktive Markierung die übergebene überdeckt
+		private boolean covers(int[] marking) {
+			for(int[] other : markings) {
+				if(MinimalCoverabilityExplorer.covers(other, marking)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		
+		//deaktiviert alle Markierungen, die von der übergebenen überdeckt werden
+		private void removeCoveredBy(int[] marking) {
+			for(int i = markings.size() - 1; i >= 0; i--) {
+				if(MinimalCoverabilityExplorer.covers(marking, markings.get(i))) {
+					active.clear(ids.get(i));
+					//letzter Eintrag rückt an die frei gewordene Position
+					final int last = markings.size() - 1;
+					markings.set(i, markings.get(last));
+					ids.set(i, ids.get(last));
+					markings.remove(last);
+					ids.remove(last);
+				}
+			}
+		}
+		
+		
+		//IDs der aktiven Markierungen in aufsteigender Reihenfolge
+		private int[] getIds() {
+			return active.stream().toArray();
+		}
+	}
+}
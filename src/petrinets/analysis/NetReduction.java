@@ -0,0 +1,622 @@
+package petrinets.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import petrinets.markingGraphModel.Marking;
+
+/**
+ * Diese Klasse reduziert ein Petri-Netz vor der Exploration mit Regeln, die die<br>
+ * Beschränktheit erhalten. Die Regeln werden wiederholt angewendet, bis keine mehr greift.
+ * <ul>
+ * <li> <Strong>Konstante Stellen</Strong> - eine Stelle, die jede Transition genauso oft<br>
+ * verbraucht wie erzeugt und genug Marken trägt, wird entfernt
+ * <li> <Strong>Doppelte Stellen</Strong> - zwei Stellen mit gleichen Vor- und Nachbereichen<br>
+ * unterscheiden sich immer um dieselbe Anzahl Marken, die größere wird entfernt
+ * <li> <Strong>Identische Transitionen</Strong> - von Transitionen mit gleichen Vor- und<br>
+ * Nachbereichen bleibt nur eine erhalten
+ * <li> <Strong>Stellen in Serie</Strong> - eine unmarkierte Stelle p1, die nur eine Transition t<br>
+ * mit Vorbereich {p1} und Nachbereich {p2} verbraucht, wird mit p2 verschmolzen
+ * <li> <Strong>Transitionen in Serie</Strong> - eine unmarkierte Stelle p, die nur t1 erzeugt und nur<br>
+ * t2 mit Vorbereich {p} verbraucht, wird entfernt und t2 schaltet zusammen mit t1
+ * </ul>
+ *
+ * Im reduzierten Petri-Netz steht eine Transition für eine Schaltfolge des ursprünglichen<br>
+ * Petri-Netzes, deren Zwischenmarkierungen übersprungen werden. Über die Abbildungen<br>
+ * {@link #liftMarking(int[])} und {@link #liftSequence(int[])} werden Markierungen und<br>
+ * Schaltfolgen in das ursprüngliche Petri-Netz zurückübertragen, so dass z.B. der Pfad<br>
+ * des Abbruchkriteriums im ursprünglichen Petri-Netz schaltbar ist.
+ *
+ * @author Michael Assmair
+ *
+ * @see CompiledNet
+ *
+ */
+public final class NetReduction {
+	
+	//für entfernte Stellen, deren Wert eine Konstante ist
+	private static final int CONSTANT = -1;
+	
+	//ursprüngliches und reduziertes Petri-Netz
+	private final CompiledNet original;
+	private final CompiledNet reduced;
+	
+	//Startmarkierung des reduzierten Petri-Netzes
+	private final int[] initialMarking;
+	
+	//für jede ursprüngliche Stelle der Index der reduzierten Stelle oder CONSTANT
+	//und die Anzahl der Marken, die zu deren Wert addiert wird
+	private final int[] placeSource;
+	private final int[] placeOffset;
+	
+	//Schaltfolge im ursprünglichen Petri-Netz für jede reduzierte Transition
+	private final int[][] sequences;
+	
+	
+	//Konstruktor übernimmt das Ergebnis der Reduktion
+	private NetReduction(CompiledNet original, CompiledNet reduced, int[] initialMarking,
+			int[] placeSource, int[] placeOffset, int[][] sequences) {
+		this.original = original;
+		this.reduced = reduced;
+		this.initialMarking = initialMarking;
+		this.placeSource = placeSource;
+		this.placeOffset = placeOffset;
+		this.sequences = sequences;
+	}
+	
+	
+	/**
+	 * Methode, die das übergebene Petri-Netz für die übergebene Startmarkierung reduziert.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Reduktion mit dem reduzierten Petri-Netz und den Abbildungen zurück
+	 */
+	public static NetReduction reduce(CompiledNet net, int[] initialMarking) {
+		return new Reducer(net, initialMarking).run();
+	}
+	
+	
+	/**
+	 * Getter-Methode, die das reduzierte Petri-Netz liefert.
+	 *
+	 * @return reduziertes Petri-Netz
+	 */
+	public CompiledNet getReducedNet() {
+		return reduced;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Startmarkierung des reduzierten Petri-Netzes liefert.
+	 *
+	 * @return Startmarkierung in Array-Darstellung
+	 */
+	public int[] getInitialMarking() {
+		return initialMarking.clone();
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der entfernten Stellen liefert.
+	 *
+	 * @return Anzahl der entfernten Stellen
+	 */
+	public int getRemovedPlaces() {
+		return original.getPlaceCount() - reduced.getPlaceCount();
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der entfernten Transitionen liefert.
+	 *
+	 * @return Anzahl der entfernten Transitionen
+	 */
+	public int getRemovedTransitions() {
+		return original.getTransitionCount() - reduced.getTransitionCount();
+	}
+	
+	
+	/**
+	 * Überträgt eine Markierung des reduzierten Petri-Netzes in das ursprüngliche Petri-Netz.<br>
+	 * Die Startmarkierung wird auf die ursprüngliche Startmarkierung abgebildet,<br>
+	 * {@link Marking#OMEGA} bleibt erhalten.
+	 *
+	 * @param marking Markierung des reduzierten Petri-Netzes
+	 *
+	 * @return Markierung des ursprünglichen Petri-Netzes
+	 */
+	public int[] liftMarking(int[] marking) {
+		final int[] lifted = new int[placeSource.length];
+		for(int place = 0; place < lifted.length; place++) {
+			if(placeSource[place] == CONSTANT) {
+				lifted[place] = placeOffset[place];
+			} else {
+				final int value = marking[placeSource[place]];
+				lifted[place] = value == Marking.OMEGA ? value : value + placeOffset[place];
+			}
+		}
+		return lifted;
+	}
+	
+	
+	/**
+	 * Überträgt eine Schaltfolge des reduzierten Petri-Netzes in das ursprüngliche Petri-Netz.
+	 *
+	 * @param transitions Indizes der Transitionen im reduzierten Petri-Netz
+	 *
+	 * @return Indizes der Transitionen im ursprünglichen Petri-Netz
+	 */
+	public int[] liftSequence(int[] transitions) {
+		int length = 0;
+		for(int transition : transitions) {
+			length += sequences[transition].length;
+		}
+		final int[] lifted = new int[length];
+		int idx = 0;
+		for(int transition : transitions) {
+			System.arraycopy(sequences[transition], 0, lifted, idx, sequences[transition].length);
+			idx += sequences[transition].length;
+		}
+		return lifted;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Index der Transition im ursprünglichen Petri-Netz liefert,<br>
+	 * deren Schalten eine reduzierte Transition beginnt.
+	 *
+	 * @param transition Index der Transition im reduzierten Petri-Netz
+	 *
+	 * @return Index der Transition im ursprünglichen Petri-Netz
+	 */
+	public int getOriginalTransition(int transition) {
+		return sequences[transition][0];
+	}
+	
+	
+	//führt die Reduktion auf veränderlichen Vor- und Nachbereichen über den
+	//ursprünglichen Indizes durch, entfernte Elemente werden auf null gesetzt
+	private static final class Reducer {
+		
+		private final CompiledNet net;
+		private final int[] marking;
+		
+		//Vor- und Nachbereich jeder Transition, eine Stelle kommt im Nachbereich
+		//so oft vor, wie die Transition Marken auf sie legt
+		private final int[][] pre;
+		private final int[][] post;
+		
+		//Schaltfolge jeder Transition im ursprünglichen Petri-Netz
+		private final int[][] sequences;
+		
+		//entfernte Stellen und wovon ihr Wert abhängt
+		private final boolean[] removed;
+		private final int[] alias;
+		private final int[] offset;
+		
+		//Transitionen, die jede Stelle erzeugen und verbrauchen, wird pro Durchlauf neu berechnet
+		private List<List<Integer>> producers;
+		private List<List<Integer>> consumers;
+		
+		//im aktuellen Durchlauf veränderte Stellen und Transitionen
+		private boolean[] dirtyPlaces;
+		private boolean[] dirtyTransitions;
+		
+		
+		private Reducer(CompiledNet net, int[] initialMarking) {
+			this.net = net;
+			this.marking = initialMarking.clone();
+			final int transitionCount = net.getTransitionCount();
+			pre = new int[transitionCount][];
+			post = new int[transitionCount][];
+			sequences = new int[transitionCount][];
+			for(int transition = 0; transition < transitionCount; transition++) {
+				pre[transition] = net.getPreviousPlaces(transition).clone();
+				post[transition] = net.getNextPlaces(transition).clone();
+				sequences[transition] = new int[] {transition};
+			}
+			removed = new boolean[net.getPlaceCount()];
+			alias = new int[net.getPlaceCount()];
+			offset = new int[net.getPlaceCount()];
+		}
+		
+		
+		//wendet die Regeln an, bis keine mehr greift
+		private NetReduction run() {
+			boolean changed = true;
+			while(changed) {
+				changed = false;
+				//jede Regel verwendet die Vor- und Nachbereiche zu Beginn ihres Durchlaufes
+				changed |= applyRule(this::constantPlaces);
+				changed |= applyRule(this::duplicatePlaces);
+				changed |= applyRule(this::identicalTransitions);
+				changed |= applyRule(this::seriesPlaces);
+				changed |= applyRule(this::seriesTransitions);
+			}
+			return build();
+		}
+		
+		
+		//berechnet Erzeuger und Verbraucher neu und wendet eine Regel an
+		private boolean applyRule(Rule rule) {
+			final int placeCount = net.getPlaceCount();
+			producers = new ArrayList<>(placeCount);
+			consumers = new ArrayList<>(placeCount);
+			for(int place = 0; place < placeCount; place++) {
+				producers.add(new ArrayList<>());
+				consumers.add(new ArrayList<>());
+			}
+			for(int transition = 0; transition < pre.length; transition++) {
+				if(pre[transition] == null) {
+					continue;
+				}
+				for(int place : pre[transition]) {
+					addOnce(consumers.get(place), transition);
+				}
+				for(int place : post[transition]) {
+					addOnce(producers.get(place), transition);
+				}
+			}
+			dirtyPlaces = new boolean[placeCount];
+			dirtyTransitions = new boolean[pre.length];
+			return rule.apply();
+		}
+		
+		
+		//Stellen, deren Marken sich durch keine Transition ändern und die nichts blockieren
+		private boolean constantPlaces() {
+			boolean changed = false;
+			for(int place = 0; place < removed.length; place++) {
+				if(removed[place] || dirtyPlaces[place]) {
+					continue;
+				}
+				boolean constant = true;
+				for(int transition : consumers.get(place)) {
+					constant &= count(pre[transition], place) == count(post[transition], place) && marking[place] >= 1;
+				}
+				for(int transition : producers.get(place)) {
+					constant &= count(pre[transition], place) == count(post[transition], place);
+				}
+				if(constant) {
+					for(int transition : consumers.get(place)) {
+						pre[transition] = without(pre[transition], place);
+						post[transition] = without(post[transition], place);
+						dirtyTransitions[transition] = true;
+					}
+					removePlace(place, CONSTANT, marking[place]);
+					changed = true;
+				}
+			}
+			return changed;
+		}
+		
+		
+		//Stellen mit gleichen Vor- und Nachbereichen, die Stelle mit mehr Marken wird entfernt
+		private boolean duplicatePlaces() {
+			boolean changed = false;
+			final Map<List<Integer>, Integer> signatures = new HashMap<>();
+			for(int place = 0; place < removed.length; place++) {
+				if(removed[place]) {
+					continue;
+				}
+				final List<Integer> signature = signature(place);
+				final Integer other = signatures.get(signature);
+				if(other == null) {
+					signatures.put(signature, place);
+					continue;
+				}
+				if(dirtyPlaces[place] || dirtyPlaces[other]) {
+					continue;
+				}
+				//die Stelle mit weniger Marken bestimmt, wann die Transitionen aktiv sind
+				final int keep = marking[other] <= marking[place] ? other : place;
+				final int drop = keep == place ? other : place;
+				for(int transition : consumers.get(drop)) {
+					pre[transition] = without(pre[transition], drop);
+					dirtyTransitions[transition] = true;
+				}
+				for(int transition : producers.get(drop)) {
+					post[transition] = without(post[transition], drop);
+					dirtyTransitions[transition] = true;
+				}
+				dirtyPlaces[keep] = true;
+				signatures.put(signature, keep);
+				removePlace(drop, keep, marking[drop] - marking[keep]);
+				changed = true;
+			}
+			return changed;
+		}
+		
+		
+		//Transitionen mit gleichen Vor- und Nachbereichen, die erste bleibt erhalten
+		private boolean identicalTransitions() {
+			boolean changed = false;
+			final Map<List<Integer>, Integer> signatures = new HashMap<>();
+			for(int transition = 0; transition < pre.length; transition++) {
+				if(pre[transition] == null || dirtyTransitions[transition]) {
+					continue;
+				}
+				final int[] sortedPre = pre[transition].clone();
+				final int[] sortedPost = post[transition].clone();
+				Arrays.sort(sortedPre);
+				Arrays.sort(sortedPost);
+				final List<Integer> signature = new ArrayList<>();
+				for(int place : sortedPre) {
+					signature.add(place);
+				}
+				//trennt Vor- und Nachbereich
+				signature.add(-1);
+				for(int place : sortedPost) {
+					signature.add(place);
+				}
+				if(signatures.putIfAbsent(signature, transition) != null) {
+					removeTransition(transition);
+					changed = true;
+				}
+			}
+			return changed;
+		}
+		
+		
+		//Transition t mit Vorbereich {p1} und Nachbereich {p2}, die als einzige p1 verbraucht
+		private boolean seriesPlaces() {
+			boolean changed = false;
+			for(int t = 0; t < pre.length; t++) {
+				if(pre[t] == null || dirtyTransitions[t] || pre[t].length != 1 || post[t].length != 1) {
+					continue;
+				}
+				final int p1 = pre[t][0];
+				final int p2 = post[t][0];
+				if(p1 == p2 || marking[p1] != 0 || dirtyPlaces[p1] || dirtyPlaces[p2]
+						|| consumers.get(p1).size() != 1 || isDirty(producers.get(p1))) {
+					continue;
+				}
+				//jede Transition, die Marken auf p1 legt, legt sie auf p2,
+				//im ursprünglichen Petri-Netz schaltet t direkt danach
+				for(int u : producers.get(p1)) {
+					final int k = count(post[u], p1);
+					post[u] = replace(post[u], p1, p2);
+					sequences[u] = append(sequences[u], sequences[t], k);
+					dirtyTransitions[u] = true;
+				}
+				removeTransition(t);
+				removePlace(p1, CONSTANT, 0);
+				dirtyPlaces[p2] = true;
+				changed = true;
+			}
+			return changed;
+		}
+		
+		
+		//unmarkierte Stelle p, die nur t1 erzeugt und nur t2 mit Vorbereich {p} verbraucht
+		private boolean seriesTransitions() {
+			boolean changed = false;
+			for(int p = 0; p < removed.length; p++) {
+				if(removed[p] || dirtyPlaces[p] || marking[p] != 0
+						|| producers.get(p).size() != 1 || consumers.get(p).size() != 1) {
+					continue;
+				}
+				final int t1 = producers.get(p).get(0);
+				final int t2 = consumers.get(p).get(0);
+				//t2 muss Marken erzeugen, sonst könnte sich auf p eine
+				//unbeschränkte Anzahl von Marken ansammeln, die verloren ginge
+				if(t1 == t2 || dirtyTransitions[t1] || dirtyTransitions[t2] || pre[t2].length != 1
+						|| post[t2].length == 0 || count(post[t2], p) != 0 || isDirty(post[t2])) {
+					continue;
+				}
+				//t1 legt die Marken von t2 direkt auf dessen Nachbereich
+				final int k = count(post[t1], p);
+				int[] next = without(post[t1], p);
+				for(int i = 0; i < k; i++) {
+					next = concat(next, post[t2]);
+				}
+				post[t1] = next;
+				sequences[t1] = append(sequences[t1], sequences[t2], k);
+				dirtyTransitions[t1] = true;
+				for(int place : post[t2]) {
+					dirtyPlaces[place] = true;
+				}
+				removeTransition(t2);
+				removePlace(p, CONSTANT, 0);
+				changed = true;
+			}
+			return changed;
+		}
+		
+		
+		//erzeugt das reduzierte Petri-Netz und die Abbildungen zurück
+		private NetReduction build() {
+			//neue Indizes der verbleibenden Stellen
+			final int[] newPlace = new int[removed.length];
+			int placeCount = 0;
+			for(int place = 0; place < removed.length; place++) {
+				newPlace[place] = removed[place] ? -1 : placeCount++;
+			}
+			final int[] places = new int[placeCount];
+			final int[] initial = new int[placeCount];
+			for(int place = 0; place < removed.length; place++) {
+				if(!removed[place]) {
+					places[newPlace[place]] = place;
+					initial[newPlace[place]] = marking[place];
+				}
+			}
+			
+			//verbleibende Transitionen über den neuen Indizes der Stellen
+			final List<Integer> transitions = new ArrayList<>();
+			for(int transition = 0; transition < pre.length; transition++) {
+				if(pre[transition] != null) {
+					transitions.add(transition);
+				}
+			}
+			final int[] transitionArray = new int[transitions.size()];
+			final int[][] newPre = new int[transitions.size()][];
+			final int[][] newPost = new int[transitions.size()][];
+			final int[][] newSequences = new int[transitions.size()][];
+			for(int i = 0; i < transitionArray.length; i++) {
+				final int transition = transitions.get(i);
+				transitionArray[i] = transition;
+				newPre[i] = renumber(pre[transition], newPlace);
+				newPost[i] = renumber(post[transition], newPlace);
+				newSequences[i] = sequences[transition];
+			}
+			
+			//Wert jeder entfernten Stelle über die Kette ihrer Abhängigkeiten
+			final int[] source = new int[removed.length];
+			final int[] sourceOffset = new int[removed.length];
+			for(int place = 0; place < removed.length; place++) {
+				int current = place;
+				int sum = 0;
+				while(removed[current] && alias[current] != CONSTANT) {
+					sum += offset[current];
+					current = alias[current];
+				}
+				if(removed[current]) {
+					source[place] = CONSTANT;
+					sourceOffset[place] = sum + offset[current];
+				} else {
+					source[place] = newPlace[current];
+					sourceOffset[place] = sum;
+				}
+			}
+			final CompiledNet reduced = CompiledNet.subnet(net, places, transitionArray, newPre, newPost);
+			return new NetReduction(net, reduced, initial, source, sourceOffset, newSequences);
+		}
+		
+		
+		//Signatur einer Stelle aus ihren Vor- und Nachbereichen mit Vielfachheiten
+		private List<Integer> signature(int place) {
+			final Set<Integer> transitions = new TreeSet<>(consumers.get(place));
+			transitions.addAll(producers.get(place));
+			final List<Integer> signature = new ArrayList<>();
+			for(int transition : transitions) {
+				signature.add(transition);
+				signature.add(count(pre[transition], place));
+				signature.add(count(post[transition], place));
+			}
+			return signature;
+		}
+		
+		
+		private void removePlace(int place, int source, int placeOffset) {
+			removed[place] = true;
+			alias[place] = source;
+			offset[place] = placeOffset;
+			dirtyPlaces[place] = true;
+		}
+		
+		
+		private void removeTransition(int transition) {
+			for(int place : pre[transition]) {
+				dirtyPlaces[place] = true;
+			}
+			for(int place : post[transition]) {
+				dirtyPlaces[place] = true;
+			}
+			pre[transition] = null;
+			post[transition] = null;
+			dirtyTransitions[transition] = true;
+		}
+		
+		
+		//true, falls eine der Transitionen im aktuellen Durchlauf verändert wurde
+		private boolean isDirty(List<Integer> transitions) {
+			for(int transition : transitions) {
+				if(dirtyTransitions[transition]) {
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		
+		//true, falls eine der Stellen im aktuellen Durchlauf verändert wurde
+		private boolean isDirty(int[] places) {
+			for(int place : places) {
+				if(dirtyPlaces[place]) {
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		
+		private static void addOnce(List<Integer> list, int value) {
+			if(list.isEmpty() || list.get(list.size() - 1) != value) {
+				list.add(value);
+			}
+		}
+		
+		
+		private static int count(int[] array, int value) {
+			int count = 0;
+			for(int element : array) {
+				if(element == value) {
+					count++;
+				}
+			}
+			return count;
+		}
+		
+		
+		private static int[] without(int[] array, int value) {
+			final int[] result = new int[array.length - count(array, value)];
+			int idx = 0;
+			for(int element : array) {
+				if(element != value) {
+					result[idx++] = element;
+				}
+			}
+			return result;
+		}
+		
+		
+		private static int[] replace(int[] array, int value, int replacement) {
+			final int[] result = array.clone();
+			for(int i = 0; i < result.length; i++) {
+				if(result[i] == value) {
+					result[i] = replacement;
+				}
+			}
+			return result;
+		}
+		
+		
+		private static int[] concat(int[] a, int[] b) {
+			final int[] result = Arrays.copyOf(a, a.length + b.length);
+			System.arraycopy(b, 0, result, a.length, b.length);
+			return result;
+		}
+		
+		
+		//hängt die Schaltfolge times-mal an
+		private static int[] append(int[] sequence, int[] suffix, int times) {
+			int[] result = sequence;
+			for(int i = 0; i < times; i++) {
+				result = concat(result, suffix);
+			}
+			return result;
+		}
+		
+		
+		private static int[] renumber(int[] places, int[] newPlace) {
+			final int[] result = new int[places.length];
+			for(int i = 0; i < places.length; i++) {
+				result[i] = newPlace[places[i]];
+			}
+			return result;
+		}
+	}
+	
+	
+	//Regel der Reduktion, liefert true falls sie angewendet wurde
+	private interface Rule {
+		boolean apply();
+	}
+}
@@ -0,0 +1,310 @@
+package petrinets.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Diese Klasse repräsentiert die P-Invarianten eines Petri-Netzes.<br>
+ * Eine P-Invariante ist ein nicht negativer Gewichtsvektor über den Stellen, dessen<br>
+ * gewichtete Markensumme durch das Schalten jeder Transition unverändert bleibt.<p>
+ *
+ * Berechnet wird eine Basis der minimalen P-Semiflüsse mit dem Farkas-Algorithmus<br>
+ * über der Inzidenzmatrix des {@link CompiledNet}. Spalten werden in der Reihenfolge<br>
+ * der wenigsten Kombinationen eliminiert, Zeilen mit nicht minimalem Träger werden<br>
+ * verworfen. Wächst die Anzahl der Zeilen über eine feste Grenze, wird die Berechnung<br>
+ * abgebrochen und es sind keine Invarianten bekannt.<p>
+ *
+ * Liegt jede Stelle im Träger einer Invariante, ist das Petri-Netz für jede<br>
+ * Startmarkierung beschränkt, die Schranke einer Stelle folgt aus der gewichteten<br>
+ * Markensumme der Startmarkierung.
+ *
+ * @author Michael Assmair
+ *
+ * @see CompiledNet
+ *
+ */
+public final class PInvariants {
+	
+	/**
+	 * Wert einer Schranke, die aus den Invarianten nicht folgt.
+	 */
+	public static final int UNKNOWN = -1;
+	
+	//maximale Anzahl von Zeilen während der Elimination
+	private static final int MAX_ROWS = 10000;
+	
+	//minimale P-Semiflüsse, null falls die Berechnung abgebrochen wurde
+	private final List<long[]> invariants;
+	
+	//Stellen, die im Träger einer Invariante liegen
+	private final BitSet covered = new BitSet();
+	
+	//Anzahl der Stellen
+	private final int placeCount;
+	
+	
+	//Konstruktor übernimmt die berechneten Invarianten
+	private PInvariants(List<long[]> invariants, int placeCount) {
+		this.invariants = invariants;
+		this.placeCount = placeCount;
+		if(invariants != null) {
+			for(long[] invariant : invariants) {
+				for(int place = 0; place < placeCount; place++) {
+					if(invariant[place] > 0) {
+						covered.set(place);
+					}
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Methode, die die minimalen P-Semiflüsse des übergebenen Petri-Netzes berechnet.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 *
+	 * @return P-Invarianten des Petri-Netzes
+	 */
+	public static PInvariants compute(CompiledNet net) {
+		final int placeCount = net.getPlaceCount();
+		final int transitionCount = net.getTransitionCount();
+	
+		//Zeile p enthält die Zeile p der Inzidenzmatrix und den Einheitsvektor für p
+		List<Row> rows = new ArrayList<>();
+		for(int place = 0; place < placeCount; place++) {
+			final Row row = new Row(transitionCount, placeCount);
+			row.weights[place] = 1;
+			row.support.set(place);
+			rows.add(row);
+		}
+		for(int transition = 0; transition < transitionCount; transition++) {
+			for(int place : net.getPreviousPlaces(transition)) {
+				rows.get(place).incidence[transition]--;
+			}
+			for(int place : net.getNextPlaces(transition)) {
+				rows.get(place).incidence[transition]++;
+			}
+		}
+	
+		final BitSet eliminated = new BitSet();
+		try {
+			for(int step = 0; step < transitionCount; step++) {
+				final int column = nextColumn(rows, eliminated, transitionCount);
+				eliminated.set(column);
+				rows = eliminate(rows, column);
+				if(rows == null) {
+					return new PInvariants(null, placeCount);
+				}
+			}
+		} catch (ArithmeticException e) {
+			//Gewichte passen nicht in einen long
+			return new PInvariants(null, placeCount);
+		}
+	
+		final List<long[]> invariants = new ArrayList<>();
+		for(Row row : rows) {
+			invariants.add(row.weights);
+		}
+		return new PInvariants(invariants, placeCount);
+	}
+	
+	
+	//wählt die Spalte, deren Elimination die wenigsten neuen Zeilen erzeugt
+	private static int nextColumn(List<Row> rows, BitSet eliminated, int transitionCount) {
+		int best = -1;
+		long bestCost = Long.MAX_VALUE;
+		for(int column = eliminated.nextClearBit(0); column < transitionCount; column = eliminated.nextClearBit(column + 1)) {
+			long positive = 0;
+			long negative = 0;
+			for(Row row : rows) {
+				if(row.incidence[column] > 0) {
+					positive++;
+				} else if(row.incidence[column] < 0) {
+					negative++;
+				}
+			}
+			final long cost = positive * negative - positive - negative;
+			if(cost < bestCost) {
+				bestCost = cost;
+				best = column;
+			}
+		}
+		return best;
+	}
+	
+	
+	//eliminiert eine Spalte, indem Zeilen mit positivem und negativem Eintrag
+	//kombiniert werden, liefert null falls die Anzahl der Zeilen zu groß wird
+	private static List<Row> eliminate(List<Row> rows, int column) {
+		final List<Row> result = new ArrayList<>();
+		final List<Row> positive = new ArrayList<>();
+		final List<Row> negative = new ArrayList<>();
+		for(Row row : rows) {
+			if(row.incidence[column] == 0) {
+				result.add(row);
+			} else if(row.incidence[column] > 0) {
+				positive.add(row);
+			} else {
+				negative.add(row);
+			}
+		}
+	
+		for(Row pos : positive) {
+			for(Row neg : negative) {
+				//Träger einer neuen Zeile ist die Vereinigung beider Träger
+				final BitSet support = (BitSet)pos.support.clone();
+				support.or(neg.support);
+				if(!isMinimal(support, result)) {
+					continue;
+				}
+				removeNonMinimal(support, result);
+				result.add(Row.combine(pos, -neg.incidence[column], neg, pos.incidence[column], support));
+				if(result.size() > MAX_ROWS) {
+					return null;
+				}
+			}
+		}
+		return result;
+	}
+	
+	
+	//true, falls keine Zeile einen Träger hat, der im übergebenen Träger enthalten ist
+	private static boolean isMinimal(BitSet support, List<Row> rows) {
+		for(Row row : rows) {
+			if(isSubset(row.support, support)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	//entfernt alle Zeilen, deren Träger den übergebenen Träger echt enthält
+	private static void removeNonMinimal(BitSet support, List<Row> rows) {
+		rows.removeIf(row -> isSubset(support, row.support));
+	}
+	
+	
+	//true, falls a eine Teilmenge von b ist
+	private static boolean isSubset(BitSet a, BitSet b) {
+		final BitSet tmp = (BitSet)a.clone();
+		tmp.andNot(b);
+		return tmp.isEmpty();
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls die Invarianten berechnet werden konnten.
+	 *
+	 * @return false, falls die Berechnung wegen zu vieler Zeilen abgebrochen wurde
+	 */
+	public boolean isComputed() {
+		return invariants != null;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die minimalen P-Semiflüsse liefert.
+	 *
+	 * @return Gewichte jeder Invariante in der Reihenfolge der Stellen, leer falls nicht berechnet
+	 */
+	public List<long[]> getInvariants() {
+		return invariants == null ? new ArrayList<>() : invariants;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls jede Stelle im Träger einer Invariante liegt.<br>
+	 * Das Petri-Netz ist dann für jede Startmarkierung beschränkt.
+	 *
+	 * @return true, falls die Invarianten alle Stellen überdecken
+	 */
+	public boolean isCovering() {
+		return invariants != null && covered.cardinality() == placeCount;
+	}
+	
+	
+	/**
+	 * Methode, die für jede Stelle die aus den Invarianten folgende Schranke liefert.<br>
+	 * Für eine Invariante y mit y(p) &gt; 0 trägt p höchstens y·M0 / y(p) Marken,<br>
+	 * geliefert wird das Minimum über alle solchen Invarianten.
+	 *
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 *
+	 * @return Schranken in der Reihenfolge der Stellen, {@link #UNKNOWN} für nicht überdeckte Stellen
+	 */
+	public int[] getPlaceBounds(int[] initialMarking) {
+		final int[] bounds = new int[placeCount];
+		Arrays.fill(bounds, UNKNOWN);
+		for(long[] invariant : getInvariants()) {
+			//gewichtete Markensumme der Startmarkierung
+			long sum = 0;
+			for(int place = 0; place < placeCount; place++) {
+				sum += invariant[place] * initialMarking[place];
+			}
+			for(int place = 0; place < placeCount; place++) {
+				if(invariant[place] > 0) {
+					final int bound = (int)Math.min(Integer.MAX_VALUE - 1, sum / invariant[place]);
+					if(bounds[place] == UNKNOWN || bound < bounds[place]) {
+						bounds[place] = bound;
+					}
+				}
+			}
+		}
+		return bounds;
+	}
+	
+	
+	//Zeile der Elimination aus dem Rest der Inzidenzmatrix und den Gewichten der Stellen
+	private static final class Row {
+	
+		private final long[] incidence;
+		private final long[] weights;
+		private final BitSet support;
+	
+	
+		private Row(int transitionCount, int placeCount) {
+			incidence = new long[transitionCount];
+			weights = new long[placeCount];
+			support = new BitSet();
+		}
+	
+	
+		//bildet a * factorA + b * factorB und kürzt durch den größten gemeinsamen Teiler
+		private static Row combine(Row a, long factorA, Row b, long factorB, BitSet support) {
+			final Row row = new Row(a.incidence.length, a.weights.length);
+			long gcd = 0;
+			for(int i = 0; i < row.incidence.length; i++) {
+				row.incidence[i] = Math.addExact(Math.multiplyExact(a.incidence[i], factorA), Math.multiplyExact(b.incidence[i], factorB));
+				gcd = gcd(gcd, Math.abs(row.incidence[i]));
+			}
+			for(int i = 0; i < row.weights.length; i++) {
+				row.weights[i] = Math.addExact(Math.multiplyExact(a.weights[i], factorA), Math.multiplyExact(b.weights[i], factorB));
+				gcd = gcd(gcd, row.weights[i]);
+			}
+			if(gcd > 1) {
+				for(int i = 0; i < row.incidence.length; i++) {
+					row.incidence[i] /= gcd;
+				}
+				for(int i = 0; i < row.weights.length; i++) {
+					row.weights[i] /= gcd;
+				}
+			}
+			row.support.or(support);
+			return row;
+		}
+	
+	
+		private static long gcd(long a, long b) {
+			while(b != 0) {
+				final long tmp = a % b;
+				a = b;
+				b = tmp;
+			}
+			return a;
+		}
+	}
+}
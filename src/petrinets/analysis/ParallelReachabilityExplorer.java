@@ -0,0 +1,271 @@
+package petrinets.analysis;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diese Klasse repräsentiert den Erreichbarkeits-Algorithmus auf mehreren Threads.<br>
+ * Die Markierungen werden in Abschnitten aufeinanderfolgender IDs exploriert, da die IDs<br>
+ * in der Reihenfolge der Breitensuche vergeben werden. Innerhalb eines Abschnittes werden<br>
+ * die Nachfolgemarkierungen in einem {@link ForkJoinPool} mit Work-Stealing berechnet<br>
+ * und neue Markierungen in einer nebenläufigen Menge beansprucht.<p>
+ * 
+ * Ein Abschnitt umfasst höchstens {@link #CHUNK} Markierungen, so dass seine Nachfolger<br>
+ * wenig Speicher belegen und die Grenzen nach jedem Abschnitt geprüft werden,<br>
+ * nicht erst nach einer vollständigen Ebene.<p>
+ * 
+ * Eine neue Markierung gehört der Kante mit der kleinsten Position (Markierung, Transition),<br>
+ * so dass IDs, Kanten, Abbruchkriterium und eine gefundene Verklemmung genau dem<br>
+ * Ergebnis der Breitensuche auf einem Thread entsprechen.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ReachabilityExplorer
+ * @see SearchStrategy#PARALLEL_BREADTH_FIRST
+ *
+ */
+final class ParallelReachabilityExplorer extends ReachabilityExplorer {
+	
+	//Teilaufgaben mit weniger Markierungen werden nicht weiter geteilt
+	private static final int THRESHOLD = 64;
+	
+	//höchstens so viele Markierungen werden gemeinsam exploriert und danach übernommen
+	private static final int CHUNK = 1 << 12;
+	
+	/**
+	 * Konstruktor für einen parallelen Erreichbarkeits-Algorithmus.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration, enthalten die Anzahl der Threads
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	ParallelReachabilityExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		super(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung Abschnitt für Abschnitt<br>
+	 * alle erreichbaren Markierungen sucht.
+	 * 
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 * 
+	 * @return Ergebnis der Exploration
+	 */
+	@Override
+	public ReachabilityResult explore(int[] initialMarking) {
+		final ReachabilityResult result = newResult();
+		result.addMarking(initialMarking, -1, -1);
+		
+		final ForkJoinPool pool = new ForkJoinPool(settings.getParallelism());
+		monitor.setMemoryUsage(result::getMemoryUsage);
+		try {
+			//ein Abschnitt besteht aus den nächsten bereits gefundenen IDs
+			int chunkStart = 0;
+			while(chunkStart < result.size()) {
+				final int chunkEnd = (int)Math.min(result.size(), (long)chunkStart + CHUNK);
+				final Successors[] chunk = new Successors[chunkEnd - chunkStart];
+				
+				//Nachfolger werden parallel berechnet, das Ergebnis wird dabei nur gelesen
+				pool.invoke(new ExpandTask(result, new ConcurrentHashMap<>(), chunk, chunkStart, chunkStart, chunkEnd));
+				
+				//Nachfolger werden in der Reihenfolge der Breitensuche übernommen
+				if(merge(result, chunk, chunkStart)) {
+					return result;
+				}
+				chunkStart = chunkEnd;
+			}
+		} finally {
+			pool.shutdown();
+		}
+		return result;
+	}
+	
+	
+	//übernimmt die Nachfolger eines Abschnittes in das Ergebnis, true falls dabei
+	//das Abbruchkriterium oder eine Grenze erreicht bzw. abgebrochen wurde
+	private boolean merge(ReachabilityResult result, Successors[] chunk, int chunkStart) {
+		for(int idx = 0; idx < chunk.length; idx++) {
+			final int current = chunkStart + idx;
+			
+			//vorzeitiges Ende, nach einem Abbruch fehlen Nachfolger des Abschnittes
+			if(monitor.isExhausted(result.size(), result.getEdgeCount(), result.size() - current)) {
+				result.setUndecided(monitor.getStopReason());
+				return true;
+			}
+			final Successors successors = chunk[idx];
+			result.beginEdges(current);
+			
+			for(int k = 0; k < successors.size; k++) {
+				final int transition = successors.transitions[k];
+				int target = successors.targets[k];
+				
+				//Markierung war vor diesem Abschnitt noch nicht bekannt
+				if(target < 0) {
+					final Claim claim = successors.claims[k];
+					
+					//diese Kante hat die Markierung als erste gefunden
+					if(claim.order.get() == order(idx, transition)) {
+						claim.id = result.addMarking(claim.marking, current, transition);
+						result.addEdge(current, transition, claim.id);
+						if(successors.omegas[k] >= 0) {
+							result.setOmega(successors.omegas[k], claim.id);
+							return true;
+						}
+						continue;
+					}
+					//die ID wurde von einer vorherigen Kante vergeben
+					target = claim.id;
+				}
+				result.addEdge(current, transition, target);
+			}
+			
+			//Verklemmungssuche endet bei der ersten Markierung ohne aktivierte Transition
+			if(isDeadlock(result, current)) {
+				result.setDeadlock(current);
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	
+	//Position einer Kante innerhalb des Abschnittes
+	private long order(int idx, int transition) {
+		return (long)idx * net.getTransitionCount() + transition;
+	}
+	
+	
+	
+	//Teilaufgabe, die die Nachfolger eines Bereiches von Markierungen berechnet
+	private final class ExpandTask extends RecursiveAction {
+		
+		//default serial version ID
+		private static final long serialVersionUID = 1L;
+		
+		private final ReachabilityResult result;
+		private final ConcurrentHashMap<StateStore.Key, Claim> claims;
+		private final Successors[] chunk;
+		private final int chunkStart;
+		private final int from;
+		private final int to;
+		
+		private ExpandTask(ReachabilityResult result, ConcurrentHashMap<StateStore.Key, Claim> claims,
+				Successors[] chunk, int chunkStart, int from, int to) {
+			this.result = result;
+			this.claims = claims;
+			this.chunk = chunk;
+			this.chunkStart = chunkStart;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			//große Bereiche werden geteilt
+			if(to - from > THRESHOLD) {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new ExpandTask(result, claims, chunk, chunkStart, from, middle),
+						new ExpandTask(result, claims, chunk, chunkStart, middle, to));
+				return;
+			}
+			//nach einem Abbruch werden keine Nachfolger mehr berechnet
+			for(int current = from; current < to && !monitor.isCancelled(); current++) {
+				expand(current);
+			}
+		}
+		
+		//berechnet die Nachfolger einer Markierung
+		private void expand(int current) {
+			final int[] marking = result.getMarking(current);
+			
+			//Platz wird nur für die aktivierten Transitionen belegt
+			int enabled = 0;
+			for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+				if(net.isActiv(marking, transition)) {
+					enabled++;
+				}
+			}
+			final Successors successors = new Successors(enabled);
+			
+			//Zeiten werden nur für einen Teil der Markierungen gemessen
+			final boolean timed = monitor.isTimed(current);
+			final long start = timed ? System.nanoTime() : 0;
+			long omegaNanos = 0;
+			
+			for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+				if(!net.isActiv(marking, transition)) {
+					continue;
+				}
+				final int[] next = net.fire(marking, transition);
+				final int target = result.indexOf(next);
+				
+				//neue Markierung wird beansprucht, die kleinste Position gewinnt
+				if(target < 0) {
+					final Claim claim = claims.computeIfAbsent(new StateStore.Key(next), key -> new Claim(next));
+					claim.order.accumulateAndGet(order(current - chunkStart, transition), Math::min);
+					final long omegaStart = timed ? System.nanoTime() : 0;
+					final int omega = findOmega(result, current, next);
+					if(timed) {
+						omegaNanos += System.nanoTime() - omegaStart;
+					}
+					successors.add(transition, target, claim, omega);
+				} else {
+					successors.add(transition, target, null, -1);
+				}
+			}
+			chunk[current - chunkStart] = successors;
+			if(timed) {
+				monitor.addTiming(System.nanoTime() - start, omegaNanos);
+			}
+		}
+	}
+	
+	
+	
+	//Anspruch auf eine neue Markierung innerhalb eines Abschnittes,
+	//die Markierung wird nur einmal gehalten, auch wenn mehrere Kanten sie finden
+	private static final class Claim {
+		
+		private final int[] marking;
+		
+		//kleinste Position einer Kante, die die Markierung gefunden hat
+		private final AtomicLong order = new AtomicLong(Long.MAX_VALUE);
+		
+		//vergebene ID, wird beim Übernehmen des Abschnittes gesetzt
+		private int id = -1;
+		
+		private Claim(int[] marking) {
+			this.marking = marking;
+		}
+	}
+	
+	
+	
+	//Nachfolger einer Markierung, je ein Eintrag pro aktivierter Transition
+	private static final class Successors {
+		
+		private final int[] transitions;
+		private final int[] targets;
+		private final Claim[] claims;
+		private final int[] omegas;
+		private int size;
+		
+		private Successors(int capacity) {
+			transitions = new int[capacity];
+			targets = new int[capacity];
+			claims = new Claim[capacity];
+			omegas = new int[capacity];
+		}
+		
+		private void add(int transition, int target, Claim claim, int omega) {
+			transitions[size] = transition;
+			targets[size] = target;
+			claims[size] = claim;
+			omegas[size] = omega;
+			size++;
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package petrinets.analysis;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diese Klasse repräsentiert den Erreichbarkeits-Algorithmus ohne Bezug zur Oberfläche.<br>
+ * Die Exploration arbeitet auf einem {@link CompiledNet} und berechnet die<br>
+ * Nachfolgemarkierungen direkt als int-Arrays. Es werden weder Stellen des<br>
+ * Petri-Netzes verändert noch Beobachter informiert, das Ergebnis wird erst<br>
+ * nach Abschluss als {@link ReachabilityResult} geliefert.<p>
+ * 
+ * Die Markierungen werden ähnlich einer Breitensuche in der Reihenfolge ihrer ID<br>
+ * verarbeitet, die Warteschlange lagert bei Bedarf auf die Festplatte aus.<br>
+ * Die Exploration bricht ab, sobald das Abbruchkriterium für unbeschränkte<br>
+ * Petri-Netze erreicht wurde. Dafür wird für jede Markierung der Vorgänger<br>
+ * gespeichert, über den sie zuerst gefunden wurde, geprüft werden nur die<br>
+ * Vorfahren der neuen Markierung.<p>
+ * 
+ * Bei der Verklemmungssuche endet die Exploration zusätzlich bei der ersten Markierung<br>
+ * ohne aktivierte Transition. Die Markierungen werden Ebene für Ebene verarbeitet,<br>
+ * der Pfad über die Vorgänger ist daher eine kürzeste Schaltfolge zur Verklemmung.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see CompiledNet
+ * @see ReachabilityResult
+ *
+ */
+public class ReachabilityExplorer {
+	
+	//zu explorierendes Petri-Netz
+	final CompiledNet net;
+	
+	//Einstellungen der Exploration
+	final ExplorationSettings settings;
+	
+	//Überwachung der Grenzen und des Abbruchs
+	final ExplorationMonitor monitor;
+	
+	
+	/**
+	 * Konstruktor für einen Erreichbarkeits-Algorithmus auf dem übergebenen Petri-Netz<br>
+	 * mit Standardeinstellungen.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 */
+	public ReachabilityExplorer(CompiledNet net) {
+		this(net, new ExplorationSettings());
+	}
+	
+	
+	/**
+	 * Konstruktor für einen Erreichbarkeits-Algorithmus auf dem übergebenen Petri-Netz.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 */
+	ReachabilityExplorer(CompiledNet net, ExplorationSettings settings) {
+		this(net, settings, new ExplorationMonitor(settings));
+	}
+	
+	
+	/**
+	 * Konstruktor für einen überwachten Erreichbarkeits-Algorithmus auf dem übergebenen Petri-Netz.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 */
+	ReachabilityExplorer(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		this.net = net;
+		this.settings = settings;
+		this.monitor = monitor;
+	}
+	
+	
+	/**
+	 * Methode, die einen Erreichbarkeits-Algorithmus für die Art des Graphen<br>
+	 * und die Suchstrategie der übergebenen Einstellungen liefert.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * 
+	 * @return Erreichbarkeits-Algorithmus
+	 * 
+	 * @see ExplorationMode
+	 * @see SearchStrategy
+	 */
+	public static ReachabilityExplorer create(CompiledNet net, ExplorationSettings settings) {
+		return create(net, settings, new ExplorationMonitor(settings));
+	}
+	
+	
+	/**
+	 * Methode, die einen Erreichbarkeits-Algorithmus für die Art des Graphen<br>
+	 * und die Suchstrategie der übergebenen Einstellungen liefert. Über den Monitor<br>
+	 * kann die Exploration von einem anderen Thread abgebrochen werden.
+	 * 
+	 * @param net kompiliertes Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen und des Abbruchs
+	 * 
+	 * @return Erreichbarkeits-Algorithmus
+	 * 
+	 * @see ExplorationMonitor
+	 */
+	public static ReachabilityExplorer create(CompiledNet net, ExplorationSettings settings, ExplorationMonitor monitor) {
+		if(settings.getMode() == ExplorationMode.COVERABILITY) {
+			return new CoverabilityExplorer(net, settings, monitor);
+		}
+		if(settings.getMode() == ExplorationMode.MINIMAL_COVERABILITY_SET) {
+			return new MinimalCoverabilityExplorer(net, settings, monitor);
+		}
+		if(settings.getMode() == ExplorationMode.BIT_STATE) {
+			return new BitStateExplorer(net, settings, monitor);
+		}
+		if(settings.getMode() == ExplorationMode.HASH_COMPACTION) {
+			return new HashCompactionExplorer(net, settings, monitor);
+		}
+		if(settings.getStrategy() == SearchStrategy.PARALLEL_BREADTH_FIRST) {
+			return new ParallelReachabilityExplorer(net, settings, monitor);
+		}
+		if(settings.getStrategy() == SearchStrategy.DEPTH_FIRST) {
+			return new DepthFirstReachabilityExplorer(net, settings, monitor);
+		}
+		return new ReachabilityExplorer(net, settings, monitor);
+	}
+	
+	
+	/**
+	 * Methode, die ausgehend von der Startmarkierung alle erreichbaren Markierungen sucht.<br>
+	 * Ist ein Verzeichnis für Zwischenstände eingestellt, wird ein vorhandener Zwischenstand<br>
+	 * fortgesetzt und der aktuelle Stand regelmäßig sowie nach Abschluss gespeichert.<br>
+	 * Wird eine Grenze erreicht oder abgebrochen, ist das Ergebnis unentschieden.
+	 * 
+	 * @param initialMarking Startmarkierung in Array-Darstellung
+	 * 
+	 * @return Ergebnis der Exploration
+	 * 
+	 * @see ExplorationSettings#setCheckpointDirectory(Path)
+	 */
+	public ReachabilityResult explore(int[] initialMarking) {
+		final Path checkpointFile = settings.getCheckpointDirectory() == null
+				? null : Checkpoint.file(settings.getCheckpointDirectory(), net, settings.getMode(), initialMarking);
+		final Checkpoint checkpoint = checkpointFile == null
+				? null : Checkpoint.load(checkpointFile, settings.getMode(), net.getPlaceCount(), settings.getStorage());
+		
+		final ReachabilityResult result;
+		int first = 0;
+		if(checkpoint == null) {
+			result = newResult();
+			result.addMarking(initialMarking, -1, -1);
+		} else {
+			//ein unbeschränkter Zwischenstand ist bereits das Ergebnis
+			result = checkpoint.getResult();
+			result.setResumedMarkings(result.size());
+			first = checkpoint.getNext();
+			if(result.isUnbounded()) {
+				return result;
+			}
+		}
+		
+		//Warteschlange mit ID und Markierung, die Markierungen werden damit in der
+		//Reihenfolge ihrer ID verarbeitet, ohne sie aus dem Speicher zu lesen
+		final Frontier frontier = new Frontier(net.getPlaceCount() + 1, settings.getFrontierWindow());
+		final int[] record = new int[net.getPlaceCount() + 1];
+		final int[] marking = new int[net.getPlaceCount()];
+		
+		//bei einem Zwischenstand sind das alle Markierungen ab der nächsten zu verarbeitenden ID
+		for(int id = first; id < result.size(); id++) {
+			enqueue(frontier, record, id, result.getMarking(id, marking));
+		}
+		final long interval = TimeUnit.SECONDS.toNanos(settings.getCheckpointInterval());
+		long lastCheckpoint = System.nanoTime();
+		monitor.setMemoryUsage(result::getMemoryUsage);
+		
+		try {
+			while(frontier.poll(record)) {
+				final int current = record[0];
+				
+				//vorzeitiges Ende, der Zwischenstand beginnt mit der aktuellen Markierung
+				if(monitor.isExhausted(result.size(), result.getEdgeCount(), frontier.size())) {
+					result.setUndecided(monitor.getStopReason());
+					saveCheckpoint(checkpointFile, result, current);
+					return result;
+				}
+				System.arraycopy(record, 1, marking, 0, marking.length);
+				result.beginEdges(current);
+				
+				//Zeiten werden nur für einen Teil der Markierungen gemessen
+				final boolean timed = monitor.isTimed(current);
+				final long start = timed ? System.nanoTime() : 0;
+				long omegaNanos = 0;
+				
+				//versucht alle Transitionen zu schalten
+				for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+					if(!net.isActiv(marking, transition)) {
+						continue;
+					}
+					final int[] next = net.fire(marking, transition);
+					int target = result.indexOf(next);
+					final boolean isNew = target < 0;
+					if(isNew) {
+						target = result.addMarking(next, current, transition);
+					}
+					result.addEdge(current, transition, target);
+					
+					//Abbruchkriterium wird nur für neue Markierungen geprüft
+					if(isNew) {
+						final long omegaStart = timed ? System.nanoTime() : 0;
+						final int omega = findOmega(result, current, next);
+						if(timed) {
+							omegaNanos += System.nanoTime() - omegaStart;
+						}
+						if(omega >= 0) {
+							result.setOmega(omega, target);
+							saveCheckpoint(checkpointFile, result, current + 1);
+							return result;
+						}
+						enqueue(frontier, record, target, next);
+					}
+				}
+				if(timed) {
+					monitor.addTiming(System.nanoTime() - start, omegaNanos);
+				}
+				
+				//Verklemmungssuche endet bei der ersten Markierung ohne aktivierte Transition
+				if(isDeadlock(result, current)) {
+					result.setDeadlock(current);
+					saveCheckpoint(checkpointFile, result, current);
+					return result;
+				}
+				
+				//Zwischenstand nach vollständig verarbeiteter Markierung
+				if(checkpointFile != null && System.nanoTime() - lastCheckpoint >= interval) {
+					saveCheckpoint(checkpointFile, result, current + 1);
+					lastCheckpoint = System.nanoTime();
+				}
+			}
+		} finally {
+			frontier.release();
+		}
+		saveCheckpoint(checkpointFile, result, result.size());
+		return result;
+	}
+	
+	
+	//speichert den Zwischenstand, falls ein Verzeichnis eingestellt ist
+	private void saveCheckpoint(Path checkpointFile, ReachabilityResult result, int next) {
+		if(checkpointFile != null) {
+			Checkpoint.save(checkpointFile, settings.getMode(), result, next);
+		}
+	}
+	
+	
+	//fügt ID und Markierung am Ende der Warteschlange ein
+	static void enqueue(Frontier frontier, int[] record, int id, int[] marking) {
+		record[0] = id;
+		System.arraycopy(marking, 0, record, 1, marking.length);
+		frontier.add(record);
+	}
+	
+	
+	//true, falls bei der Verklemmungssuche die übergebene, bereits
+	//verarbeitete Markierung keine ausgehende Kante hat
+	boolean isDeadlock(ReachabilityResult result, int id) {
+		return settings.getMode() == ExplorationMode.DEADLOCK && result.getFirstEdge(id) == result.getEndEdge(id);
+	}
+	
+	
+	//erzeugt ein leeres Ergebnis im eingestellten Speicher
+	ReachabilityResult newResult() {
+		return new ReachabilityResult(net.getPlaceCount(), settings.getStorage());
+	}
+	
+	
+	/**
+	 * Sucht unter den Vorfahren einer neuen Markierung eine Markierung, die von ihr<br>
+	 * echt überdeckt wird. Die Vorfahren liegen auf dem Pfad von der Startmarkierung<br>
+	 * zur neuen Markierung, geliefert wird die der Startmarkierung nächste.
+	 * 
+	 * @param result bisheriges Ergebnis der Exploration
+	 * @param parent ID der Markierung, von der aus die neue Markierung gefunden wurde
+	 * @param newMarking neue Markierung
+	 * 
+	 * @return ID der überdeckten Markierung oder -1, falls keine existiert
+	 */
+	static int findOmega(ReachabilityResult result, int parent, int[] newMarking) {
+		final int[] marking = new int[newMarking.length];
+		int omega = -1;
+		for(int id = parent; id >= 0; id = result.getParent(id)) {
+			if(isOmega(result.getMarking(id, marking), newMarking)) {
+				omega = id;
+			}
+		}
+		return omega;
+	}
+	
+	
+	/**
+	 * Prüft, ob die neue Markierung die alte Markierung echt überdeckt.
+	 * 
+	 * @param marking alte Markierung
+	 * @param newMarking neue Markierung
+	 * 
+	 * @return true, falls die neue Markierung an jeder Stelle mindestens gleich viele<br>
+	 * 			und an einer Stelle mehr Marken trägt
+	 */
+	static boolean isOmega(int[] marking, int[] newMarking) {
+		boolean greater = false;
+		for(int i = 0; i < marking.length; i++) {
+			if(newMarking[i] < marking[i]) {
+				return false;
+			}
+			greater |= newMarking[i] > marking[i];
+		}
+		return greater;
+	}
+}
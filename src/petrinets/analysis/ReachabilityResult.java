@@ -0,0 +1,618 @@
+package petrinets.analysis;
+
+import java.util.Arrays;
+
+import petrinets.markingGraphModel.Marking;
+
+/**
+ * Diese Klasse repräsentiert das Ergebnis einer Exploration des Erreichbarkeitsgraphen.<br>
+ * Markierungen werden über ihre ID angesprochen, die Kanten über ihre Position<br>
+ * in der Reihenfolge, in der sie gefunden wurden. Die Kanten einer Markierung<br>
+ * liegen zusammenhängend hintereinander.<p>
+ * 
+ * Falls das Abbruchkriterium für unbeschränkte Petri-Netze erreicht wurde,<br>
+ * liefert das Ergebnis die beiden Markierungen des Abbruchkriteriums. Bei einem<br>
+ * Überdeckungsgraphen sind das die erste Markierung mit ω und ein von ihr echt<br>
+ * überdeckter Vorfahre. Bei der Verklemmungssuche liefert es die erste gefundene<br>
+ * Markierung ohne aktivierte Transition.<p>
+ * 
+ * Markierungen und Kanten liegen im eingestellten {@link StorageBackend}. Liegen sie<br>
+ * außerhalb des Heaps, sollte der Speicher nach der Verwendung mit {@link #release()}<br>
+ * freigegeben werden.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ReachabilityExplorer
+ * @see CompiledNet
+ *
+ */
+public final class ReachabilityResult {
+	
+	//Anzahl der Stellen einer Markierung
+	private final int placeCount;
+	
+	//gefundene Markierungen
+	private final StateStore markings;
+	
+	//Kanten als Quelle, Index der Transition und Ziel
+	private final IntList edgeSources;
+	private final IntList edgeTransitions;
+	private final IntList edgeTargets;
+	
+	//Vorgänger jeder Markierung und die dabei geschaltete Transition,
+	//bilden den Pfad über den die Markierung zuerst gefunden wurde
+	private final IntList parents;
+	private final IntList parentTransitions;
+	
+	//Position der ersten und hinter der letzten ausgehenden Kante jeder Markierung,
+	//bei noch nicht verarbeiteten Markierungen beide 0
+	private final IntArray firstEdges;
+	private final IntArray endEdges;
+	
+	//zuletzt verarbeitete Markierung, deren Kanten eingefügt werden,
+	//und Anzahl der Einträge von firstEdges und endEdges
+	private int current = -1;
+	private int edgeRanges;
+	
+	//IDs der minimalen Überdeckungsmenge, null falls nicht berechnet
+	private int[] coveringSet;
+	
+	//Zusammenfassung des Bitstate-Hashings bzw. der Hash-Kompaktierung, null bei exakter Exploration
+	private BitStateSummary bitStateSummary;
+	private HashCompactionSummary hashCompactionSummary;
+	
+	//Anzahl der Markierungen eines fortgesetzten Zwischenstandes, 0 falls neu begonnen
+	private int resumedMarkings;
+	
+	//Grund einer vorzeitig beendeten Exploration, null falls sie vollständig ist
+	private String undecidedReason;
+	
+	//Markierungen des Abbruchkriteriums, -1 falls nicht erreicht
+	private int firstOmegaMarking = -1;
+	private int secondOmegaMarking = -1;
+	
+	//erste gefundene Markierung ohne aktivierte Transition, -1 falls keine gefunden wurde
+	private int deadlock = -1;
+	
+	
+	/**
+	 * Konstruktor für ein leeres Ergebnis.
+	 * 
+	 * @param placeCount Anzahl der Stellen einer Markierung
+	 * @param backend Speicher für Markierungen und Kanten
+	 */
+	ReachabilityResult(int placeCount, StorageBackend backend) {
+		this.placeCount = placeCount;
+		markings = new StateStore(placeCount, backend);
+		edgeSources = new IntList(backend);
+		edgeTransitions = new IntList(backend);
+		edgeTargets = new IntList(backend);
+		parents = new IntList(backend);
+		parentTransitions = new IntList(backend);
+		firstEdges = IntArray.create(backend);
+		endEdges = IntArray.create(backend);
+	}
+	
+	
+	/**
+	 * Fügt eine noch nicht enthaltene Markierung ein.
+	 * 
+	 * @param marking einzufügende Markierung
+	 * @param parent ID der Markierung, von der aus sie gefunden wurde, -1 für die Startmarkierung
+	 * @param transition Index der dabei geschalteten Transition, -1 für die Startmarkierung
+	 * 
+	 * @return ID der Markierung
+	 */
+	int addMarking(int[] marking, int parent, int transition) {
+		parents.add(parent);
+		parentTransitions.add(transition);
+		return markings.add(marking);
+	}
+	
+	
+	/**
+	 * Markiert den Beginn der ausgehenden Kanten der übergebenen Markierung.<br>
+	 * Die Markierungen dürfen in beliebiger Reihenfolge verarbeitet werden, ihre Kanten<br>
+	 * müssen aber direkt nach diesem Aufruf und ohne Unterbrechung eingefügt werden.
+	 * 
+	 * @param id ID der Markierung, deren Kanten nun eingefügt werden
+	 */
+	void beginEdges(int id) {
+		firstEdges.ensureCapacity(id + 1L);
+		endEdges.ensureCapacity(id + 1L);
+		firstEdges.set(id, edgeTargets.size());
+		endEdges.set(id, edgeTargets.size());
+		current = id;
+		edgeRanges = Math.max(edgeRanges, id + 1);
+	}
+	
+	
+	/**
+	 * Fügt eine Kante hinzu.
+	 * 
+	 * @param source ID der Markierung vor dem Schalten
+	 * @param transition Index der geschalteten Transition
+	 * @param target ID der Markierung nach dem Schalten
+	 */
+	void addEdge(int source, int transition, int target) {
+		edgeSources.add(source);
+		edgeTransitions.add(transition);
+		edgeTargets.add(target);
+		if(source == current) {
+			endEdges.set(source, edgeTargets.size());
+		}
+	}
+	
+	
+	/**
+	 * Setzt die beiden Markierungen des Abbruchkriteriums.
+	 * 
+	 * @param first ID der kleineren Markierung
+	 * @param second ID der größeren Markierung, die first als Vorfahren hat
+	 */
+	void setOmega(int first, int second) {
+		firstOmegaMarking = first;
+		secondOmegaMarking = second;
+	}
+	
+	
+	/**
+	 * Setzt die Markierung, bei der die Verklemmungssuche beendet wurde.
+	 * 
+	 * @param deadlock ID der Markierung ohne aktivierte Transition
+	 * 
+	 * @see ExplorationMode#DEADLOCK
+	 */
+	void setDeadlock(int deadlock) {
+		this.deadlock = deadlock;
+	}
+	
+	
+	/**
+	 * Setzt die IDs der Markierungen, die die minimale Überdeckungsmenge bilden.
+	 * 
+	 * @param coveringSet IDs der Markierungen in aufsteigender Reihenfolge
+	 */
+	void setCoveringSet(int[] coveringSet) {
+		this.coveringSet = coveringSet;
+	}
+	
+	
+	/**
+	 * Setzt die Zusammenfassung des Bitstate-Hashings, das Ergebnis ist damit approximativ.
+	 * 
+	 * @param bitStateSummary Zusammenfassung der Exploration
+	 */
+	void setBitStateSummary(BitStateSummary bitStateSummary) {
+		this.bitStateSummary = bitStateSummary;
+	}
+	
+	
+	/**
+	 * Setzt die Zusammenfassung der Hash-Kompaktierung, das Ergebnis ist damit approximativ.
+	 * 
+	 * @param hashCompactionSummary Zusammenfassung der Exploration
+	 */
+	void setHashCompactionSummary(HashCompactionSummary hashCompactionSummary) {
+		this.hashCompactionSummary = hashCompactionSummary;
+	}
+	
+	
+	/**
+	 * Setzt die Anzahl der Markierungen, die aus einem Zwischenstand gelesen wurden.
+	 * 
+	 * @param resumedMarkings Anzahl der gelesenen Markierungen
+	 * 
+	 * @see Checkpoint
+	 */
+	void setResumedMarkings(int resumedMarkings) {
+		this.resumedMarkings = resumedMarkings;
+	}
+	
+	
+	/**
+	 * Setzt den Grund, aus dem die Exploration vorzeitig beendet wurde.<br>
+	 * Das Ergebnis enthält dann nur die bis dahin gefundenen Markierungen und Kanten.
+	 * 
+	 * @param undecidedReason Grund des Abbruchs
+	 * 
+	 * @see ExplorationMonitor#getStopReason()
+	 */
+	void setUndecided(String undecidedReason) {
+		this.undecidedReason = undecidedReason;
+	}
+	
+	
+	/**
+	 * Liefert die ID der übergebenen Markierung.
+	 * 
+	 * @param marking zu suchende Markierung
+	 * 
+	 * @return ID der Markierung oder -1, falls sie nicht enthalten ist
+	 */
+	public int indexOf(int[] marking) {
+		return markings.indexOf(marking);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Markierung mit der übergebenen ID liefert.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return neuer Array mit der Markierung
+	 */
+	public int[] getMarking(int id) {
+		return markings.get(id);
+	}
+	
+	
+	/**
+	 * Schreibt die Markierung mit der übergebenen ID in den übergebenen Array.
+	 * 
+	 * @param id ID der Markierung
+	 * @param marking Array mit mindestens einem Eintrag pro Stelle
+	 * 
+	 * @return der übergebene Array
+	 */
+	public int[] getMarking(int id, int[] marking) {
+		return markings.get(id, marking);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Vorgänger einer Markierung liefert,<br>
+	 * von dem aus die Markierung zuerst gefunden wurde.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return ID des Vorgängers oder -1 für die Startmarkierung
+	 */
+	public int getParent(int id) {
+		return parents.get(id);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Transition liefert, deren Schalten<br>
+	 * vom Vorgänger zu der Markierung geführt hat.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return Index der Transition oder -1 für die Startmarkierung
+	 */
+	public int getParentTransition(int id) {
+		return parentTransitions.get(id);
+	}
+	
+	
+	/**
+	 * Methode, die den Zeugenpfad einer Markierung über die gespeicherten Vorgänger liefert.<br>
+	 * Das ist der Pfad, über den die Markierung zuerst gefunden wurde, bei der Breitensuche<br>
+	 * ein kürzester Pfad. Die geschaltete Transition vor der Markierung an Position i liefert<br>
+	 * {@link #getParentTransition(int)}. Der Aufwand ist linear in der Länge des Pfades.
+	 * 
+	 * @param id ID der letzten Markierung des Pfades
+	 * 
+	 * @return IDs der Markierungen von der Startmarkierung bis zur übergebenen Markierung
+	 */
+	public int[] getWitness(int id) {
+		int length = 1;
+		for(int node = id; parents.get(node) >= 0; node = parents.get(node)) {
+			length++;
+		}
+		final int[] witness = new int[length];
+		for(int node = id, idx = length - 1; idx >= 0; node = parents.get(node), idx--) {
+			witness[idx] = node;
+		}
+		return witness;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der gefundenen Markierungen liefert.
+	 * 
+	 * @return Anzahl der Markierungen
+	 */
+	public int size() {
+		return markings.size();
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der gefundenen Kanten liefert.
+	 * 
+	 * @return Anzahl der Kanten
+	 */
+	public int getEdgeCount() {
+		return edgeTargets.size();
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher der Markierungen, Kanten und Vorgänger liefert.<br>
+	 * Die Arrays wachsen durch Verdoppeln, der Speicher enthält auch ihre Reserve.
+	 * 
+	 * @return belegter Speicher in Bytes
+	 */
+	public long getMemoryUsage() {
+		return markings.memoryUsage() + edgeSources.memoryUsage() + edgeTransitions.memoryUsage() + edgeTargets.memoryUsage()
+				+ parents.memoryUsage() + parentTransitions.memoryUsage() + (firstEdges.capacity() + endEdges.capacity()) * Integer.BYTES;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Quelle einer Kante liefert.
+	 * 
+	 * @param edge Position der Kante
+	 * 
+	 * @return ID der Markierung vor dem Schalten
+	 */
+	public int getEdgeSource(int edge) {
+		return edgeSources.get(edge);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die geschaltete Transition einer Kante liefert.
+	 * 
+	 * @param edge Position der Kante
+	 * 
+	 * @return Index der Transition im {@link CompiledNet}
+	 */
+	public int getEdgeTransition(int edge) {
+		return edgeTransitions.get(edge);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die das Ziel einer Kante liefert.
+	 * 
+	 * @param edge Position der Kante
+	 * 
+	 * @return ID der Markierung nach dem Schalten
+	 */
+	public int getEdgeTarget(int edge) {
+		return edgeTargets.get(edge);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Position der ersten ausgehenden Kante einer Markierung liefert.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return Position der ersten ausgehenden Kante
+	 */
+	public int getFirstEdge(int id) {
+		return id < edgeRanges ? firstEdges.get(id) : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Position hinter der letzten ausgehenden Kante einer Markierung liefert.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return Position hinter der letzten ausgehenden Kante
+	 */
+	public int getEndEdge(int id) {
+		return id < edgeRanges ? endEdges.get(id) : 0;
+	}
+	
+	
+	/**
+	 * Methode, die für jede Stelle die größte Anzahl von Marken unter allen<br>
+	 * gefundenen Markierungen liefert. Bei einem vollständigen Erreichbarkeitsgraphen<br>
+	 * bzw. einem Überdeckungsgraphen ist das die Schranke der Stelle, Stellen mit<br>
+	 * beliebig vielen Marken erhalten den Wert {@link Marking#OMEGA}.
+	 * 
+	 * @return größte Anzahl von Marken in der Reihenfolge der Stellen
+	 */
+	public int[] getPlaceBounds() {
+		final int[] bounds = new int[placeCount];
+		final int[] marking = new int[placeCount];
+		for(int id = 0; id < size(); id++) {
+			markings.get(id, marking);
+			for(int place = 0; place < placeCount; place++) {
+				bounds[place] = Math.max(bounds[place], marking[place]);
+			}
+		}
+		return bounds;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die IDs der minimalen Überdeckungsmenge liefert.<br>
+	 * Jede gefundene Markierung wird von einer dieser Markierungen überdeckt.
+	 * 
+	 * @return IDs in aufsteigender Reihenfolge oder null, falls die Menge nicht berechnet wurde
+	 * 
+	 * @see ExplorationMode#MINIMAL_COVERABILITY_SET
+	 */
+	public int[] getCoveringSet() {
+		return coveringSet;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Zusammenfassung des Bitstate-Hashings liefert.<br>
+	 * Das Ergebnis enthält dann nur den Pfad des Abbruchkriteriums bzw. die Startmarkierung.
+	 * 
+	 * @return Zusammenfassung oder null, falls exakt exploriert wurde
+	 * 
+	 * @see ExplorationMode#BIT_STATE
+	 */
+	public BitStateSummary getBitStateSummary() {
+		return bitStateSummary;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Zusammenfassung der Hash-Kompaktierung liefert.<br>
+	 * Das Ergebnis enthält dann nur den Pfad des Abbruchkriteriums bzw. die Startmarkierung.
+	 * 
+	 * @return Zusammenfassung oder null, falls keine Hash-Kompaktierung verwendet wurde
+	 * 
+	 * @see ExplorationMode#HASH_COMPACTION
+	 */
+	public HashCompactionSummary getHashCompactionSummary() {
+		return hashCompactionSummary;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls das Ergebnis approximativ ist und Markierungen ausgelassen worden sein können.
+	 * 
+	 * @return true bei Bitstate-Hashing und Hash-Kompaktierung
+	 */
+	public boolean isApproximate() {
+		return bitStateSummary != null || hashCompactionSummary != null;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls das Abbruchkriterium für unbeschränkte Petri-Netze erreicht wurde.
+	 * 
+	 * @return true, falls das Petri-Netz unbeschränkt ist
+	 */
+	public boolean isUnbounded() {
+		return secondOmegaMarking >= 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Stellen einer Markierung liefert.
+	 * 
+	 * @return Anzahl der Stellen
+	 */
+	public int getPlaceCount() {
+		return placeCount;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Markierungen liefert, mit denen die Exploration<br>
+	 * aus einem gespeicherten Zwischenstand fortgesetzt wurde.
+	 * 
+	 * @return Anzahl der gelesenen Markierungen, 0 falls die Exploration neu begonnen wurde
+	 * 
+	 * @see ExplorationSettings#setCheckpointDirectory(java.nio.file.Path)
+	 */
+	public int getResumedMarkings() {
+		return resumedMarkings;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls die Exploration vorzeitig beendet wurde.<br>
+	 * Ohne erreichtes Abbruchkriterium ist die Beschränktheit dann nicht entschieden,<br>
+	 * Anzahl der Markierungen und Kanten beschreiben den bis dahin aufgebauten Graphen.
+	 * 
+	 * @return true, falls abgebrochen oder eine Grenze der Exploration erreicht wurde
+	 */
+	public boolean isUndecided() {
+		return undecidedReason != null;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Grund liefert, aus dem die Exploration vorzeitig beendet wurde.
+	 * 
+	 * @return Grund des Abbruchs oder null, falls die Exploration vollständig ist
+	 */
+	public String getUndecidedReason() {
+		return undecidedReason;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die erste Markierung des Abbruchkriteriums liefert.
+	 * 
+	 * @return ID der Markierung oder -1
+	 */
+	public int getFirstOmegaMarking() {
+		return firstOmegaMarking;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die zweite Markierung des Abbruchkriteriums liefert.
+	 * 
+	 * @return ID der Markierung oder -1
+	 */
+	public int getSecondOmegaMarking() {
+		return secondOmegaMarking;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die bei der Verklemmungssuche gefundene Markierung liefert.
+	 * 
+	 * @return ID der Markierung ohne aktivierte Transition oder -1
+	 * 
+	 * @see ExplorationMode#DEADLOCK
+	 */
+	public int getDeadlock() {
+		return deadlock;
+	}
+	
+	
+	/**
+	 * Methode, die einen kürzesten Pfad von der Startmarkierung zur übergebenen<br>
+	 * Markierung liefert. Gesucht wird mit einer Breitensuche über die Kanten der<br>
+	 * bereits verarbeiteten Markierungen, die Länge ist daher nur innerhalb der<br>
+	 * explorierten Markierungen minimal. Bei der Tiefensuche kann der Pfad so<br>
+	 * deutlich kürzer als der Stapel sein, über den die Markierung gefunden wurde.
+	 * 
+	 * @param id ID der Zielmarkierung
+	 * 
+	 * @return Positionen der Kanten in der Reihenfolge des Schaltens
+	 */
+	public int[] getShortestPath(int id) {
+		//Position der Kante, über die eine Markierung zuerst erreicht wurde, -1 falls unbesucht
+		final int[] parentEdges = new int[size()];
+		Arrays.fill(parentEdges, -1);
+		final int[] queue = new int[size()];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = 0;
+		while(head < tail && parentEdges[id] < 0 && id != 0) {
+			final int node = queue[head++];
+			for(int edge = getFirstEdge(node); edge < getEndEdge(node); edge++) {
+				final int target = edgeTargets.get(edge);
+				if(target != 0 && parentEdges[target] < 0) {
+					parentEdges[target] = edge;
+					queue[tail++] = target;
+				}
+			}
+		}
+		
+		//Pfad vom Ziel rückwärts über die gespeicherten Kanten
+		int length = 0;
+		for(int node = id; node != 0; node = edgeSources.get(parentEdges[node])) {
+			length++;
+		}
+		final int[] path = new int[length];
+		for(int node = id, idx = length - 1; idx >= 0; node = edgeSources.get(parentEdges[node]), idx--) {
+			path[idx] = parentEdges[node];
+		}
+		return path;
+	}
+	
+	
+	/**
+	 * Gibt den Speicher der Markierungen und Kanten frei.<br>
+	 * Das Ergebnis darf danach nicht mehr verwendet werden.
+	 */
+	public void release() {
+		markings.release();
+		edgeSources.release();
+		edgeTransitions.release();
+		edgeTargets.release();
+		parents.release();
+		parentTransitions.release();
+		firstEdges.release();
+		endEdges.release();
+	}
+}
@@ -0,0 +1,18 @@
+package petrinets.analysis;
+
+/**
+ * Suchstrategien, mit denen der Erreichbarkeitsgraph exploriert werden kann.
+ * <ul>
+ * <li> <Strong>BREADTH_FIRST</Strong> - Breitensuche auf einem Thread
+ * <li> <Strong>PARALLEL_BREADTH_FIRST</Strong> - Breitensuche Ebene für Ebene auf mehreren Threads
+ * <li> <Strong>DEPTH_FIRST</Strong> - Tiefensuche, das Abbruchkriterium wird gegen den Stapel geprüft
+ * </ul>
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ReachabilityExplorer
+ * @see ExplorationSettings
+ */
+public enum SearchStrategy {
+	BREADTH_FIRST, PARALLEL_BREADTH_FIRST, DEPTH_FIRST
+}
@@ -0,0 +1,184 @@
+package petrinets.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diese Klasse liefert die Speicherblöcke für Arrays außerhalb des Heaps.<br>
+ * Je nach {@link StorageBackend} werden die Blöcke direkt außerhalb des Heaps<br>
+ * angelegt oder aus einer temporären Datei in den Speicher eingeblendet.<br>
+ * Neue Blöcke sind immer mit Nullen gefüllt.<p>
+ * 
+ * Die Blöcke werden bei {@link #release()} sofort freigegeben bzw. ausgeblendet und<br>
+ * die temporäre Datei gelöscht, ohne auf die Speicherbereinigung zu warten. Ist das in<br>
+ * der laufenden JVM nicht möglich, gibt erst die Speicherbereinigung die Blöcke frei.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see StorageBackend
+ *
+ */
+final class SegmentAllocator {
+	
+	//Methode, die einen Block außerhalb des Heaps sofort freigibt, und das Objekt,
+	//auf dem sie aufgerufen wird, null falls die JVM keine solche Methode bietet
+	private static final Method CLEANER;
+	private static final Object CLEANER_TARGET;
+	
+	static {
+		Method cleaner = null;
+		Object target = null;
+		try {
+			//ab Java 9 über sun.misc.Unsafe
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			target = field.get(null);
+			cleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			//bis Java 8 über den Cleaner des Blockes, siehe free
+			target = null;
+			cleaner = null;
+		}
+		CLEANER = cleaner;
+		CLEANER_TARGET = target;
+	}
+	
+	//Art des Speichers
+	private final StorageBackend backend;
+	
+	//alle gelieferten und noch nicht freigegebenen Blöcke
+	private final List<ByteBuffer> blocks = new ArrayList<>();
+	
+	//temporäre Datei für eingeblendeten Speicher, wird beim ersten Block angelegt
+	private File file;
+	private RandomAccessFile randomAccessFile;
+	
+	//Position des nächsten Blockes in der Datei
+	private long position;
+	
+	
+	/**
+	 * Konstruktor für einen Allokator des übergebenen Speichers.
+	 * 
+	 * @param backend {@link StorageBackend#OFF_HEAP} oder {@link StorageBackend#MEMORY_MAPPED}
+	 */
+	SegmentAllocator(StorageBackend backend) {
+		this.backend = backend;
+	}
+	
+	
+	/**
+	 * Liefert einen neuen, mit Nullen gefüllten Speicherblock.
+	 * 
+	 * @param bytes Größe des Blockes
+	 * 
+	 * @return Speicherblock in nativer Byte-Reihenfolge
+	 * 
+	 * @throws UncheckedIOException falls die temporäre Datei nicht angelegt oder vergrößert werden kann
+	 */
+	ByteBuffer allocate(int bytes) {
+		final ByteBuffer block = backend == StorageBackend.OFF_HEAP
+				? ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder()) : map(position, bytes);
+		position += bytes;
+		blocks.add(block);
+		return block;
+	}
+	
+	
+	/**
+	 * Vergrößert den zuletzt gelieferten Block, sein Inhalt bleibt erhalten.<br>
+	 * Der alte Block wird freigegeben und darf danach nicht mehr verwendet werden.<br>
+	 * Eingeblendeter Speicher wird an derselben Stelle der Datei größer eingeblendet,<br>
+	 * außerhalb des Heaps wird der Inhalt in einen neuen Block kopiert.
+	 * 
+	 * @param block zuletzt gelieferter Block
+	 * @param bytes neue Größe des Blockes, nicht kleiner als die bisherige
+	 * 
+	 * @return vergrößerter Block in nativer Byte-Reihenfolge
+	 * 
+	 * @throws IllegalArgumentException falls der Block nicht der zuletzt gelieferte ist
+	 * @throws UncheckedIOException falls die temporäre Datei nicht vergrößert werden kann
+	 */
+	ByteBuffer grow(ByteBuffer block, int bytes) {
+		if(blocks.isEmpty() || blocks.get(blocks.size() - 1) != block) {
+			throw new IllegalArgumentException("Nur der zuletzt gelieferte Block kann vergrößert werden.");
+		}
+		final long start = position - block.capacity();
+		final ByteBuffer grown;
+		if(backend == StorageBackend.OFF_HEAP) {
+			grown = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+			grown.put((ByteBuffer)block.duplicate().clear());
+			grown.clear();
+		} else {
+			grown = map(start, bytes);
+		}
+		free(block);
+		position = start + bytes;
+		blocks.set(blocks.size() - 1, grown);
+		return grown;
+	}
+	
+	
+	/**
+	 * Gibt alle gelieferten Blöcke und die temporäre Datei frei.<br>
+	 * Die gelieferten Blöcke dürfen danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		for(ByteBuffer block : blocks) {
+			free(block);
+		}
+		blocks.clear();
+		position = 0;
+		if(randomAccessFile != null) {
+			try {
+				randomAccessFile.close();
+			} catch (IOException ignore) {}
+			file.delete();
+			randomAccessFile = null;
+		}
+	}
+	
+	
+	//blendet einen Bereich der temporären Datei ein, die Datei wird
+	//beim ersten Aufruf angelegt und beim Einblenden über ihr Ende hinaus vergrößert
+	private ByteBuffer map(long start, int bytes) {
+		try {
+			if(randomAccessFile == null) {
+				file = File.createTempFile("petrinets", ".states");
+				file.deleteOnExit();
+				randomAccessFile = new RandomAccessFile(file, "rw");
+			}
+			return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, start, bytes).order(ByteOrder.nativeOrder());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	//gibt einen Block außerhalb des Heaps sofort frei bzw. blendet ihn aus,
+	//schlägt das fehl, bleibt die Freigabe der Speicherbereinigung überlassen
+	private static void free(ByteBuffer block) {
+		try {
+			if(CLEANER != null) {
+				CLEANER.invoke(CLEANER_TARGET, block);
+			} else {
+				final Method cleanerMethod = block.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				final Object cleaner = cleanerMethod.invoke(block);
+				if(cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		} catch (ReflectiveOperationException | RuntimeException ignore) {}
+	}
+}
@@ -0,0 +1,124 @@
+package petrinets.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Diese Klasse repräsentiert den Speicher eines wachsenden Arrays in Blöcken außerhalb des Heaps.<br>
+ * Die Einträge haben eine feste Größe in Bytes, gelesen und geschrieben werden sie von<br>
+ * {@link IntArray} und {@link LongArray} über {@link #segment(long)} und {@link #position(long)}.<p>
+ * 
+ * Der erste Block wächst durch Verdoppeln bis zur Größe eines Blockes, so dass kleine Arrays<br>
+ * wenig belegen. Danach werden ganze Blöcke angehängt, die beim Wachsen nicht kopiert werden.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see SegmentAllocator
+ *
+ */
+final class SegmentedMemory {
+	
+	//Anzahl der Einträge pro Block als Zweierpotenz
+	private static final int SEGMENT_SHIFT = 20;
+	
+	//Anzahl der Einträge des ersten Blockes als Zweierpotenz
+	private static final int INITIAL_SHIFT = 10;
+	
+	private final SegmentAllocator allocator;
+	
+	//Größe eines Eintrags in Bytes als Zweierpotenz
+	private final int entryShift;
+	
+	//Blöcke und Anzahl der Einträge des ersten Blockes, solange er der einzige ist
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private int firstEntries;
+	
+	
+	/**
+	 * Konstruktor für einen leeren Speicher.
+	 * 
+	 * @param backend {@link StorageBackend#OFF_HEAP} oder {@link StorageBackend#MEMORY_MAPPED}
+	 * @param entryBytes Größe eines Eintrags in Bytes, eine Zweierpotenz
+	 */
+	SegmentedMemory(StorageBackend backend, int entryBytes) {
+		this.allocator = new SegmentAllocator(backend);
+		this.entryShift = Integer.numberOfTrailingZeros(entryBytes);
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Block mit dem Eintrag an der übergebenen Position liefert.
+	 * 
+	 * @param index Position im Array
+	 * 
+	 * @return Block des Eintrags
+	 */
+	ByteBuffer segment(long index) {
+		return segments[(int)(index >>> SEGMENT_SHIFT)];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Position des Eintrags in seinem Block in Bytes liefert.
+	 * 
+	 * @param index Position im Array
+	 * 
+	 * @return Position im Block
+	 */
+	int position(long index) {
+		return ((int)index & ((1 << SEGMENT_SHIFT) - 1)) << entryShift;
+	}
+	
+	
+	/**
+	 * Vergrößert den Speicher, so dass er mindestens die übergebene Anzahl von Einträgen hat.
+	 * 
+	 * @param capacity benötigte Anzahl von Einträgen
+	 */
+	void ensureCapacity(long capacity) {
+		if(capacity <= capacity()) {
+			return;
+		}
+		//der erste Block wird verdoppelt, bis er die Größe eines Blockes hat
+		if(firstEntries < 1 << SEGMENT_SHIFT) {
+			int entries = Math.max(firstEntries, 1 << INITIAL_SHIFT);
+			while(entries < capacity && entries < 1 << SEGMENT_SHIFT) {
+				entries <<= 1;
+			}
+			segments = new ByteBuffer[] {segments.length == 0
+					? allocator.allocate(entries << entryShift) : allocator.grow(segments[0], entries << entryShift)};
+			firstEntries = entries;
+			if(capacity <= entries) {
+				return;
+			}
+		}
+		final int needed = (int)((capacity + (1 << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT);
+		if(needed > segments.length) {
+			final int old = segments.length;
+			segments = Arrays.copyOf(segments, needed);
+			for(int i = old; i < needed; i++) {
+				segments[i] = allocator.allocate(1 << (SEGMENT_SHIFT + entryShift));
+			}
+		}
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der reservierten Einträge liefert.
+	 * 
+	 * @return Anzahl der Einträge, die ohne Vergrößern Platz haben
+	 */
+	long capacity() {
+		return segments.length < 2 ? firstEntries : (long)segments.length << SEGMENT_SHIFT;
+	}
+	
+	
+	/**
+	 * Gibt alle Blöcke frei. Sie dürfen danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		segments = new ByteBuffer[0];
+		firstEntries = 0;
+		allocator.release();
+	}
+}
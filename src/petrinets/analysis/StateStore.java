@@ -0,0 +1,344 @@
+package petrinets.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse speichert die bei der Exploration gefundenen Markierungen.<br>
+ * Jede Markierung erhält beim Einfügen eine fortlaufende ID, über einen<br>
+ * Index kann zu einer Markierung in konstanter Zeit die ID gefunden werden.<p>
+ *
+ * Die Markierungen werden ohne ein Objekt pro Markierung gespeichert. Die Marken<br>
+ * jeder Stelle werden mit einer festen Anzahl von Bits in einen gemeinsamen<br>
+ * long-Array gepackt. Die Anzahl der Bits richtet sich nach der größten bisher<br>
+ * gefundenen Anzahl von Marken, reicht sie nicht mehr aus, werden alle Markierungen<br>
+ * neu gepackt. Der Index ist eine Hashtabelle mit offener Adressierung über die IDs.<p>
+ * 
+ * Alle Arrays liegen im eingestellten {@link StorageBackend}, so dass die Anzahl<br>
+ * der Markierungen auch außerhalb des Heaps bzw. durch die Festplatte begrenzt sein kann.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityExplorer
+ * @see StorageBackend
+ *
+ */
+final class StateStore {
+	
+	//Eintrag für einen freien Platz der Hashtabelle, IDs werden um eins erhöht eingetragen,
+	//so dass neue Tabellen in jedem Speicher bereits leer sind
+	private static final int EMPTY = 0;
+	
+	//maximaler Füllgrad der Hashtabelle in Prozent
+	private static final int LOAD_FACTOR = 75;
+	
+	//Anzahl der Stellen einer Markierung
+	private final int placeCount;
+	
+	//Speicher der Arrays
+	private final StorageBackend backend;
+	
+	//Bits pro Stelle, Anzahl der Stellen pro long und Anzahl der longs pro Markierung
+	private int bits;
+	private int valuesPerWord;
+	private int wordsPerState;
+	
+	//gepackte Markierungen in der Reihenfolge ihrer ID
+	private LongArray arena;
+	
+	//Hashwert jeder Markierung, um beim Vergrößern der Tabelle nicht entpacken zu müssen
+	private final IntArray hashes;
+	
+	//Hashtabelle mit offener Adressierung, enthält die IDs der Markierungen
+	private IntArray table;
+	private int tableCapacity = 64;
+	
+	//Anzahl der Markierungen
+	private int size;
+	
+	
+	/**
+	 * Konstruktor für einen leeren Speicher.
+	 *
+	 * @param placeCount Anzahl der Stellen einer Markierung
+	 * @param backend Speicher der Arrays
+	 */
+	StateStore(int placeCount, StorageBackend backend) {
+		this.placeCount = placeCount;
+		this.backend = backend;
+		setBits(1);
+		arena = LongArray.create(backend);
+		hashes = IntArray.create(backend);
+		table = newTable(tableCapacity);
+	}
+	
+	
+	/**
+	 * Fügt eine noch nicht enthaltene Markierung ein.
+	 *
+	 * @param marking einzufügende Markierung
+	 *
+	 * @return ID der Markierung
+	 */
+	int add(int[] marking) {
+		//Bits pro Stelle werden bei Bedarf vergrößert
+		final int needed = bitsFor(marking);
+		if(needed > bits) {
+			repack(Math.min(32, Math.max(needed, bits * 2)));
+		}
+		
+		final int id = size;
+		hashes.ensureCapacity(id + 1L);
+		arena.ensureCapacity((id + 1L) * wordsPerState);
+		pack(marking, arena, (long)id * wordsPerState);
+		hashes.set(id, hash(marking));
+		
+		//Hashtabelle wird vor dem Einfügen bei Bedarf vergrößert
+		if((id + 1) * 100L > tableCapacity * (long)LOAD_FACTOR) {
+			rehash(tableCapacity * 2);
+		}
+		insert(id);
+		size++;
+		return id;
+	}
+	
+	
+	/**
+	 * Liefert die ID der übergebenen Markierung.<br>
+	 * Darf von mehreren Threads gleichzeitig aufgerufen werden, solange nicht eingefügt wird.
+	 *
+	 * @param marking zu suchende Markierung
+	 *
+	 * @return ID der Markierung oder -1, falls sie nicht enthalten ist
+	 */
+	int indexOf(int[] marking) {
+		//Markierung passt nicht in die aktuelle Anzahl von Bits
+		if(bitsFor(marking) > bits) {
+			return -1;
+		}
+		final int hash = hash(marking);
+		final int mask = tableCapacity - 1;
+		for(int slot = mix(hash) & mask; table.get(slot) != EMPTY; slot = (slot + 1) & mask) {
+			final int id = table.get(slot) - 1;
+			if(hashes.get(id) == hash && equalsPacked(id, marking)) {
+				return id;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Markierung mit der übergebenen ID liefert.
+	 *
+	 * @param id ID der Markierung
+	 *
+	 * @return neuer Array mit der entpackten Markierung
+	 */
+	int[] get(int id) {
+		return get(id, new int[placeCount]);
+	}
+	
+	
+	/**
+	 * Entpackt die Markierung mit der übergebenen ID in den übergebenen Array.
+	 *
+	 * @param id ID der Markierung
+	 * @param marking Array mit mindestens einem Eintrag pro Stelle
+	 *
+	 * @return der übergebene Array
+	 */
+	int[] get(int id, int[] marking) {
+		unpack(arena, (long)id * wordsPerState, bits, valuesPerWord, marking);
+		return marking;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Markierungen liefert.
+	 *
+	 * @return Anzahl der Markierungen
+	 */
+	int size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den belegten Speicher der Markierungen und der Hashtabelle liefert.
+	 *
+	 * @return belegter Speicher in Bytes
+	 */
+	long memoryUsage() {
+		return arena.capacity() * Long.BYTES + (hashes.capacity() + table.capacity()) * Integer.BYTES;
+	}
+	
+	
+	/**
+	 * Gibt den Speicher der Markierungen frei. Der Speicher darf danach nicht mehr verwendet werden.
+	 */
+	void release() {
+		arena.release();
+		hashes.release();
+		table.release();
+	}
+	
+	
+	//vergleicht die gepackte Markierung mit der ID mit der übergebenen Markierung
+	private boolean equalsPacked(int id, int[] marking) {
+		final long mask = valueMask();
+		long base = (long)id * wordsPerState;
+		int place = 0;
+		while(place < placeCount) {
+			long word = arena.get(base++);
+			for(int i = 0; i < valuesPerWord && place < placeCount; i++) {
+				if((int)(word & mask) != marking[place++]) {
+					return false;
+				}
+				word >>>= bits;
+			}
+		}
+		return true;
+	}
+	
+	
+	//packt die Markierung ab der übergebenen Position in den Array
+	private void pack(int[] marking, LongArray target, long base) {
+		int place = 0;
+		while(place < placeCount) {
+			long word = 0;
+			for(int i = 0; i < valuesPerWord && place < placeCount; i++) {
+				word |= (long)marking[place++] << (i * bits);
+			}
+			target.set(base++, word);
+		}
+	}
+	
+	
+	//entpackt eine Markierung, die mit den übergebenen Einstellungen gepackt wurde
+	private void unpack(LongArray source, long base, int bits, int valuesPerWord, int[] marking) {
+		final long mask = (1L << bits) - 1;
+		int place = 0;
+		while(place < placeCount) {
+			long word = source.get(base++);
+			for(int i = 0; i < valuesPerWord && place < placeCount; i++) {
+				marking[place++] = (int)(word & mask);
+				word >>>= bits;
+			}
+		}
+	}
+	
+	
+	//packt alle Markierungen mit einer neuen Anzahl von Bits pro Stelle
+	private void repack(int newBits) {
+		final int[] marking = new int[placeCount];
+		final int oldBits = bits;
+		final int oldValuesPerWord = valuesPerWord;
+		final int oldWordsPerState = wordsPerState;
+		final LongArray oldArena = arena;
+		
+		//jede Markierung wird mit den alten Einstellungen entpackt
+		//und mit den neuen Einstellungen gepackt
+		setBits(newBits);
+		arena = LongArray.create(backend);
+		arena.ensureCapacity((long)size * wordsPerState);
+		for(int id = 0; id < size; id++) {
+			unpack(oldArena, (long)id * oldWordsPerState, oldBits, oldValuesPerWord, marking);
+			pack(marking, arena, (long)id * wordsPerState);
+		}
+		oldArena.release();
+	}
+	
+	
+	//vergrößert die Hashtabelle und fügt alle IDs neu ein
+	private void rehash(int capacity) {
+		table.release();
+		tableCapacity = capacity;
+		table = newTable(capacity);
+		for(int id = 0; id < size; id++) {
+			insert(id);
+		}
+	}
+	
+	
+	//fügt die ID an der ersten freien Position ihres Hashwertes ein
+	private void insert(int id) {
+		final int mask = tableCapacity - 1;
+		int slot = mix(hashes.get(id)) & mask;
+		while(table.get(slot) != EMPTY) {
+			slot = (slot + 1) & mask;
+		}
+		table.set(slot, id + 1);
+	}
+	
+	
+	//setzt die Anzahl der Bits pro Stelle und die daraus folgenden Größen
+	private void setBits(int bits) {
+		this.bits = bits;
+		this.valuesPerWord = 64 / bits;
+		this.wordsPerState = Math.max(1, (placeCount + valuesPerWord - 1) / valuesPerWord);
+	}
+	
+	
+	//Maske für den Wert einer Stelle
+	private long valueMask() {
+		return (1L << bits) - 1;
+	}
+	
+	
+	//Anzahl der Bits, die die größte Anzahl von Marken der Markierung benötigt
+	private static int bitsFor(int[] marking) {
+		int max = 0;
+		for(int value : marking) {
+			max |= value;
+		}
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(max));
+	}
+	
+	
+	//Hashwert aus dem Inhalt der Markierung
+	private static int hash(int[] marking) {
+		return Arrays.hashCode(marking);
+	}
+	
+	
+	//verteilt die Bits des Hashwertes, da lineares Sondieren
+	//empfindlich auf schlecht verteilte Hashwerte reagiert
+	private static int mix(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	
+	//erzeugt eine leere Hashtabelle
+	private IntArray newTable(int capacity) {
+		final IntArray table = IntArray.create(backend);
+		table.ensureCapacity(capacity);
+		return table;
+	}
+	
+	
+	/**
+	 * Schlüssel für einen Index von Markierungen,<br>
+	 * vergleicht Markierungen anhand ihres Inhaltes.
+	 */
+	static final class Key {
+		
+		private final int[] marking;
+		private final int hash;
+		
+		Key(int[] marking) {
+			this.marking = marking;
+			this.hash = Arrays.hashCode(marking);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && Arrays.equals(marking, ((Key)obj).marking);
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package petrinets.analysis;
+
+/**
+ * Speicher, in dem die Markierungen und Kanten der Exploration abgelegt werden.
+ * <ul>
+ * <li> <Strong>HEAP</Strong> - primitive Arrays im Heap der JVM
+ * <li> <Strong>OFF_HEAP</Strong> - Speicher außerhalb des Heaps, nicht durch <code>-Xmx</code> begrenzt
+ * <li> <Strong>MEMORY_MAPPED</Strong> - temporäre Dateien, die in den Speicher eingeblendet werden,<br>
+ * 		die Größe ist nur durch den Platz auf der Festplatte begrenzt
+ * </ul>
+ * 
+ * @author Michael Assmair
+ * 
+ * @see ExplorationSettings
+ */
+public enum StorageBackend {
+	HEAP, OFF_HEAP, MEMORY_MAPPED
+}
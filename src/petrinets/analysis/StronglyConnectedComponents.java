@@ -0,0 +1,331 @@
+package petrinets.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse zerlegt einen vollständigen Erreichbarkeitsgraphen in seine starken<br>
+ * Zusammenhangskomponenten und leitet daraus Verklemmungen, die Lebendigkeit jeder<br>
+ * Transition, die Reversibilität und die Home-Markierungen ab.<p>
+ *
+ * Die Zerlegung erfolgt mit dem Algorithmus von Tarjan, iterativ mit einem eigenen<br>
+ * Stapel in primitiven Arrays, so dass auch tiefe Graphen keinen Überlauf des<br>
+ * Aufrufstapels verursachen. Eine Komponente ist terminal, wenn keine Kante sie verlässt.<p>
+ *
+ * Die Stufen der Lebendigkeit einer Transition sind
+ * <ul>
+ * <li> <Strong>0</Strong> - tot, die Transition kann nie schalten
+ * <li> <Strong>1</Strong> - die Transition kann mindestens einmal schalten
+ * <li> <Strong>3</Strong> - die Transition liegt auf einem Kreis und kann beliebig oft schalten,<br>
+ * in einem endlichen Graphen fallen die Stufen 2 und 3 zusammen
+ * <li> <Strong>4</Strong> - lebendig, die Transition liegt in jeder terminalen Komponente<br>
+ * und kann daher von jeder erreichbaren Markierung aus wieder schalten
+ * </ul>
+ *
+ * Die Ergebnisse gelten nur für den vollständigen Erreichbarkeitsgraphen eines<br>
+ * beschränkten Petri-Netzes, nicht für einen reduzierten oder abgebrochenen Graphen.<br>
+ * Zerlegt wird direkt das Ergebnis der Exploration, so dass der Markierungsgraph<br>
+ * dafür nicht vollständig aufgebaut werden muss.
+ *
+ * @author Michael Assmair
+ *
+ * @see ReachabilityResult
+ *
+ */
+public final class StronglyConnectedComponents {
+	
+	/**
+	 * Stufe der Lebendigkeit einer toten Transition.
+	 */
+	public static final int DEAD = 0;
+	
+	/**
+	 * Stufe der Lebendigkeit einer lebendigen Transition.
+	 */
+	public static final int LIVE = 4;
+	
+	//Komponente jeder Markierung, in der Reihenfolge, in der Tarjan sie abschließt
+	private final int[] components;
+	private final int componentCount;
+	
+	//Anzahl der terminalen Komponenten
+	private final int terminalCount;
+	
+	//IDs der Markierungen ohne ausgehende Kante
+	private final int[] deadlocks;
+	
+	//Stufe der Lebendigkeit jeder Transition in der Reihenfolge des CompiledNet
+	private final int[] liveness;
+	
+	//Markierungen der einzigen terminalen Komponente, leer falls es mehrere gibt
+	private final int[] homeMarkings;
+	
+	
+	//Konstruktor übernimmt das Ergebnis der Berechnung
+	private StronglyConnectedComponents(int[] components, int componentCount, int terminalCount,
+			int[] deadlocks, int[] liveness, int[] homeMarkings) {
+		this.components = components;
+		this.componentCount = componentCount;
+		this.terminalCount = terminalCount;
+		this.deadlocks = deadlocks;
+		this.liveness = liveness;
+		this.homeMarkings = homeMarkings;
+	}
+	
+	
+	/**
+	 * Methode, die den Erreichbarkeitsgraphen der übergebenen Exploration zerlegt und auswertet.
+	 *
+	 * @param result Ergebnis einer vollständigen Exploration des Erreichbarkeitsgraphen
+	 * @param net kompiliertes Petri-Netz, liefert die Anzahl der Transitionen
+	 *
+	 * @return Ergebnis der Zerlegung
+	 */
+	public static StronglyConnectedComponents compute(ReachabilityResult result, CompiledNet net) {
+		final int size = result.size();
+		final int[] components = new int[size];
+		final int componentCount = decompose(result, components);
+		
+		//eine Komponente ist nicht terminal, wenn eine Kante sie verlässt
+		final boolean[] terminal = new boolean[componentCount];
+		Arrays.fill(terminal, true);
+		for(int edge = 0; edge < result.getEdgeCount(); edge++) {
+			final int component = components[result.getEdgeSource(edge)];
+			if(component != components[result.getEdgeTarget(edge)]) {
+				terminal[component] = false;
+			}
+		}
+		int terminalCount = 0;
+		int lastTerminal = -1;
+		for(int component = 0; component < componentCount; component++) {
+			if(terminal[component]) {
+				terminalCount++;
+				lastTerminal = component;
+			}
+		}
+		
+		//Markierungen nach Komponenten sortiert, durch Zählen
+		final int[] offsets = new int[componentCount + 1];
+		for(int id = 0; id < size; id++) {
+			offsets[components[id] + 1]++;
+		}
+		for(int component = 0; component < componentCount; component++) {
+			offsets[component + 1] += offsets[component];
+		}
+		final int[] sorted = new int[size];
+		final int[] next = Arrays.copyOf(offsets, componentCount);
+		for(int id = 0; id < size; id++) {
+			sorted[next[components[id]]++] = id;
+		}
+		
+		//für jede Transition, ob sie schaltet, ob sie auf einem Kreis liegt
+		//und in wie vielen terminalen Komponenten sie schaltet
+		final int transitionCount = net.getTransitionCount();
+		final boolean[] fired = new boolean[transitionCount];
+		final boolean[] cyclic = new boolean[transitionCount];
+		final int[] terminalHits = new int[transitionCount];
+		final int[] lastComponent = new int[transitionCount];
+		Arrays.fill(lastComponent, -1);
+		int deadlockCount = 0;
+		for(int component = 0; component < componentCount; component++) {
+			for(int pos = offsets[component]; pos < offsets[component + 1]; pos++) {
+				final int id = sorted[pos];
+				if(result.getFirstEdge(id) == result.getEndEdge(id)) {
+					deadlockCount++;
+				}
+				for(int edge = result.getFirstEdge(id); edge < result.getEndEdge(id); edge++) {
+					final int transition = result.getEdgeTransition(edge);
+					fired[transition] = true;
+					if(components[result.getEdgeTarget(edge)] == component) {
+						cyclic[transition] = true;
+						if(terminal[component] && lastComponent[transition] != component) {
+							lastComponent[transition] = component;
+							terminalHits[transition]++;
+						}
+					}
+				}
+			}
+		}
+		
+		final int[] liveness = new int[transitionCount];
+		for(int transition = 0; transition < transitionCount; transition++) {
+			liveness[transition] = terminalHits[transition] == terminalCount ? LIVE
+					: cyclic[transition] ? 3 : fired[transition] ? 1 : DEAD;
+		}
+		
+		final int[] deadlocks = new int[deadlockCount];
+		for(int id = 0, idx = 0; id < size; id++) {
+			if(result.getFirstEdge(id) == result.getEndEdge(id)) {
+				deadlocks[idx++] = id;
+			}
+		}
+		
+		//Home-Markierungen gibt es nur bei genau einer terminalen Komponente
+		final int[] homeMarkings = terminalCount == 1
+				? Arrays.copyOfRange(sorted, offsets[lastTerminal], offsets[lastTerminal + 1]) : new int[0];
+		Arrays.sort(homeMarkings);
+		return new StronglyConnectedComponents(components, componentCount, terminalCount, deadlocks, liveness, homeMarkings);
+	}
+	
+	
+	//iterativer Algorithmus von Tarjan, schreibt die Komponente jeder Markierung
+	//in den übergebenen Array und liefert die Anzahl der Komponenten
+	private static int decompose(ReachabilityResult result, int[] components) {
+		final int size = result.size();
+		
+		//Entdeckungsindex und kleinster erreichbarer Index auf dem Stapel, -1 falls unbesucht
+		final int[] index = new int[size];
+		final int[] lowLink = new int[size];
+		Arrays.fill(index, -1);
+		
+		//Stapel der Markierungen der offenen Komponenten
+		final int[] stack = new int[size];
+		final boolean[] onStack = new boolean[size];
+		int stackSize = 0;
+		
+		//Aufrufstapel mit Markierung und Position der nächsten ausgehenden Kante im Ergebnis
+		final int[] callNodes = new int[size];
+		final int[] callEdges = new int[size];
+		int depth = 0;
+		
+		int counter = 0;
+		int componentCount = 0;
+		for(int root = 0; root < size; root++) {
+			if(index[root] >= 0) {
+				continue;
+			}
+			index[root] = lowLink[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			callNodes[depth] = root;
+			callEdges[depth++] = result.getFirstEdge(root);
+			
+			while(depth > 0) {
+				final int node = callNodes[depth - 1];
+				
+				//nächste ausgehende Kante, unbesuchte Ziele werden wie ein rekursiver Aufruf betreten
+				if(callEdges[depth - 1] < result.getEndEdge(node)) {
+					final int target = result.getEdgeTarget(callEdges[depth - 1]++);
+					if(index[target] < 0) {
+						index[target] = lowLink[target] = counter++;
+						stack[stackSize++] = target;
+						onStack[target] = true;
+						callNodes[depth] = target;
+						callEdges[depth++] = result.getFirstEdge(target);
+					} else if(onStack[target]) {
+						lowLink[node] = Math.min(lowLink[node], index[target]);
+					}
+					continue;
+				}
+				
+				//alle Kanten verarbeitet, die Markierung ist die Wurzel einer Komponente
+				//oder gibt ihren kleinsten Index an den Aufrufer weiter
+				depth--;
+				if(lowLink[node] == index[node]) {
+					int member;
+					do {
+						member = stack[--stackSize];
+						onStack[member] = false;
+						components[member] = componentCount;
+					} while(member != node);
+					componentCount++;
+				}
+				if(depth > 0) {
+					final int caller = callNodes[depth - 1];
+					lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+				}
+			}
+		}
+		return componentCount;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der starken Zusammenhangskomponenten liefert.
+	 *
+	 * @return Anzahl der Komponenten
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Komponente einer Markierung liefert.
+	 *
+	 * @param id ID der Markierung
+	 *
+	 * @return Nummer der Komponente
+	 */
+	public int getComponent(int id) {
+		return components[id];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der terminalen Komponenten liefert.
+	 *
+	 * @return Anzahl der Komponenten, die keine Kante verlässt
+	 */
+	public int getTerminalCount() {
+		return terminalCount;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Markierungen liefert, in denen keine Transition aktiviert ist.
+	 *
+	 * @return IDs der Markierungen in aufsteigender Reihenfolge
+	 */
+	public int[] getDeadlocks() {
+		return deadlocks;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Stufe der Lebendigkeit einer Transition liefert.
+	 *
+	 * @param transition Index der Transition im {@link CompiledNet}
+	 *
+	 * @return Stufe 0, 1, 3 oder 4
+	 */
+	public int getLiveness(int transition) {
+		return liveness[transition];
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls jede Transition lebendig ist.
+	 *
+	 * @return true, falls das Petri-Netz lebendig ist
+	 */
+	public boolean isLive() {
+		for(int level : liveness) {
+			if(level != LIVE) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls die Startmarkierung von jeder Markierung aus erreichbar ist.<br>
+	 * Das ist der Fall, wenn sie in der einzigen terminalen Komponente liegt.
+	 *
+	 * @return true, falls das Petri-Netz reversibel ist
+	 */
+	public boolean isReversible() {
+		return terminalCount == 1 && homeMarkings.length > 0 && homeMarkings[0] == 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Markierungen liefert, die von jeder Markierung aus erreichbar sind.<br>
+	 * Das sind die Markierungen der einzigen terminalen Komponente.
+	 *
+	 * @return IDs der Markierungen in aufsteigender Reihenfolge, leer falls es mehrere terminale Komponenten gibt
+	 */
+	public int[] getHomeMarkings() {
+		return homeMarkings;
+	}
+}
@@ -0,0 +1,292 @@
+package petrinets.analysis;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Diese Klasse prüft ein Petri-Netz auf strukturelle Beschränktheit.<br>
+ * Ein Petri-Netz ist strukturell beschränkt, falls es für jede Startmarkierung beschränkt ist.<br>
+ * Das ist genau dann nicht der Fall, wenn es einen steigenden T-Vektor gibt, also eine<br>
+ * nicht negative Anzahl von Schaltvorgängen x mit C·x &ge; 0 und C·x &ne; 0.<p>
+ *
+ * Gesucht wird mit einem Simplex-Verfahren in exakter rationaler Arithmetik über der<br>
+ * Inzidenzmatrix C des {@link CompiledNet}. Maximiert wird die Summe der Einträge von C·x<br>
+ * unter C·x &ge; 0, x &ge; 0 und einer Summe der Einträge von x von höchstens eins.<br>
+ * Ist das Optimum null, gibt es keinen steigenden T-Vektor. Gegen Zyklen bei<br>
+ * entarteten Ecken wird die Regel von Bland verwendet.<p>
+ *
+ * Ein steigender T-Vektor entscheidet die Beschränktheit nicht, da er von der Startmarkierung<br>
+ * aus nicht schaltbar sein muss. Er liefert aber die Stellen, die wachsen können.
+ *
+ * @author Michael Assmair
+ *
+ * @see CompiledNet
+ * @see PInvariants
+ *
+ */
+public final class StructuralBoundedness {
+	
+	//steigender T-Vektor mit ganzzahligen Einträgen, null falls strukturell beschränkt
+	private final int[] vector;
+	
+	//Stellen, deren Marken durch den T-Vektor wachsen
+	private final int[] growingPlaces;
+	
+	
+	//Konstruktor übernimmt das Ergebnis der Berechnung
+	private StructuralBoundedness(int[] vector, int[] growingPlaces) {
+		this.vector = vector;
+		this.growingPlaces = growingPlaces;
+	}
+	
+	
+	/**
+	 * Methode, die das übergebene Petri-Netz auf strukturelle Beschränktheit prüft.
+	 *
+	 * @param net kompiliertes Petri-Netz
+	 *
+	 * @return Ergebnis der Prüfung
+	 */
+	public static StructuralBoundedness compute(CompiledNet net) {
+		final int placeCount = net.getPlaceCount();
+		final int transitionCount = net.getTransitionCount();
+		
+		//Inzidenzmatrix, Zeile p enthält die Änderung der Marken von p pro Transition
+		final int[][] incidence = new int[placeCount][transitionCount];
+		for(int transition = 0; transition < transitionCount; transition++) {
+			for(int place : net.getPreviousPlaces(transition)) {
+				incidence[place][transition]--;
+			}
+			for(int place : net.getNextPlaces(transition)) {
+				incidence[place][transition]++;
+			}
+		}
+		
+		//Zeilen: -C·x <= 0 für jede Stelle und Summe von x <= 1
+		//Spalten: x, Schlupfvariablen, rechte Seite
+		final int rows = placeCount + 1;
+		final int columns = transitionCount + rows + 1;
+		final Rational[][] tableau = new Rational[rows + 1][columns];
+		for(Rational[] row : tableau) {
+			Arrays.fill(row, Rational.ZERO);
+		}
+		for(int place = 0; place < placeCount; place++) {
+			for(int transition = 0; transition < transitionCount; transition++) {
+				tableau[place][transition] = Rational.valueOf(-incidence[place][transition]);
+			}
+		}
+		for(int transition = 0; transition < transitionCount; transition++) {
+			tableau[placeCount][transition] = Rational.ONE;
+		}
+		for(int row = 0; row < rows; row++) {
+			tableau[row][transitionCount + row] = Rational.ONE;
+		}
+		tableau[placeCount][columns - 1] = Rational.ONE;
+		
+		//Zielfunktion in der letzten Zeile, Spaltensumme von C negiert
+		for(int transition = 0; transition < transitionCount; transition++) {
+			int sum = 0;
+			for(int place = 0; place < placeCount; place++) {
+				sum += incidence[place][transition];
+			}
+			tableau[rows][transition] = Rational.valueOf(-sum);
+		}
+		
+		//Startbasis sind die Schlupfvariablen, die rechte Seite ist nicht negativ
+		final int[] basis = new int[rows];
+		for(int row = 0; row < rows; row++) {
+			basis[row] = transitionCount + row;
+		}
+		solve(tableau, basis);
+		
+		//Optimum null, es gibt keinen steigenden T-Vektor
+		if(tableau[rows][columns - 1].signum() == 0) {
+			return new StructuralBoundedness(null, new int[0]);
+		}
+		
+		//Werte der Basisvariablen mit dem gemeinsamen Nenner erweitern
+		final Rational[] solution = new Rational[transitionCount];
+		Arrays.fill(solution, Rational.ZERO);
+		BigInteger lcm = BigInteger.ONE;
+		for(int row = 0; row < rows; row++) {
+			if(basis[row] < transitionCount) {
+				solution[basis[row]] = tableau[row][columns - 1];
+				final BigInteger den = tableau[row][columns - 1].den;
+				lcm = lcm.divide(lcm.gcd(den)).multiply(den);
+			}
+		}
+		final int[] vector = new int[transitionCount];
+		for(int transition = 0; transition < transitionCount; transition++) {
+			vector[transition] = solution[transition].num.multiply(lcm).divide(solution[transition].den).intValueExact();
+		}
+		
+		//Stellen mit positivem Eintrag in C·x
+		int count = 0;
+		final int[] growing = new int[placeCount];
+		for(int place = 0; place < placeCount; place++) {
+			long sum = 0;
+			for(int transition = 0; transition < transitionCount; transition++) {
+				sum += (long)incidence[place][transition] * vector[transition];
+			}
+			if(sum > 0) {
+				growing[count++] = place;
+			}
+		}
+		return new StructuralBoundedness(vector, Arrays.copyOf(growing, count));
+	}
+	
+	
+	//maximiert die Zielfunktion in der letzten Zeile des Tableaus, die Basis wird angepasst
+	private static void solve(Rational[][] tableau, int[] basis) {
+		final int objective = tableau.length - 1;
+		final int rhs = tableau[0].length - 1;
+		while(true) {
+			//Regel von Bland: eintretende Variable ist die kleinste mit negativen reduzierten Kosten
+			int column = -1;
+			for(int j = 0; j < rhs; j++) {
+				if(tableau[objective][j].signum() < 0) {
+					column = j;
+					break;
+				}
+			}
+			if(column < 0) {
+				return;
+			}
+			
+			//Quotiententest, bei Gleichheit verlässt die kleinste Basisvariable die Basis
+			int pivot = -1;
+			Rational best = null;
+			for(int row = 0; row < objective; row++) {
+				if(tableau[row][column].signum() > 0) {
+					final Rational ratio = tableau[row][rhs].divide(tableau[row][column]);
+					final int cmp = best == null ? -1 : ratio.compareTo(best);
+					if(cmp < 0 || (cmp == 0 && basis[row] < basis[pivot])) {
+						best = ratio;
+						pivot = row;
+					}
+				}
+			}
+			//durch die Normierung von x ist das Problem immer beschränkt
+			if(pivot < 0) {
+				throw new IllegalStateException("Lineares Programm ist unbeschränkt.");
+			}
+			pivot(tableau, pivot, column);
+			basis[pivot] = column;
+		}
+	}
+	
+	
+	//Pivotschritt auf dem übergebenen Element
+	private static void pivot(Rational[][] tableau, int pivotRow, int pivotColumn) {
+		final Rational[] row = tableau[pivotRow];
+		final Rational factor = row[pivotColumn];
+		for(int j = 0; j < row.length; j++) {
+			row[j] = row[j].divide(factor);
+		}
+		for(int i = 0; i < tableau.length; i++) {
+			final Rational coefficient = tableau[i][pivotColumn];
+			if(i == pivotRow || coefficient.signum() == 0) {
+				continue;
+			}
+			for(int j = 0; j < row.length; j++) {
+				if(row[j].signum() != 0) {
+					tableau[i][j] = tableau[i][j].subtract(coefficient.multiply(row[j]));
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Gibt true zurück, falls das Petri-Netz für jede Startmarkierung beschränkt ist.
+	 *
+	 * @return true, falls es keinen steigenden T-Vektor gibt
+	 */
+	public boolean isStructurallyBounded() {
+		return vector == null;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die einen steigenden T-Vektor liefert.
+	 *
+	 * @return Anzahl der Schaltvorgänge in der Reihenfolge der Transitionen,<br>
+	 * null falls das Petri-Netz strukturell beschränkt ist
+	 */
+	public int[] getRepetitiveVector() {
+		return vector;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Stellen liefert, deren Marken durch den<br>
+	 * steigenden T-Vektor wachsen.
+	 *
+	 * @return Indizes der Stellen in aufsteigender Reihenfolge, leer falls strukturell beschränkt
+	 */
+	public int[] getGrowingPlaces() {
+		return growingPlaces;
+	}
+	
+	
+	//exakte rationale Zahl, gekürzt und mit positivem Nenner
+	private static final class Rational implements Comparable<Rational> {
+		
+		private static final Rational ZERO = new Rational(BigInteger.ZERO, BigInteger.ONE);
+		private static final Rational ONE = new Rational(BigInteger.ONE, BigInteger.ONE);
+		
+		private final BigInteger num;
+		private final BigInteger den;
+		
+		
+		private Rational(BigInteger num, BigInteger den) {
+			this.num = num;
+			this.den = den;
+		}
+		
+		
+		private static Rational valueOf(long value) {
+			return value == 0 ? ZERO : new Rational(BigInteger.valueOf(value), BigInteger.ONE);
+		}
+		
+		
+		//kürzt den Bruch und macht den Nenner positiv
+		private static Rational of(BigInteger num, BigInteger den) {
+			if(num.signum() == 0) {
+				return ZERO;
+			}
+			if(den.signum() < 0) {
+				num = num.negate();
+				den = den.negate();
+			}
+			final BigInteger gcd = num.gcd(den);
+			return gcd.equals(BigInteger.ONE) ? new Rational(num, den) : new Rational(num.divide(gcd), den.divide(gcd));
+		}
+		
+		
+		private Rational subtract(Rational other) {
+			return of(num.multiply(other.den).subtract(other.num.multiply(den)), den.multiply(other.den));
+		}
+		
+		
+		private Rational multiply(Rational other) {
+			return of(num.multiply(other.num), den.multiply(other.den));
+		}
+		
+		
+		private Rational divide(Rational other) {
+			return of(num.multiply(other.den), den.multiply(other.num));
+		}
+		
+		
+		private int signum() {
+			return num.signum();
+		}
+		
+		
+		@Override
+		public int compareTo(Rational other) {
+			return num.multiply(other.den).compareTo(other.num.multiply(den));
+		}
+	}
+}
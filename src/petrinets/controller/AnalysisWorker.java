@@ -0,0 +1,161 @@
+package petrinets.controller;
+
+import java.awt.Component;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+
+import petrinets.ModelAction;
+import petrinets.ModelEvent;
+import petrinets.ModelListener;
+import petrinets.analysis.ExplorationMonitor;
+import petrinets.analysis.ExplorationSettings;
+import petrinets.markingGraphModel.MarkingGraph;
+import petrinets.petrinetModel.Petrinet;
+
+/**
+ * SwingWorker, der die Analyse des dargestellten Petri-Netzes im Hintergrund ausführt,<br>
+ * so dass die Oberfläche bedienbar bleibt und die Analyse abgebrochen werden kann.<p>
+ *
+ * Während der Analyse sind die Beobachter von Petri-Netz und Markierungsgraph abgemeldet.<br>
+ * Ihre Events werden über <code>publish()</code> in der ursprünglichen Reihenfolge<br>
+ * an den Event Dispatch Thread übergeben und dort allen Beobachtern beider Datenmodelle<br>
+ * zugestellt, wie es der {@link BoundednessAlgorithm} für seine eigenen Events tut.<br>
+ * Nach der Analyse werden die Beobachter wieder angemeldet und das Ergebnis wird<br>
+ * in einem Dialog angezeigt.
+ *
+ * @author Michael Assmair
+ *
+ * @see BoundednessAlgorithm
+ * @see MultipleFilesHandler
+ *
+ */
+class AnalysisWorker extends SwingWorker<Boolean, Runnable> {
+	
+	//zu analysierendes Petri-Netz und sein Markierungsgraph
+	private final Petrinet petrinet;
+	private final MarkingGraph markingGraph;
+	
+	//Einstellungen und Überwachung der Exploration
+	private final ExplorationSettings settings;
+	private final ExplorationMonitor monitor;
+	
+	//Fenster, über dem der Dialog mit dem Ergebnis angezeigt wird
+	private final Component parent;
+	
+	//während der Analyse abgemeldete Beobachter von Petri-Netz und Markierungsgraph
+	private final Set<ModelListener> petrinetListeners;
+	private final Set<ModelListener> markingGraphListeners;
+	
+	//alle abgemeldeten Beobachter, jeder nur einmal
+	private final Set<ModelListener> listeners = new LinkedHashSet<>();
+	
+	//leitet die Events der Analyse an den Event Dispatch Thread weiter
+	private final ModelListener forwarder = this::forward;
+	
+	//Grund einer vorzeitig beendeten Exploration, null falls sie vollständig ist
+	private volatile String undecided;
+	
+	//Ergebnis der Verklemmungssuche, null falls nicht gesucht oder nicht entschieden
+	private volatile String deadlock;
+	
+	
+	/**
+	 * Konstruktor, der die Analyse vorbereitet und die Beobachter abmeldet.<br>
+	 * Muss auf dem Event Dispatch Thread aufgerufen und mit {@link #execute()} gestartet werden.
+	 *
+	 * @param petrinet das zu analysierende Petri-Netz
+	 * @param settings Einstellungen der Exploration, es wird eine Kopie verwendet
+	 * @param parent Fenster für den Dialog mit dem Ergebnis
+	 */
+	AnalysisWorker(Petrinet petrinet, ExplorationSettings settings, Component parent) {
+		this.petrinet = petrinet;
+		this.markingGraph = petrinet.getMarkingGraph();
+		this.settings = new ExplorationSettings(settings);
+		this.monitor = new ExplorationMonitor(this.settings);
+		this.parent = parent;
+		
+		petrinetListeners = new LinkedHashSet<>(petrinet.getListener());
+		markingGraphListeners = new LinkedHashSet<>(markingGraph.getListener());
+		listeners.addAll(petrinetListeners);
+		listeners.addAll(markingGraphListeners);
+		
+		petrinetListeners.forEach(petrinet::removeListener);
+		markingGraphListeners.forEach(markingGraph::removeListener);
+		petrinet.addListener(forwarder);
+		markingGraph.addListener(forwarder);
+	}
+	
+	
+	/**
+	 * Background task für die Analyse
+	 *
+	 * @return true, falls das Petri-Netz unbeschränkt ist
+	 */
+	@Override
+	protected Boolean doInBackground() throws Exception {
+		return BoundednessAlgorithm.analysePetrinet(petrinet, settings, monitor);
+	}
+	
+	
+	//übergibt einen Event der Analyse an den Event Dispatch Thread
+	private void forward(ModelEvent evt) {
+		if(ModelAction.SET_UNDECIDED.equals(evt.getAction())) {
+			undecided = (String)evt.getSource();
+		} else if(ModelAction.SET_DEADLOCK.equals(evt.getAction())) {
+			deadlock = (String)evt.getSource();
+		}
+		publish(() -> listeners.forEach(listener -> listener.modelChanged(evt)));
+	}
+	
+	
+	/**
+	 * Stellt die Events der Analyse auf dem Event Dispatch Thread zu
+	 *
+	 */
+	@Override
+	protected void process(List<Runnable> chunks) {
+		chunks.forEach(Runnable::run);
+	}
+	
+	
+	/**
+	 * Meldet die Beobachter wieder an und zeigt das Ergebnis der Analyse an
+	 *
+	 */
+	@Override
+	protected void done() {
+		petrinet.removeListener(forwarder);
+		markingGraph.removeListener(forwarder);
+		petrinetListeners.forEach(petrinet::addListener);
+		markingGraphListeners.forEach(markingGraph::addListener);
+		
+		try {
+			//das Ergebnis der Verklemmungssuche wird unter dem der Beschränktheit angezeigt
+			final String deadlockLine = deadlock != null ? "\nVerklemmung: " + deadlock : "";
+			if(get()) {
+				JOptionPane.showMessageDialog(parent, "Der Markierungs-Graph ist unbeschränkt." + deadlockLine);
+			} else if(undecided != null) {
+				JOptionPane.showMessageDialog(parent, "Die Beschränktheit ist unentschieden: " + undecided + deadlockLine);
+			} else {
+				JOptionPane.showMessageDialog(parent, "Der Markierungs-Graph ist beschränkt." + deadlockLine);
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			JOptionPane.showMessageDialog(parent, "Die Analyse ist fehlgeschlagen: " + e.getCause(),
+					"Fehler", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+	
+	
+	/**
+	 * Bricht die Analyse ab. Die Exploration endet unentschieden mit dem bisherigen Ergebnis.<br>
+	 * Darf von jedem Thread aufgerufen werden.
+	 */
+	void cancelAnalysis() {
+		monitor.cancel();
+	}
+}
@@ -1,19 +1,31 @@
 package petrinets.controller;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import petrinets.ModelAction;
 import petrinets.ModelEvent;
 import petrinets.ModelListener;
+import petrinets.analysis.BitStateSummary;
+import petrinets.analysis.CompiledNet;
+import petrinets.analysis.ExplorationMetrics;
+import petrinets.analysis.ExplorationMode;
+import petrinets.analysis.ExplorationMonitor;
+import petrinets.analysis.ExplorationSettings;
+import petrinets.analysis.HashCompactionSummary;
+import petrinets.analysis.NetReduction;
+import petrinets.analysis.PInvariants;
+import petrinets.analysis.ReachabilityExplorer;
+import petrinets.analysis.ReachabilityResult;
+import petrinets.analysis.StronglyConnectedComponents;
+import petrinets.analysis.StructuralBoundedness;
 import petrinets.markingGraphModel.Marking;
 import petrinets.markingGraphModel.MarkingGraph;
 import petrinets.markingGraphModel.MarkingGraphEdge;
 import petrinets.petrinetModel.Petrinet;
+import petrinets.petrinetModel.Place;
 import petrinets.petrinetModel.Transition;
 
 /**
@@ -35,12 +47,27 @@ class BoundednessAlgorithm {
 	private final Petrinet petrinet;
 	private final MarkingGraph markingGraph;
 	
+	//Einstellungen der Exploration
+	private final ExplorationSettings settings;
 	
-	//Konstruktor übernimmt Petrinet, MarkinGraph 
-	//und dessen Beobachter
-	private BoundednessAlgorithm(Petrinet petrinet) {
+	//Überwachung der Grenzen und des Abbruchs der Exploration
+	private final ExplorationMonitor monitor;
+	
+	//Anzahl der Markierungen, die mit ihrer ID aus dem Ergebnis übertragen wurden
+	private int published;
+	
+	//IDs im Markierungsgraphen der Markierungen, die nur als Teil eines Pfades
+	//übertragen wurden, ihre ID im Ergebnis liegt über der Grenze
+	private final Map<Integer, Integer> pathMarkings = new HashMap<>();
+	
+	
+	//Konstruktor übernimmt Petrinet, MarkinGraph, 
+	//dessen Beobachter, die Einstellungen und die Überwachung
+	private BoundednessAlgorithm(Petrinet petrinet, ExplorationSettings settings, ExplorationMonitor monitor) {
 		this.petrinet = petrinet;
 		this.markingGraph = petrinet.getMarkingGraph();
+		this.settings = settings;
+		this.monitor = monitor;
 		listenerList.addAll(petrinet.getListener());
 		listenerList.addAll(markingGraph.getListener());
 	}
@@ -56,7 +83,43 @@ class BoundednessAlgorithm {
 	 * @see Petrinet
 	 */
 	static final boolean analysePetrinet(Petrinet petrinet) {
-		BoundednessAlgorithm algorithm = new BoundednessAlgorithm(petrinet);
+		return analysePetrinet(petrinet, new ExplorationSettings());
+	}
+	
+	
+	/**
+	 * Methode die den Beschräbktheits-Algorithmus mit den<br>
+	 * übergebenen Einstellungen startet
+	 * 
+	 * @param petrinet das zu analysierende Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * 
+	 * @return true, falls das Petri-Netz unbeschränkt ist
+	 * 
+	 * @see Petrinet
+	 * @see ExplorationSettings
+	 */
+	static final boolean analysePetrinet(Petrinet petrinet, ExplorationSettings settings) {
+		return analysePetrinet(petrinet, settings, new ExplorationMonitor(settings));
+	}
+	
+	
+	/**
+	 * Methode die den Beschräbktheits-Algorithmus mit den<br>
+	 * übergebenen Einstellungen und der übergebenen Überwachung startet.<br>
+	 * Wird eine Grenze erreicht oder über den Monitor abgebrochen, ist das<br>
+	 * Ergebnis unentschieden, die Beobachter erhalten dann den Event <code>setUndecided</code>
+	 * 
+	 * @param petrinet das zu analysierende Petri-Netz
+	 * @param settings Einstellungen der Exploration
+	 * @param monitor Überwachung der Grenzen, über sie kann die Analyse abgebrochen werden
+	 * 
+	 * @return true, falls das Petri-Netz unbeschränkt ist, false auch bei unentschiedenem Ergebnis
+	 * 
+	 * @see ExplorationMonitor
+	 */
+	static final boolean analysePetrinet(Petrinet petrinet, ExplorationSettings settings, ExplorationMonitor monitor) {
+		BoundednessAlgorithm algorithm = new BoundednessAlgorithm(petrinet, settings, monitor);
 		return algorithm.analyse();
 	}
 	
@@ -65,198 +128,541 @@ class BoundednessAlgorithm {
 	 * Methode, die ähnlich einer Breitensuche alle<br>
 	 * erreichbaren Markierungen eines Petri-Netzes findet<p>
 	 * 
-	 * Zusätzlich gibt es noch ein Abbruchkriterium, welchen<br>
-	 * die Schleife abbricht, falls der Markierungsgraph unbeschränkt<br> 
-	 * ist {@link #isOmega()}
+	 * Die Exploration erfolgt mit dem {@link ReachabilityExplorer} der eingestellten<br>
+	 * Suchstrategie auf der kompilierten Kopie des Petri-Netzes, erst das Ergebnis wird in den<br>
+	 * Markierungsgraphen übertragen, höchstens so viele Markierungen wie in den Einstellungen<br>
+	 * angegeben und die Pfade des Abbruchkriteriums bzw. zur Verklemmung. Anzahlen,<br>
+	 * Verklemmungen und Lebendigkeit werden aus dem Ergebnis der Exploration bestimmt,<br>
+	 * sie gelten auch für einen gekürzten Markierungsgraphen. Die Exploration bricht ab, falls das<br>
+	 * Abbruchkriterium für unbeschränkte Petri-Netze erreicht wurde. Beim<br>
+	 * Überdeckungsgraphen und der minimalen Überdeckungsmenge wird der Graph<br>
+	 * vollständig aufgebaut und die Schranke jeder Stelle ausgegeben.<p>
+	 * 
+	 * Ist die strukturelle Prüfung eingeschaltet, werden vorher die P-Invarianten<br>
+	 * berechnet und es wird ein steigender T-Vektor gesucht. Überdecken die Invarianten<br>
+	 * alle Stellen oder gibt es keinen steigenden T-Vektor, entfällt die Exploration<p>
+	 * 
+	 * Ist die Netzreduktion eingeschaltet, wird beim Erreichbarkeitsgraphen das reduzierte<br>
+	 * Petri-Netz exploriert. Markierungen und der Pfad des Abbruchkriteriums werden in das<br>
+	 * ursprüngliche Petri-Netz zurückübertragen<p>
+	 * 
+	 * Beim Bitstate-Hashing und der Hash-Kompaktierung enthält der Markierungsgraph nur den<br>
+	 * Pfad des Abbruchkriteriums, ein beschränktes Ergebnis wird mit der geschätzten Abdeckung<br>
+	 * bzw. der Wahrscheinlichkeit einer Kollision als approximativ ausgegeben<p>
+	 * 
+	 * Wird eine Grenze der Exploration erreicht oder abgebrochen, ohne dass das<br>
+	 * Abbruchkriterium erreicht wurde, enthält der Markierungsgraph den bis dahin<br>
+	 * aufgebauten Teil und das Ergebnis wird als unentschieden ausgegeben.<br>
+	 * Ein beschränktes Ergebnis wird mit dem Event <code>setBounded</code> übergeben<p>
+	 * 
+	 * Während der Exploration erhalten die Beobachter im eingestellten Abstand die<br>
+	 * Messwerte mit dem Event <code>setMetrics</code>, nach der Exploration die endgültigen<p>
+	 * 
+	 * Ist der vollständige Erreichbarkeitsgraph beschränkt, werden aus seinen starken<br>
+	 * Zusammenhangskomponenten Verklemmungen, Lebendigkeit, Reversibilität und<br>
+	 * Home-Markierungen bestimmt und mit dem Event <code>setLiveness</code> übergeben<p>
+	 * 
+	 * Bei der Verklemmungssuche entfallen strukturelle Prüfung und Netzreduktion, sie sagen<br>
+	 * nichts über Verklemmungen aus. Die erste gefundene Verklemmung beendet die Exploration,<br>
+	 * eine kürzeste Schaltfolge zu ihr wird mit den Events <code>setDeadlockPath</code> und<br>
+	 * <code>setDeadlock</code> übergeben, die Beschränktheit bleibt dann unentschieden
+	 * 
+	 * @see ExplorationMetrics
+	 * @see StronglyConnectedComponents
+	 * @see PInvariants
+	 * @see StructuralBoundedness
+	 * @see NetReduction
+	 * @see BitStateSummary
+	 * @see HashCompactionSummary
+	 * @see ExplorationSettings#getGraphLimit()
 	 * 
 	 * @return true, falls der Markierungsgraph unbeschränkt ist
 	 * 
+	 * @see CompiledNet
 	 */
 	protected boolean analyse() {
 		//informiert Beobachter, dass der Algorithmus gestartet wurde
 		notifyListener(new ModelEvent("Automatlisch analyse des Petrinetz wurde gestartet.", ModelAction.PRINT_LINE));
 		notifyListener(new ModelEvent("---------------------------------------------------", ModelAction.PRINT_LINE));
 		
-		//setzt das Petri-Netz auf die Startmarkierung 
-		//und setzt den Markierungsgraph zurück
+		//setzt den Markierungsgraph zurück
 		petrinet.getMarkingGraph().resetMarkingGraph();
+		final CompiledNet net = petrinet.getCompiledNet();
 		
-		//Warteschlange zum einfügen und abarbeiten von Markierungen
-		final Deque<Marking> queue = new ArrayDeque<Marking>(markingGraph);
+		//strukturelle Prüfung, überdecken die P-Invarianten alle Stellen oder
+		//gibt es keinen steigenden T-Vektor, ist das Petri-Netz ohne Exploration beschränkt
+		if(settings.isStructuralCheck() && settings.getMode() != ExplorationMode.DEADLOCK && checkStructure(net)) {
+			petrinet.setMarking("0");
+			return false;
+		}
+		
+		//Netzreduktion nicht bei Überdeckungsgraph und -menge und nicht bei der Verklemmungssuche,
+		//exploriert wird dann das reduzierte Petri-Netz ab dessen Startmarkierung
+		final NetReduction reduction = settings.isReduction() && settings.getMode() != ExplorationMode.COVERABILITY
+				&& settings.getMode() != ExplorationMode.MINIMAL_COVERABILITY_SET && settings.getMode() != ExplorationMode.DEADLOCK
+				? NetReduction.reduce(net, markingGraph.get(0).getMarking()) : null;
+		if(reduction != null) {
+			notifyListener(new ModelEvent("Netzreduktion: " + reduction.getRemovedPlaces() + " Stellen und "
+					+ reduction.getRemovedTransitions() + " Transitionen entfernt.", ModelAction.PRINT_LINE));
+		}
 		
-		//Schleife läuft bis die Warteschlange leer ist oder
-		//das Abbruchkriterium für unbeschränkte Markierungsgraphen erreicht ist
-		do {
+		//exploriert den Erreichbarkeitsgraphen ausgehend von der Startmarkierung,
+		//die Beobachter erhalten regelmäßig und nach der Exploration die Messwerte
+		monitor.setMetricsListener(metrics -> notifyListener(new ModelEvent(metrics, ModelAction.SET_METRICS)));
+		final ReachabilityResult result = reduction == null
+				? ReachabilityExplorer.create(net, settings, monitor).explore(markingGraph.get(0).getMarking())
+				: ReachabilityExplorer.create(reduction.getReducedNet(), settings, monitor).explore(reduction.getInitialMarking());
+		monitor.setMetricsListener(null);
+		notifyListener(new ModelEvent(monitor.getMetrics(), ModelAction.SET_METRICS));
+		
+		//Schranken der Stellen sind nur bei vollständigem Überdeckungsgraphen und -menge bekannt
+		final int[] placeBounds = (settings.getMode() == ExplorationMode.COVERABILITY
+				|| settings.getMode() == ExplorationMode.MINIMAL_COVERABILITY_SET) && !result.isUndecided() ? result.getPlaceBounds() : null;
+		if(result.getResumedMarkings() > 0) {
+			notifyListener(new ModelEvent("Fortgesetzt ab Zwischenstand mit " + result.getResumedMarkings() + " Markierungen.", ModelAction.PRINT_LINE));
+		}
+		printCoveringSet(result);
+		printBitState(result.getBitStateSummary(), result.isUnbounded());
+		printHashCompaction(result.getHashCompactionSummary(), result.isUnbounded());
+		
+		//gibt das Ergebnis aus und danach den Speicher der Exploration frei
+		try {
+			return printResult(net, reduction, result, placeBounds);
+		} finally {
+			result.release();
+		}
+	}
+	
+	
+	//überträgt das Ergebnis in den Markierungsgraphen, gibt es aus und liefert
+	//true, falls das Abbruchkriterium für unbeschränkte Markierungsgraphen erreicht wurde
+	private boolean printResult(CompiledNet net, NetReduction reduction, ReachabilityResult result, int[] placeBounds) {
+		publishResult(net, reduction, result);
+		//Pfad des Abbruchkriteriums über die Vorgänger der Exploration,
+		//bei der Tiefensuche ist das der Stapel
+		final int[] witness = result.isUnbounded() ? result.getWitness(result.getSecondOmegaMarking()) : null;
+		final String liftedPath = reduction != null && witness != null ? liftPath(net, reduction, result, witness) : null;
+		final MarkingGraphEdge[] omegaPath = witness != null ? omegaPath(net, reduction, result, witness) : null;
+		final MarkingGraphEdge[] deadlockPath = result.getDeadlock() >= 0 ? deadlockPath(net, result) : null;
+		
+		//Verklemmungssuche wurde bei der ersten Verklemmung beendet
+		if(deadlockPath != null) {
+			printDeadlock(result, deadlockPath);
+			return false;
+		}
+		
+		//true falls das Abbruchkriterium für unbeschränkte
+		//Markierungsgraphen erreicht wurde
+		if(result.isUnbounded()) {
+			final Marking first = markingGraph.get(publishMarking(reduction, result, result.getFirstOmegaMarking()));
+			final Marking second = markingGraph.get(publishMarking(reduction, result, result.getSecondOmegaMarking()));
 			
-			//setzt Petri-Netz auf die aktuell zu verarbeitende Markierung
-			petrinet.setMarking(queue.peekFirst().getMarkingID());
+			//zeichnet den Weg des Abbruchkriteriums von der
+			//zweiten Markierung zurück zur Startmarkierung
+			for(int i = omegaPath.length - 1; i >= 0; i--) {
+				notifyListener(new ModelEvent(omegaPath[i], ModelAction.SET_OMEGA_PATH));
+			}
+			notifyListener(new ModelEvent(second, ModelAction.SET_SECOND_OMEGA_MARKING));
+			notifyListener(new ModelEvent(first, ModelAction.SET_FIRST_OMEGA_MARKING));
+			// MarkingEdge mit (null, null, null) initialisiert bewirkt,
+			// dass eine in der Visualisierung hervorgehobene Kante nicht mehr hervorgehoben ist.
+			notifyListener(new ModelEvent(new MarkingGraphEdge(null, null, null), ModelAction.HIGHLIGHT_EDGE));
 			
-			//versucht alle Transitionen zu schalten
-			for(Transition transition : petrinet.getTransitions().values()) {
-				
-				//true falls neue Markierung eingefügt wurde
-				//diese Markierung wird der Warteschlange hinzugefügt
-				if(petrinet.update(transition.getId())) {
-					queue.add(markingGraph.getCurrentMarking());
-					
-					//true falls das Abbruchkriterium für unbeschränkte
-					//Markierungsgraphen erreicht wurde
-					if(isOmega()) {
-						
-						//Setzt Petri-Netz auf die Markierung die zum Abbruch geführt hat
-						//informiert Beobachter und gibt true an den Aufrufer zurück
-						petrinet.setMarking(markingGraph.getCurrentMarking().getMarkingID());
-						notifyListener(new ModelEvent("Das Petrin-Netz ist unbeschränkt. Knoten: " + markingGraph.size() + " Kanten: " + markingGraph.getEdgesNumber(), ModelAction.PRINT_LINE));
-						return true;
-					}
-				}
-				
-				//nach dem Schalten wir das Petri-Netz wieder auf die 
-				//zu verarbeitende Markierung gesetzt
-				petrinet.setMarking(queue.peekFirst().getMarkingID());
+			//Setzt Petri-Netz auf die Markierung die zum Abbruch geführt hat,
+			//beim Überdeckungsgraphen enthält sie ω und das Petri-Netz
+			//wird auf die Startmarkierung gesetzt
+			if(second.containsOmega()) {
+				petrinet.setMarking("0");
+			} else {
+				petrinet.setMarking(second.getMarkingID());
 			}
-			//entfernt die erste Markierung in der Warteschlange
-			queue.pop();
-		} while(!queue.isEmpty());
+			
+			//Pfad des Abbruchkriteriums im ursprünglichen Petri-Netz,
+			//im Markierungsgraphen steht eine Kante für eine ganze Schaltfolge
+			if(liftedPath != null) {
+				notifyListener(new ModelEvent("Pfad im ursprünglichen Petri-Netz: " + liftedPath, ModelAction.PRINT_LINE));
+				notifyListener(new ModelEvent(liftedPath, ModelAction.SET_FIRING_SEQUENCE));
+			}
+			
+			//ein ω entscheidet die Unbeschränktheit auch bei unvollständigem Überdeckungsgraphen
+			if(result.isUndecided()) {
+				notifyListener(new ModelEvent("Der Überdeckungsgraph ist unvollständig: " + result.getUndecidedReason() + ".", ModelAction.PRINT_LINE));
+			}
+			
+			//informiert Beobachter und gibt true an den Aufrufer zurück
+			notifyListener(new ModelEvent("Das Petrin-Netz ist unbeschränkt. Knoten: " + result.size() + " Kanten: " + result.getEdgeCount(), ModelAction.PRINT_LINE));
+			printPlaceBounds(placeBounds);
+			printNoDeadlock(false);
+			return true;
+		}
+		
+		//setzt das Petri-Netz auf die zuletzt verarbeitete Markierung
+		petrinet.setMarking(Integer.toString(markingGraph.size() - 1));
+		
+		//vorzeitig beendet, die Beschränktheit ist nicht entschieden
+		final BitStateSummary bitState = result.getBitStateSummary();
+		final HashCompactionSummary compaction = result.getHashCompactionSummary();
+		if(result.isUndecided()) {
+			if(bitState != null) {
+				printUndecided(bitState.getStates(), bitState.getTransitions(), result.getUndecidedReason());
+			} else if(compaction != null) {
+				printUndecided(compaction.getStates(), compaction.getTransitions(), result.getUndecidedReason());
+			} else {
+				printUndecided(result.size(), result.getEdgeCount(), result.getUndecidedReason());
+			}
+			printNoDeadlock(false);
+			return false;
+		}
+		
+		//beim Bitstate-Hashing ist das Ergebnis nur für die besuchten Markierungen gültig
+		if(bitState != null) {
+			printApproximate(bitState.getStates(), bitState.getTransitions(), String.format("%.4f%%", bitState.getCoverage() * 100));
+			return false;
+		}
+		
+		//bei der Hash-Kompaktierung können Markierungen durch Kollisionen ausgelassen worden sein
+		if(compaction != null) {
+			printApproximate(compaction.getStates(), compaction.getTransitions(), String.format("p=%.2e", compaction.getCollisionProbability()));
+			return false;
+		}
 		
 		//informiert Beobachter, dass das Petri-Netz beschränkt ist
-		notifyListener(new ModelEvent("Das Petrin-Netz ist beschränkt. Knoten: " + markingGraph.size() + " Kanten: " + markingGraph.getEdgesNumber(), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent("Das Petrin-Netz ist beschränkt. Knoten: " + result.size() + " Kanten: " + result.getEdgeCount(), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent(result.size() + "/" + result.getEdgeCount(), ModelAction.SET_BOUNDED));
+		printPlaceBounds(placeBounds);
+		printNoDeadlock(true);
+		
+		//Lebendigkeit nur auf dem vollständigen Erreichbarkeitsgraphen des ursprünglichen Petri-Netzes
+		if(reduction == null && settings.getMode() != ExplorationMode.MINIMAL_COVERABILITY_SET) {
+			printLiveness(net, result);
+		}
 		return false;
 	}
 	
 	
-	/**
-	 * prüft das Abbruchkriterium für unbeschränkte Petri-Netze
-	 * und gibt true zurück falls dieses zutrifft 
-	 * 
-	 * @return true, falls Abbruchkriterium
-	 */
-	protected boolean isOmega() {	
+	//strukturelle Prüfung mit P-Invarianten und steigendem T-Vektor,
+	//liefert true, falls das Petri-Netz für jede Startmarkierung beschränkt ist
+	private boolean checkStructure(CompiledNet net) {
+		if(checkInvariants(net)) {
+			notifyListener(new ModelEvent("Das Petrin-Netz ist beschränkt, alle Stellen sind von P-Invarianten überdeckt.", ModelAction.PRINT_LINE));
+			notifyListener(new ModelEvent("P-Invarianten", ModelAction.SET_STRUCTURAL_BOUNDED));
+			return true;
+		}
 		
-		//Schleife über alle Markierungen des Graphen
-		for(Marking marking : markingGraph) {
-			
-			//prüft Abbruchkriterium
-			if(marking.isOmega(markingGraph.getCurrentMarking()) && breadthFirstSearch(marking, markingGraph.getCurrentMarking())) {	
-				notifyListener(new ModelEvent(markingGraph.getCurrentMarking(), ModelAction.SET_SECOND_OMEGA_MARKING));
-				notifyListener(new ModelEvent(marking, ModelAction.SET_FIRST_OMEGA_MARKING));
-				// MarkingEdge mit (null, null, null) initialisiert bewirkt,
-				// dass eine in der Visualisierung hervorgehobene Kante nicht mehr hervorgehoben ist.
-				notifyListener(new ModelEvent(new MarkingGraphEdge(null, null, null), ModelAction.HIGHLIGHT_EDGE));
-				return true;
+		final StructuralBoundedness structure = StructuralBoundedness.compute(net);
+		if(structure.isStructurallyBounded()) {
+			notifyListener(new ModelEvent("Das Petrin-Netz ist beschränkt, es gibt keinen steigenden T-Vektor.", ModelAction.PRINT_LINE));
+			notifyListener(new ModelEvent("T-Vektor", ModelAction.SET_STRUCTURAL_BOUNDED));
+			return true;
+		}
+		
+		//steigender T-Vektor als Hinweis, ob er schaltbar ist, entscheidet die Exploration
+		final StringBuilder sb = new StringBuilder("Steigender T-Vektor:");
+		final int[] vector = structure.getRepetitiveVector();
+		for(int transition = 0; transition < vector.length; transition++) {
+			if(vector[transition] > 0) {
+				sb.append(" " + (vector[transition] > 1 ? vector[transition] + "·" : "") + net.getTransition(transition).getId());
 			}
 		}
+		sb.append(", wachsende Stellen:");
+		for(int place : structure.getGrowingPlaces()) {
+			sb.append(" " + net.getPlace(place).getIdAndName());
+		}
+		notifyListener(new ModelEvent(sb.toString(), ModelAction.PRINT_LINE));
 		return false;
 	}
 	
 	
-	/**
-	 * Breitensuche von einer übergebenen Markierung beginnend <code>startKnoten</code>.<p>
-	 * Wenn die Zielmarkierung <code>zielKnoten</code> erreicht wurde, wird die Breitensuche abgebrochen<br>
-	 * und es wird true zurückgegeben, wurde am Ende der Breitensuche diese Markierung nicht erreicht, wird false zurückgegeben.
-	 * 
-	 * @param startKnoten Startknoten der Breitensuche
-	 * @param zielKnoten Zielknoten der Breitensuche
-	 * 
-	 * @return boolean - true, falls die Zielknoten von der Startknoten  aus erreichbar ist
-	 */
-	protected boolean breadthFirstSearch(Marking startKnoten, Marking zielKnoten) {
-		//Warteschlange für die Breitensuche.
-		final Deque<TreeNode> queue = new ArrayDeque<TreeNode>();
+	//berechnet die P-Invarianten, gibt die daraus folgenden Schranken aus
+	//und liefert true, falls jede Stelle von einer Invariante überdeckt wird
+	private boolean checkInvariants(CompiledNet net) {
+		final PInvariants invariants = PInvariants.compute(net);
+		if(!invariants.isComputed()) {
+			notifyListener(new ModelEvent("P-Invarianten konnten nicht berechnet werden.", ModelAction.PRINT_LINE));
+			return false;
+		}
+		notifyListener(new ModelEvent("P-Invarianten: " + invariants.getInvariants().size(), ModelAction.PRINT_LINE));
 		
-		//besuchte Markierungen
-		final Set<Marking> visitedMarkings = new HashSet<>();
+		//Schranken für jede Stelle, "?" falls keine Invariante die Stelle überdeckt
+		final int[] bounds = invariants.getPlaceBounds(markingGraph.get(0).getMarking());
+		final StringBuilder sb = new StringBuilder("(");
+		int idx = 0;
+		for(Place place : petrinet.getPlaces().values()) {
+			final int bound = bounds[idx++];
+			final String text = bound == PInvariants.UNKNOWN ? "?" : Integer.toString(bound);
+			notifyListener(new ModelEvent("Stelle " + place.getIdAndName() + ": "
+					+ (bound == PInvariants.UNKNOWN ? "keine Schranke aus P-Invarianten" : "höchstens " + bound + " Marken (P-Invariante)"), ModelAction.PRINT_LINE));
+			sb.append(idx > 1 ? "|" : "").append(text);
+		}
 		
-		queue.add(new TreeNode(startKnoten, null, null));
-
-		//die Schleife läuft bis die Warteschlange leer ist
-		//oder Abbruchkriterium erreicht
-		while(!queue.isEmpty()) {
-			
-			//die von der in der Warteschlange als erstes stehende Markierung aus erreichbaren Markierungen
-			//werden in der for-Schleife durchlaufen und falls noch nicht besucht am Ende der Warteschlange hinzugefügt.
-			for(MarkingGraphEdge edge : queue.peekFirst().marking.getAdjList()) {
-				
-				//Abbruch der Schleife, falls zu erreichende Markierung gefunden
-				if(edge.getSuccMakring().equals(zielKnoten)) {
-					queue.add(new TreeNode(zielKnoten, edge.getTransition(), queue.peekFirst()));
-					
-					//zeichnet den Weg des Abbruchkriteriums
-					drawOmegaPath(queue.pollLast());
-					return true;
-				}
-				
-				//wenn Markierung noch nicht besucht, wird sie der Warteschlange hinzugefügt
-				if(!visitedMarkings.contains(edge.getSuccMakring())) {
-					queue.add(new TreeNode(edge.getSuccMakring(), edge.getTransition(), queue.peekFirst()));
-					queue.peekFirst().addChildren(queue.peekLast());
-					visitedMarkings.add(edge.getSuccMakring());
-				}
-			}
-			queue.pop();
-		} 
-		return false;
+		//Schranken in der Darstellung einer Markierung, z.B. für die Stapelverarbeitung
+		notifyListener(new ModelEvent(sb.append(")").toString(), ModelAction.SET_PLACE_BOUNDS));
+		return invariants.isCovering();
 	}
 	
 	
-	//wird aufgerufen falls zu untersuchenden Petri-Netz unbeschränkt ist
-	//läuft vom Zielknoten der Breitensuche zu Startknoten und
-	//übergibt dem Beobachter jede Kante des Weges
-	private void drawOmegaPath(TreeNode treeNode) {
-		while(treeNode.parent != null) {	
-			notifyListener(new ModelEvent(treeNode.getEdgeFromParent(), ModelAction.SET_OMEGA_PATH));
-			treeNode = treeNode.parent;
-		} 
-		//rekursiver Aufruf, bis Startmarkierung erreicht ist
-		if(treeNode.marking.getMarkingID() != "0") {
-			breadthFirstSearch(markingGraph.get(0), treeNode.marking);
+	//gibt die Markierungen der minimalen Überdeckungsmenge aus, falls sie berechnet wurde
+	private void printCoveringSet(ReachabilityResult result) {
+		if(result.getCoveringSet() == null) {
+			return;
 		}
+		final StringBuilder sb = new StringBuilder("Minimale Überdeckungsmenge (Anzahl: " + result.getCoveringSet().length + "):");
+		for(int id : result.getCoveringSet()) {
+			sb.append(" " + new Marking(result.getMarking(id)));
+		}
+		notifyListener(new ModelEvent(sb.toString(), ModelAction.PRINT_LINE));
 	}
 	
 	
-	//alle Beobachter werden über den Event informiert
-	private void notifyListener(ModelEvent evt) {
-		for(ModelListener listener : listenerList) {
-			listener.modelChanged(evt);
+	//gibt beim Bitstate-Hashing Größe und Füllstand des Bitarrays sowie die
+	//geschätzte Abdeckung aus, ein gefundenes Abbruchkriterium ist trotzdem exakt
+	private void printBitState(BitStateSummary summary, boolean unbounded) {
+		if(summary == null) {
+			return;
+		}
+		notifyListener(new ModelEvent("Bitstate-Hashing: " + (unbounded
+				? "der Pfad des Abbruchkriteriums wurde geschaltet, die Unbeschränktheit ist sicher."
+				: "das Ergebnis ist approximativ, Markierungen können ausgelassen worden sein."), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent(String.format("Bitarray: 2^%d Bits, %d Hashfunktionen, %.2f%% gesetzt, maximale Tiefe: %d",
+				summary.getSizeBits(), summary.getHashCount(), summary.getFillRatio() * 100, summary.getMaxDepth()), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent(String.format("Geschätzte Abdeckung: %.4f%%, erwartete Auslassungen: %.1f, Auslassungswahrscheinlichkeit: %.2e",
+				summary.getCoverage() * 100, summary.getExpectedOmissions(), summary.getOmissionProbability()), ModelAction.PRINT_LINE));
+	}
+	
+	
+	//gibt bei der Hash-Kompaktierung Größe der Hashtabelle und die
+	//Wahrscheinlichkeit einer Kollision aus, ein gefundenes Abbruchkriterium ist trotzdem exakt
+	private void printHashCompaction(HashCompactionSummary summary, boolean unbounded) {
+		if(summary == null) {
+			return;
 		}
+		notifyListener(new ModelEvent("Hash-Kompaktierung: " + (unbounded
+				? "der Pfad des Abbruchkriteriums wurde geschaltet, die Unbeschränktheit ist sicher."
+				: "das Ergebnis ist approximativ, Markierungen mit gleichem Fingerabdruck wurden ausgelassen."), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent(String.format("Fingerabdrücke: %d, Hashtabelle: %d Plätze, %.1f Bytes pro Markierung, Kollisionswahrscheinlichkeit: %.2e",
+				summary.getStates(), summary.getTableCapacity(), summary.getBytesPerState(), summary.getCollisionProbability()), ModelAction.PRINT_LINE));
 	}
 	
 	
+	//gibt ein approximativ beschränktes Ergebnis aus und übergibt es der Stapelverarbeitung
+	private void printApproximate(long states, long transitions, String reliability) {
+		notifyListener(new ModelEvent("Das Petrin-Netz ist vermutlich beschränkt (approximatives Ergebnis). Besuchte Markierungen: "
+				+ states + " Geschaltete Transitionen: " + transitions, ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent("≈" + states + "/" + transitions + " (" + reliability + ")", ModelAction.SET_APPROXIMATE));
+	}
 	
-	//Hilfsklasse für eine Breitensuche
-	//im Markierungsgraph
-	private static class TreeNode{
-		
-		//Liste von nachfolgenden Baumknoten
-		private final List<TreeNode> children = new ArrayList<TreeNode>();
-		
-		//Nach dem Schalten aktuelle Markierung
-		private final Marking marking;
+	
+	//gibt ein unentschiedenes Ergebnis mit dem bis dahin aufgebauten Graphen aus
+	//und übergibt es der Stapelverarbeitung
+	private void printUndecided(long states, long edges, String reason) {
+		notifyListener(new ModelEvent("Die Beschränktheit ist nach " + states + " Markierungen und " + edges
+				+ " Kanten unentschieden (" + reason + ").", ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent("?" + states + "/" + edges + " (" + reason + ")", ModelAction.SET_UNDECIDED));
+	}
+	
+	
+	//gibt bei Überdeckungsgraph und -menge die Schranke jeder Stelle aus,
+	//beim abgebrochenen Erreichbarkeitsgraphen sind die Schranken nicht bekannt
+	private void printPlaceBounds(int[] placeBounds) {
+		if(placeBounds == null) {
+			return;
+		}
+		int idx = 0;
+		for(Place place : petrinet.getPlaces().values()) {
+			final int bound = placeBounds[idx++];
+			notifyListener(new ModelEvent("Stelle " + place.getIdAndName() + ": "
+					+ (bound == Marking.OMEGA ? "unbeschränkt (ω)" : "beschränkt, höchstens " + bound + " Marken"), ModelAction.PRINT_LINE));
+		}
+	}
+	
+	
+	//gibt die gefundene Verklemmung mit einer kürzesten Schaltfolge aus, markiert den Pfad
+	//im Markierungsgraphen und übergibt beides der Stapelverarbeitung. Die Exploration
+	//endete vorzeitig, die Beschränktheit ist daher unentschieden
+	private void printDeadlock(ReachabilityResult result, MarkingGraphEdge[] path) {
+		final StringBuilder sequence = new StringBuilder();
+		for(MarkingGraphEdge edge : path) {
+			notifyListener(new ModelEvent(edge, ModelAction.SET_DEADLOCK_PATH));
+			sequence.append(sequence.length() > 0 ? "," : "").append(edge.getTransition().getId());
+		}
+		// MarkingEdge mit (null, null, null) initialisiert bewirkt,
+		// dass eine in der Visualisierung hervorgehobene Kante nicht mehr hervorgehoben ist.
+		notifyListener(new ModelEvent(new MarkingGraphEdge(null, null, null), ModelAction.HIGHLIGHT_EDGE));
 		
-		//Markierung vor dem Schalten
-		private final TreeNode parent;
+		//setzt das Petri-Netz auf die Verklemmung
+		final Marking marking = markingGraph.get(publishMarking(null, result, result.getDeadlock()));
+		petrinet.setMarking(marking.getMarkingID());
+		notifyListener(new ModelEvent("Verklemmung erreichbar: " + marking + " nach " + path.length + " Schritten"
+				+ (path.length > 0 ? ", Schaltfolge: " + sequence : ""), ModelAction.PRINT_LINE));
+		notifyListener(new ModelEvent(path.length + ":" + sequence + "; " + marking, ModelAction.SET_DEADLOCK));
+		printUndecided(result.size(), result.getEdgeCount(), "Verklemmung gefunden");
+	}
+	
+	
+	//gibt bei der Verklemmungssuche ohne gefundene Verklemmung aus, ob der
+	//Erreichbarkeitsgraph vollständig und damit keine Verklemmung erreichbar ist
+	private void printNoDeadlock(boolean complete) {
+		if(settings.getMode() != ExplorationMode.DEADLOCK) {
+			return;
+		}
+		if(complete) {
+			notifyListener(new ModelEvent("Keine Verklemmung erreichbar.", ModelAction.PRINT_LINE));
+			notifyListener(new ModelEvent("keine", ModelAction.SET_DEADLOCK));
+		} else {
+			notifyListener(new ModelEvent("Bis zum Ende der Exploration wurde keine Verklemmung gefunden.", ModelAction.PRINT_LINE));
+		}
+	}
+	
+	
+	//zerlegt den Erreichbarkeitsgraphen in starke Zusammenhangskomponenten, gibt Verklemmungen,
+	//Lebendigkeit, Reversibilität und Home-Markierungen aus und übergibt sie der Stapelverarbeitung
+	private void printLiveness(CompiledNet net, ReachabilityResult result) {
+		final StronglyConnectedComponents components = StronglyConnectedComponents.compute(result, net);
+		final int[] deadlocks = components.getDeadlocks();
+		notifyListener(new ModelEvent("Starke Zusammenhangskomponenten: " + components.getComponentCount()
+				+ ", davon terminal: " + components.getTerminalCount(), ModelAction.PRINT_LINE));
 		
-		//Transition die geschaltet wurde
-		private final Transition transition;
-
+		//Verklemmungen, bei vielen werden nur die ersten ausgegeben
+		final StringBuilder sb = new StringBuilder("Verklemmungen: " + deadlocks.length);
+		for(int i = 0; i < Math.min(deadlocks.length, 10); i++) {
+			sb.append(i == 0 ? " " : ", ").append(new Marking(result.getMarking(deadlocks[i])));
+		}
+		notifyListener(new ModelEvent(sb.append(deadlocks.length > 10 ? ", ..." : "").toString(), ModelAction.PRINT_LINE));
 		
-		// der Konstruktor liefert einen Baumknoten
-		private TreeNode(Marking marking, Transition transition, TreeNode parent) {
-			this.marking = marking;
-			this.transition = transition;
-			this.parent = parent;
+		int live = 0;
+		for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+			final int level = components.getLiveness(transition);
+			live += level == StronglyConnectedComponents.LIVE ? 1 : 0;
+			notifyListener(new ModelEvent("Transition " + net.getTransition(transition).getIdAndName() + ": L" + level
+					+ (level == StronglyConnectedComponents.LIVE ? " (lebendig)" : level == StronglyConnectedComponents.DEAD ? " (tot)" : ""), ModelAction.PRINT_LINE));
 		}
+		notifyListener(new ModelEvent("Das Petri-Netz ist " + (components.isLive() ? "" : "nicht ") + "lebendig und "
+				+ (components.isReversible() ? "" : "nicht ") + "reversibel. Home-Markierungen: " + components.getHomeMarkings().length, ModelAction.PRINT_LINE));
 		
+		//Zusammenfassung für die Stapelverarbeitung
+		notifyListener(new ModelEvent("V:" + deadlocks.length + " L4:" + live + "/" + net.getTransitionCount()
+				+ (components.isReversible() ? " rev." : " nicht rev.") + " H:" + components.getHomeMarkings().length, ModelAction.SET_LIVENESS));
+	}
+	
+	
+	//überträgt die Markierungen mit den kleinsten IDs bis zur eingestellten Grenze und die
+	//Kanten zwischen ihnen in den Markierungsgraphen. Markierungen werden in der Reihenfolge
+	//ihrer ID über die Kanten gefunden, so dass ihre ID im Markierungsgraphen der ID im
+	//Ergebnis entspricht, der Vorgänger einer Markierung hat immer eine kleinere ID.
+	//Bei einem reduzierten Petri-Netz werden die Markierungen zurückübertragen und
+	//eine Kante erhält die erste Transition ihrer Schaltfolge
+	private void publishResult(CompiledNet net, NetReduction reduction, ReachabilityResult result) {
+		published = settings.getGraphLimit() == 0 ? result.size() : Math.min(settings.getGraphLimit(), result.size());
+		final boolean[] inserted = new boolean[published];
+		inserted[0] = true;
 		
-		// Add-Methode, die einen nachfolgenden Knoten zum Baumknoten hinzufügt.
-		private void addChildren(TreeNode child) {
-			children.add(child);
+		for(int edge = 0; edge < result.getEdgeCount(); edge++) {
+			final int source = result.getEdgeSource(edge);
+			final int target = result.getEdgeTarget(edge);
+			if(source >= published || target >= published) {
+				continue;
+			}
+			
+			//Markierung wird mit ihrer ersten eingehenden Kante eingefügt
+			if(!inserted[target]) {
+				inserted[target] = true;
+				markingGraph.insertMarking(liftMarking(reduction, result, target));
+			}
+			markingGraph.insertEdge(liftTransition(net, reduction, result.getEdgeTransition(edge)), source, target);
 		}
 		
-		
-		// Getter-Methode, die die Kanten zwischen Elternknoten und diesem Knoten liefer.
-		private MarkingGraphEdge getEdgeFromParent() {
-			return new MarkingGraphEdge(transition, parent.marking, marking);
+		//der Markierungsgraph zeigt nur einen Teil der Exploration
+		if(published < result.size()) {
+			notifyListener(new ModelEvent("Der Markierungsgraph zeigt " + published + " von " + result.size()
+					+ " Markierungen, Anzahlen und Ergebnisse gelten für die ganze Exploration.", ModelAction.PRINT_LINE));
+		}
+	}
+	
+	
+	//Kanten des Zeugenpfades von der Startmarkierung zur zweiten Markierung des
+	//Abbruchkriteriums, fehlende Kanten werden in den Markierungsgraphen übertragen
+	private MarkingGraphEdge[] omegaPath(CompiledNet net, NetReduction reduction, ReachabilityResult result, int[] witness) {
+		final MarkingGraphEdge[] path = new MarkingGraphEdge[witness.length - 1];
+		for(int i = 1; i < witness.length; i++) {
+			path[i - 1] = publishEdge(net, reduction, result, witness[i - 1], result.getParentTransition(witness[i]), witness[i]);
+		}
+		return path;
+	}
+	
+	
+	//Kanten einer kürzesten Schaltfolge von der Startmarkierung zur gefundenen Verklemmung,
+	//fehlende Kanten werden in den Markierungsgraphen übertragen
+	private MarkingGraphEdge[] deadlockPath(CompiledNet net, ReachabilityResult result) {
+		final int[] edges = result.getShortestPath(result.getDeadlock());
+		final MarkingGraphEdge[] path = new MarkingGraphEdge[edges.length];
+		for(int i = 0; i < edges.length; i++) {
+			path[i] = publishEdge(net, null, result, result.getEdgeSource(edges[i]),
+					result.getEdgeTransition(edges[i]), result.getEdgeTarget(edges[i]));
+		}
+		return path;
+	}
+	
+	
+	//liefert die Kante eines Pfades im Markierungsgraphen, sie wird mit
+	//ihren Markierungen übertragen, falls sie dort noch fehlt
+	private MarkingGraphEdge publishEdge(CompiledNet net, NetReduction reduction, ReachabilityResult result, int source, int transition, int target) {
+		final Transition original = liftTransition(net, reduction, transition);
+		final int graphSource = publishMarking(reduction, result, source);
+		final int graphTarget = publishMarking(reduction, result, target);
+		final int edge = markingGraph.findEdge(graphSource, original, graphTarget);
+		return markingGraph.getEdge(edge >= 0 ? edge : markingGraph.insertEdge(original, graphSource, graphTarget));
+	}
+	
+	
+	//liefert die ID einer Markierung des Ergebnisses im Markierungsgraphen,
+	//sie wird übertragen, falls sie über der Grenze liegt und noch fehlt
+	private int publishMarking(NetReduction reduction, ReachabilityResult result, int id) {
+		if(id < published) {
+			return id;
+		}
+		Integer graphId = pathMarkings.get(id);
+		if(graphId == null) {
+			final Marking marking = liftMarking(reduction, result, id);
+			markingGraph.insertMarking(marking);
+			graphId = markingGraph.indexOf(marking);
+			pathMarkings.put(id, graphId);
+		}
+		return graphId;
+	}
+	
+	
+	//Markierung des Ergebnisses, bei einem reduzierten Petri-Netz zurückübertragen
+	private Marking liftMarking(NetReduction reduction, ReachabilityResult result, int id) {
+		return new Marking(reduction == null ? result.getMarking(id) : reduction.liftMarking(result.getMarking(id)));
+	}
+	
+	
+	//Transition des ursprünglichen Petri-Netzes, bei einem reduzierten
+	//Petri-Netz die erste Transition der Schaltfolge
+	private Transition liftTransition(CompiledNet net, NetReduction reduction, int transition) {
+		return net.getTransition(reduction == null ? transition : reduction.getOriginalTransition(transition));
+	}
+	
+	
+	//Zeugenpfad von der Startmarkierung zur zweiten Markierung des
+	//Abbruchkriteriums, übertragen in das ursprüngliche Petri-Netz
+	private String liftPath(CompiledNet net, NetReduction reduction, ReachabilityResult result, int[] witness) {
+		final int[] transitions = new int[witness.length - 1];
+		for(int i = 1; i < witness.length; i++) {
+			transitions[i - 1] = result.getParentTransition(witness[i]);
+		}
+		final StringBuilder sb = new StringBuilder();
+		for(int transition : reduction.liftSequence(transitions)) {
+			sb.append(sb.length() > 0 ? "," : "").append(net.getTransition(transition).getId());
+		}
+		return sb.toString();
+	}
+	
+	
+	//alle Beobachter werden über den Event informiert
+	private void notifyListener(ModelEvent evt) {
+		for(ModelListener listener : listenerList) {
+			listener.modelChanged(evt);
 		}
 	}
 }
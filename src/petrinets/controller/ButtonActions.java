@@ -1,6 +1,8 @@
 package petrinets.controller;
 
 public enum ButtonActions {
-	OPEN_FILE, RESET, CHOOSE_MULTIPLE_DATA, RESET_PETRINET, CLEAR_MARKING_GRAPH, PLUS_TOKEN, MINUS_TOKEN, ANALYSE_GRAPH, PETRINET_CLICK, MARKING_GRAPH_CLICK
+	OPEN_FILE, RESET, CHOOSE_MULTIPLE_DATA, RESET_PETRINET, CLEAR_MARKING_GRAPH, PLUS_TOKEN, MINUS_TOKEN, ANALYSE_GRAPH, PETRINET_CLICK, MARKING_GRAPH_CLICK,
+	SEARCH_STRATEGY, STORAGE_BACKEND, EXPLORATION_MODE, STRUCTURAL_CHECK, NET_REDUCTION, BIT_STATE_SIZE, CHECKPOINT_DIRECTORY,
+	MAX_STATES, MAX_EDGES, TIMEOUT, HEAP_THRESHOLD, CANCEL_ANALYSIS, METRICS_INTERVAL, SEARCH_DEADLOCK, GRAPH_LIMIT
 	
 }
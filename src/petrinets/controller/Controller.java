@@ -6,23 +6,28 @@ import java.io.File;
 
 import javax.swing.AbstractAction;
 import javax.swing.JFileChooser;
-import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import petrinets.ModelAction;
 import petrinets.ModelEvent;
+import petrinets.analysis.ExplorationMode;
+import petrinets.analysis.ExplorationSettings;
+import petrinets.analysis.SearchStrategy;
+import petrinets.analysis.StorageBackend;
 import petrinets.petrinetModel.Petrinet;
 import petrinets.petrinetModel.Place;
 import petrinets.view.View;
 
 /**
  * Der Controller verarbeitet die Eingaben des Benutzers und gibt sie an das Datenmodell weiter.<br>
- * Der Controller übernimmt mit der Klasse {@link BoundednessAlgorithm} die Beschraenktheits-Analyse und<br>
- * mit der Klasse {@link MultipleFilesHandler} die Stapelverarbeitung
+ * Der Controller übernimmt mit der Klasse {@link BoundednessAlgorithm} die Beschraenktheits-Analyse,<br>
+ * die mit dem {@link AnalysisWorker} im Hintergrund läuft, und mit der Klasse {@link MultipleFilesHandler}<br>
+ * die Stapelverarbeitung
  * 
  * @see View
  * @see Petrinet
  * @see BoundednessAlgorithm
+ * @see AnalysisWorker
  * @see MultipleFilesHandler
  * 
  * @author Michael Assmair
@@ -43,6 +48,13 @@ public class Controller {
 	
 	//mit der Maus markierte Stelle
 	private Place highlightedPlace;
+	
+	//Einstellungen für die Analyse und die Stapelverarbeitung
+	private final ExplorationSettings settings = new ExplorationSettings();
+	
+	//laufende Analyse und Stapelverarbeitung, null falls keine gestartet wurde
+	private AnalysisWorker analysis;
+	private MultipleFilesHandler batch;
 
 	
 	/**
@@ -92,11 +104,11 @@ public class Controller {
 			//hier können mehrere Dateien ausgewählt werden
 		} else if(returnVal == JFileChooser.APPROVE_OPTION && multi){
 			//initialisiert Stapelverarbeitung zur Analyse mehrere Petri-Netze
-			final MultipleFilesHandler handler = new MultipleFilesHandler(fileChooser.getSelectedFiles());
+			batch = new MultipleFilesHandler(fileChooser.getSelectedFiles(), settings);
 			path = fileChooser.getCurrentDirectory().getPath();
-			handler.addListener(view.getTextPanel());
+			batch.addListener(view.getTextPanel());
 			//startet background task zur Analyse der übergebenen Petri-Netze 
-			handler.execute();
+			batch.execute();
 			//Auswahl-Dialog wurde mit Abbrechen beendet 
 		} else {
 			path = fileChooser.getCurrentDirectory().getPath();
@@ -104,17 +116,73 @@ public class Controller {
 	}
 
 	
-	//startet die Analyse des im View dargestellte Petri-Netzes
+	//öffnet einen Auswahl-Dialog für das Verzeichnis der Zwischenstände,
+	//mit Abbrechen werden keine Zwischenstände mehr gespeichert
+	private void chooseCheckpointDirectory() {
+		final JFileChooser fileChooser = new JFileChooser(settings.getCheckpointDirectory() == null
+				? new File(path) : settings.getCheckpointDirectory().toFile());
+		fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+		fileChooser.setDialogTitle("Verzeichnis für Zwischenstände (Abbrechen schaltet sie aus)");
+		
+		if(fileChooser.showDialog(view, "Auswählen") == JFileChooser.APPROVE_OPTION) {
+			settings.setCheckpointDirectory(fileChooser.getSelectedFile().toPath());
+			view.getTextPanel().modelChanged(new ModelEvent("Zwischenstände werden alle " + settings.getCheckpointInterval()
+					+ " Sekunden in " + fileChooser.getSelectedFile() + " gespeichert.", ModelAction.PRINT_LINE));
+		} else {
+			settings.setCheckpointDirectory(null);
+			view.getTextPanel().modelChanged(new ModelEvent("Es werden keine Zwischenstände gespeichert.", ModelAction.PRINT_LINE));
+		}
+	}
+	
+	
+	//startet die Analyse des im View dargestellte Petri-Netzes im Hintergrund,
+	//das Ergebnis wird nach Abschluss in einem Dialog angezeigt
 	private void analysePetrinet() {
+		analysePetrinet(settings);
+	}
+	
+	
+	//startet die Analyse mit den übergebenen Einstellungen
+	private void analysePetrinet(ExplorationSettings analysisSettings) {
 		//es muss ein Petri-Netz geladen sein
 		if (file != null) {
-			if(BoundednessAlgorithm.analysePetrinet(petrinet)){
-				JOptionPane.showMessageDialog(view, "Der Markierungs-Graph ist unbeschränkt.");	
-			} else {
-				JOptionPane.showMessageDialog(view, "Der Markierungs-Graph ist beschränkt.");	
-			}	
+			analysis = new AnalysisWorker(petrinet, analysisSettings, view);
+			analysis.execute();
 		}
 	}
+	
+	
+	//startet unabhängig von der gewählten Art des Graphen eine Verklemmungssuche,
+	//die übrigen Einstellungen werden übernommen
+	private void searchDeadlock() {
+		final ExplorationSettings deadlockSettings = new ExplorationSettings(settings);
+		deadlockSettings.setMode(ExplorationMode.DEADLOCK);
+		analysePetrinet(deadlockSettings);
+	}
+	
+	
+	//bricht die laufende Analyse und die laufende Stapelverarbeitung ab
+	private void cancelAnalysis() {
+		if(isAnalysing()) {
+			analysis.cancelAnalysis();
+		}
+		if(batch != null && !batch.isDone()) {
+			batch.cancelAnalysis();
+		}
+	}
+	
+	
+	//true, falls die Analyse des dargestellten Petri-Netzes läuft. Das Petri-Netz
+	//darf dann nicht verändert werden, eine Meldung weist darauf hin
+	private boolean isAnalysing() {
+		return analysis != null && !analysis.isDone();
+	}
+	
+	
+	//gibt aus, dass die Aktion während der Analyse nicht möglich ist
+	private void printAnalysing() {
+		view.getTextPanel().modelChanged(new ModelEvent("Die Analyse läuft noch, sie kann über die Toolbar abgebrochen werden.", ModelAction.PRINT_LINE));
+	}
 
 	
 	//ActionListener für die Menüleiste
@@ -127,8 +195,12 @@ public class Controller {
 
 		@Override
 		public void actionPerformed(ActionEvent evt) {
-			//Schaltfläche "Öffnen.." wurde gewählt
-			if(ButtonActions.OPEN_FILE == evt.getSource()) {
+			//während der Analyse darf kein Petri-Netz geladen werden
+			if(isAnalysing() && (ButtonActions.OPEN_FILE == evt.getSource() || ButtonActions.RESET == evt.getSource())) {
+				printAnalysing();
+				
+				//Schaltfläche "Öffnen.." wurde gewählt
+			} else if(ButtonActions.OPEN_FILE == evt.getSource()) {
 				highlightedPlace = null;
 				openFile(false);
 				
@@ -140,6 +212,59 @@ public class Controller {
 				//Schaltfläche "Analyse mehrerer Dateien..." wurde gewählt
 			} else if(ButtonActions.CHOOSE_MULTIPLE_DATA == evt.getSource()) {
 				openFile(true);
+				
+				//Suchstrategie der Exploration wurde gewählt
+				//Kommando enthält den Namen der Strategie
+			} else if(ButtonActions.SEARCH_STRATEGY == evt.getSource()) {
+				settings.setStrategy(SearchStrategy.valueOf(evt.getActionCommand()));
+				
+				//Speicher für die Exploration wurde gewählt
+				//Kommando enthält den Namen des Speichers
+			} else if(ButtonActions.STORAGE_BACKEND == evt.getSource()) {
+				settings.setStorage(StorageBackend.valueOf(evt.getActionCommand()));
+				
+				//Art des Graphen wurde gewählt
+				//Kommando enthält den Namen der Art
+			} else if(ButtonActions.EXPLORATION_MODE == evt.getSource()) {
+				settings.setMode(ExplorationMode.valueOf(evt.getActionCommand()));
+				
+				//Option "Strukturelle Vorprüfung" wurde gewählt
+				//Kommando enthält den Zustand der Option
+			} else if(ButtonActions.STRUCTURAL_CHECK == evt.getSource()) {
+				settings.setStructuralCheck(Boolean.parseBoolean(evt.getActionCommand()));
+				
+				//Option "Netzreduktion" wurde gewählt
+				//Kommando enthält den Zustand der Option
+			} else if(ButtonActions.NET_REDUCTION == evt.getSource()) {
+				settings.setReduction(Boolean.parseBoolean(evt.getActionCommand()));
+				
+				//Größe des Bitarrays für das Bitstate-Hashing wurde gewählt
+				//Kommando enthält den Zweierlogarithmus der Anzahl der Bits
+			} else if(ButtonActions.BIT_STATE_SIZE == evt.getSource()) {
+				settings.setBitStateSize(Integer.parseInt(evt.getActionCommand()));
+				
+				//Schaltfläche "Verzeichnis für Zwischenstände..." wurde gewählt
+			} else if(ButtonActions.CHECKPOINT_DIRECTORY == evt.getSource()) {
+				chooseCheckpointDirectory();
+				
+				//Grenzen der Exploration wurden gewählt
+				//Kommando enthält den Wert, 0 für unbegrenzt
+			} else if(ButtonActions.MAX_STATES == evt.getSource()) {
+				settings.setMaxStates(Integer.parseInt(evt.getActionCommand()));
+			} else if(ButtonActions.MAX_EDGES == evt.getSource()) {
+				settings.setMaxEdges(Long.parseLong(evt.getActionCommand()));
+			} else if(ButtonActions.TIMEOUT == evt.getSource()) {
+				settings.setTimeout(Integer.parseInt(evt.getActionCommand()));
+			} else if(ButtonActions.HEAP_THRESHOLD == evt.getSource()) {
+				settings.setHeapThreshold(Integer.parseInt(evt.getActionCommand()));
+				
+				//Abstand der Messwerte wurde gewählt, Kommando enthält Sekunden, 0 für aus
+			} else if(ButtonActions.METRICS_INTERVAL == evt.getSource()) {
+				settings.setMetricsInterval(Integer.parseInt(evt.getActionCommand()));
+				
+				//Anzahl der Markierungen im Markierungsgraphen wurde gewählt, Kommando enthält die Anzahl, 0 für alle
+			} else if(ButtonActions.GRAPH_LIMIT == evt.getSource()) {
+				settings.setGraphLimit(Integer.parseInt(evt.getActionCommand()));
 			}	
 		}
 	}
@@ -150,8 +275,16 @@ public class Controller {
 
 		@Override
 		public void actionPerformed(ActionEvent evt) {
-			//Button "resetPetrinet" wurde betätigt
-			if(ButtonActions.RESET_PETRINET == evt.getSource() && file != null) {
+			//Button "cancelAnalysis" wurde betätigt
+			if(ButtonActions.CANCEL_ANALYSIS == evt.getSource()) {
+				cancelAnalysis();
+				
+				//während der Analyse wird das Petri-Netz nicht verändert
+			} else if(isAnalysing()) {
+				printAnalysing();
+				
+				//Button "resetPetrinet" wurde betätigt
+			} else if(ButtonActions.RESET_PETRINET == evt.getSource() && file != null) {
 				petrinet.setMarking("0");
 				
 				//Button "clearMarkingGraph" wurde betätigt
@@ -170,6 +303,10 @@ public class Controller {
 				//Button "analyseGraph" wurde betätigt
 			} else if(ButtonActions.ANALYSE_GRAPH == evt.getSource()) {
 				analysePetrinet();
+				
+				//Button "searchDeadlock" wurde betätigt
+			} else if(ButtonActions.SEARCH_DEADLOCK == evt.getSource()) {
+				searchDeadlock();
 			}	
 		}	
 	}
@@ -181,6 +318,11 @@ public class Controller {
 
 		@Override
 		public void actionPerformed(ActionEvent evt) {
+			//während der Analyse wird das Petri-Netz nicht verändert
+			if(isAnalysing()) {
+				return;
+			}
+			
 			//Klick auf Knoten des Petri-Netzes
 			if(ButtonActions.PETRINET_CLICK.equals(evt.getSource())) {
 				if(petrinet.getTransitions().containsKey(evt.getActionCommand())){
@@ -2,6 +2,7 @@ package petrinets.controller;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -12,6 +13,9 @@ import javax.swing.SwingWorker;
 import petrinets.ModelAction;
 import petrinets.ModelEvent;
 import petrinets.ModelListener;
+import petrinets.analysis.ExplorationMetrics;
+import petrinets.analysis.ExplorationMonitor;
+import petrinets.analysis.ExplorationSettings;
 import petrinets.markingGraphModel.Marking;
 import petrinets.markingGraphModel.MarkingGraphEdge;
 import petrinets.markingGraphModel.MarkingGraph;
@@ -33,9 +37,40 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 	//Pfad von der Startmarkierung zur Markierung des Abbruchkriteriums
 	private final List<String> omegaPath = new ArrayList<>();
 	
+	//Pfad des Abbruchkriteriums im ursprünglichen Petri-Netz, leer falls nicht reduziert
+	private final List<String> liftedPath = new ArrayList<>();
+	
 	//Beide Markierungen des Abbruchkriteriums
 	private final List<String> omgeaMarkings = new ArrayList<>();
 	
+	//Schranken der Stellen aus den P-Invarianten, null falls nicht berechnet
+	private String placeBounds;
+	
+	//strukturelles Argument für die Beschränktheit, null falls exploriert wurde
+	private String structuralBound;
+	
+	//besuchte Markierungen und Verlässlichkeit eines approximativen Ergebnisses, null falls exakt exploriert wurde
+	private String approximateBound;
+	
+	//Markierungen und Kanten eines exakt explorierten beschränkten Petri-Netzes, null falls nicht exploriert wurde
+	private String exactBound;
+	
+	//Markierungen, Kanten und Grund einer vorzeitig beendeten Exploration, null falls sie vollständig ist
+	private String undecidedBound;
+	
+	//zuletzt gemeldete Messwerte der Exploration, null falls nicht exploriert wurde
+	private ExplorationMetrics metrics;
+	
+	//Verklemmungen, Lebendigkeit und Reversibilität, null falls nicht bestimmt
+	private String liveness;
+	
+	//Schaltfolge zur gefundenen Verklemmung oder "keine", null falls nicht gesucht oder nicht entschieden
+	private String deadlock;
+	
+	//Überwachung der Analyse der aktuellen Datei und true, falls die Stapelverarbeitung abgebrochen wurde
+	private volatile ExplorationMonitor monitor;
+	private volatile boolean stopped;
+	
 	//Liste von Beobachtern
 	private final Set<ModelListener> listenerList = new HashSet<>();
 	
@@ -47,6 +82,9 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 	
 	//Dateien die verarbeitet werden
 	private final File[] files;
+	
+	//Einstellungen der Exploration
+	private final ExplorationSettings settings;
 
 	
 	/**
@@ -56,9 +94,14 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 	 * 
 	 * 
 	 * @param files Dateien die verarbeitet werden sollen
+	 * @param settings Einstellungen der Exploration, es wird eine Kopie verwendet
 	 */
-	MultipleFilesHandler(File[] files) {
+	MultipleFilesHandler(File[] files, ExplorationSettings settings) {
 		this.files = files;
+		this.settings = new ExplorationSettings(settings);
+		//der Markierungsgraph wird nicht angezeigt, übertragen werden
+		//nur die Startmarkierung und die Pfade für die Ausgabe
+		this.settings.setGraphLimit(1);
 		petrinet.addListener(this);
 		markingGraph.addListener(this);
 	}
@@ -74,7 +117,15 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 		//liste von Zwischenergebnissen 
 		List<String> list = new ArrayList<>();
 		//Schleife über alle zu verarbeitenden Dateien
-		for(File file : files) {
+		for(int idx = 0; idx < files.length; idx++) {
+			final File file = files[idx];
+			
+			//nach einem Abbruch werden die übrigen Dateien nicht mehr analysiert
+			if(stopped) {
+				list.add("Stapelverarbeitung abgebrochen, " + (files.length - idx) + " Dateien wurden nicht analysiert.");
+				break;
+			}
+			
 			//StringBuilder für die Textausgabe
 			final StringBuilder sb = new StringBuilder();
 			
@@ -82,11 +133,22 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 			sb.append(String.format("%1$-54.54s %2$s", file.getName(), "|"));
 			loadNewPetrinet(file);
 			
+			//jede Datei hat eigene Grenzen, ein Abbruch zwischen den Abfragen wird nachgeholt
+			monitor = new ExplorationMonitor(settings);
+			if(stopped) {
+				monitor.cancel();
+			}
+			
 			//Markierungsgraph ist unbeschränkt
-			if(BoundednessAlgorithm.analysePetrinet(petrinet)) {
+			if(BoundednessAlgorithm.analysePetrinet(petrinet, settings, monitor)) {
 				//Pfad des Abbruchkriteriums in umgekehrter Reihenfolge
 				//der Geschalteten Transitionen
 				Collections.reverse(omegaPath);
+				//bei reduziertem Petri-Netz wird der Pfad im ursprünglichen Petri-Netz ausgegeben
+				if(!liftedPath.isEmpty()) {
+					omegaPath.clear();
+					omegaPath.addAll(liftedPath);
+				}
 				
 				//Ausgabe für geschaltete Transitionen
 				//und Pfad des Abbruchkriteriums
@@ -94,11 +156,42 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 				sb.append(String.format("%1$-30.30s", omegaPath.size() + ":" + omegaPathToString() + ";"));
 				sb.append(String.format("%1$-20.20s %2$-20.20s", omgeaMarkings.get(1) + ",", omgeaMarkings.get(0)));
 				
+				//Grenze der Exploration erreicht oder abgebrochen
+			} else if(undecidedBound != null) {
+				sb.append(String.format("%1$-11.11s %2$s", "unentsch.", "|"));
+				sb.append(undecidedBound);
+				
 				//Markierungsgraph ist beschränkt
 			} else {
-				//Ausgabe Anzahl der Knoten und Kanten des Markierungsgraphen
-				sb.append(String.format("%1$-11.11s %2$s", "ja", "|"));
-				sb.append(markingGraph.size() + "/" + markingGraph.getEdgesNumber());
+				//bei approximativer Exploration vermutlich beschränkt
+				sb.append(String.format("%1$-11.11s %2$s", approximateBound != null ? "ja (appr.)" : "ja", "|"));
+				//ohne Exploration strukturell entschieden
+				if(structuralBound != null) {
+					sb.append(structuralBound);
+				} else if(approximateBound != null) {
+					sb.append(approximateBound);
+				} else {
+					//Ausgabe Anzahl der Knoten und Kanten des Erreichbarkeitsgraphen
+					sb.append(exactBound);
+				}
+			}
+			
+			//Ausgabe der Schranken aus den P-Invarianten
+			if(placeBounds != null) {
+				sb.append(" Schranken: " + placeBounds);
+			}
+			//Ausgabe von Verklemmungen, Lebendigkeit und Reversibilität
+			if(liveness != null) {
+				sb.append(" Lebendigkeit: " + liveness);
+			}
+			//Ausgabe der Verklemmungssuche
+			if(deadlock != null) {
+				sb.append(" Verklemmung: " + deadlock);
+			}
+			//Ausgabe der Messwerte der Exploration
+			if(metrics != null) {
+				sb.append(String.format(" Messwerte: %.0f Markierungen/s, %.1f Bytes pro Markierung",
+						metrics.getStatesPerSecond(), metrics.getBytesPerState()));
 			}
 			//Zwischenergebnis wird Liste hinzugefügt für
 			//die Ausgabe nach Beendigung der Stapelverarbeitung 
@@ -112,12 +205,35 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 		//setzt Pfad und Markierungen
 		//des Abbruchkriteriums zurück
 		omegaPath.clear();
+		liftedPath.clear();
 		omgeaMarkings.clear();
+		placeBounds = null;
+		structuralBound = null;
+		approximateBound = null;
+		exactBound = null;
+		undecidedBound = null;
+		metrics = null;
+		liveness = null;
+		deadlock = null;
 
 		petrinet.loadPetrinetFromFile(file);
 	}
 	
 	
+	/**
+	 * Bricht die Stapelverarbeitung ab. Die Analyse der aktuellen Datei endet<br>
+	 * unentschieden mit dem bisherigen Ergebnis, die übrigen Dateien werden nicht analysiert.<br>
+	 * Darf von jedem Thread aufgerufen werden.
+	 */
+	void cancelAnalysis() {
+		stopped = true;
+		final ExplorationMonitor current = monitor;
+		if(current != null) {
+			current.cancel();
+		}
+	}
+	
+	
 	/**
 	 * Beobachter werden während der Verarbeitung über<br>
 	 * Events informiert
@@ -164,6 +280,15 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 	 * <li> <Strong>setOmegaPathEdge</Strong> - verarbeitet den Pfad zum Abbruchkriterium. Quelle {@link MarkingGraphEdge}
 	 * <li> <Strong>setSecondOmegaMarking</Strong> - setzt die zweite Markierung für das Abbruchkriterium. Quelle {@link Marking}
 	 * <li> <Strong>setFirstOmegaMarking</Strong> - setzt die erste Markierung für das Abbruchkriterium. Quelle {@link Marking}
+	 * <li> <Strong>setPlaceBounds</Strong> - Schranken der Stellen aus den P-Invarianten. Quelle {@link String}
+	 * <li> <Strong>setFiringSequence</Strong> - Pfad des Abbruchkriteriums im ursprünglichen Petri-Netz, durch Kommas getrennt. Quelle {@link String}
+	 * <li> <Strong>setStructuralBounded</Strong> - Beschränktheit ohne Exploration entschieden. Quelle {@link String}
+	 * <li> <Strong>setApproximate</Strong> - Beschränktheit bei Bitstate-Hashing oder Hash-Kompaktierung nur approximativ entschieden. Quelle {@link String}
+	 * <li> <Strong>setBounded</Strong> - Beschränktheit exakt entschieden, Anzahl der Markierungen und Kanten. Quelle {@link String}
+	 * <li> <Strong>setUndecided</Strong> - Exploration vorzeitig beendet, Beschränktheit nicht entschieden. Quelle {@link String}
+	 * <li> <Strong>setMetrics</Strong> - Messwerte der Exploration, werden auch weitergegeben. Quelle {@link ExplorationMetrics}
+	 * <li> <Strong>setLiveness</Strong> - Verklemmungen, Lebendigkeit und Reversibilität des beschränkten Petri-Netzes. Quelle {@link String}
+	 * <li> <Strong>setDeadlock</Strong> - Ergebnis der Verklemmungssuche, Länge und Schaltfolge mit der Verklemmung oder "keine". Quelle {@link String}
 	 * <li> <Strong>loadFile</Strong> - Ausgabe das eine neue Datei geladen wurde. Quelle {@link File}
 	 * </ul>
 	 * 
@@ -188,6 +313,43 @@ class MultipleFilesHandler extends SwingWorker<List<String>, ModelEvent> impleme
 		} else if(ModelAction.SET_FIRST_OMEGA_MARKING.equals(evt.getAction())) {
 			omgeaMarkings.add(((Marking)evt.getSource()).toString());
 			
+			//Schranken der Stellen aus den P-Invarianten werden übergeben
+		} else if(ModelAction.SET_PLACE_BOUNDS.equals(evt.getAction())) {
+			placeBounds = (String)evt.getSource();
+			
+			//Pfad des Abbruchkriteriums im ursprünglichen Petri-Netz wird übergeben
+		} else if(ModelAction.SET_FIRING_SEQUENCE.equals(evt.getAction())) {
+			liftedPath.addAll(Arrays.asList(((String)evt.getSource()).split(",")));
+			
+			//Beschränktheit wurde ohne Exploration entschieden
+		} else if(ModelAction.SET_STRUCTURAL_BOUNDED.equals(evt.getAction())) {
+			structuralBound = (String)evt.getSource();
+			
+			//Beschränktheit wurde approximativ entschieden
+		} else if(ModelAction.SET_APPROXIMATE.equals(evt.getAction())) {
+			approximateBound = (String)evt.getSource();
+			
+			//Beschränktheit wurde exakt entschieden
+		} else if(ModelAction.SET_BOUNDED.equals(evt.getAction())) {
+			exactBound = (String)evt.getSource();
+			
+			//Exploration wurde vorzeitig beendet
+		} else if(ModelAction.SET_UNDECIDED.equals(evt.getAction())) {
+			undecidedBound = (String)evt.getSource();
+			
+			//Verklemmungen, Lebendigkeit und Reversibilität wurden bestimmt
+		} else if(ModelAction.SET_LIVENESS.equals(evt.getAction())) {
+			liveness = (String)evt.getSource();
+			
+			//Ergebnis der Verklemmungssuche wird übergeben
+		} else if(ModelAction.SET_DEADLOCK.equals(evt.getAction())) {
+			deadlock = (String)evt.getSource();
+			
+			//Messwerte der Exploration, die letzten gelten für die Datei
+		} else if(ModelAction.SET_METRICS.equals(evt.getAction())) {
+			metrics = (ExplorationMetrics)evt.getSource();
+			publish(evt);
+			
 			//neue Datei wurde geladen. Datei soll nicht im label angezeigt werden
 		} else if(ModelAction.LOAD_FILE.equals(evt.getAction())) {
 			publish(new ModelEvent(((File)evt.getSource()).getName() + " wurde geladen", ModelAction.PRINT_LINE));
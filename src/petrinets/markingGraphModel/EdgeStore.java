@@ -0,0 +1,287 @@
+package petrinets.markingGraphModel;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse repräsentiert die Kanten eines Markierungsgraphen in primitiven Arrays.<br>
+ * Eine Kante wird über ihre ID angesprochen, das ist die Position, an der sie eingefügt<br>
+ * wurde. Quelle, Ziel und Index der Transition liegen in je einem Array.<p>
+ * 
+ * Die ausgehenden Kanten einer Markierung liefert ein Index im CSR-Format<br>
+ * (compressed sparse row): für jede Markierung die Position ihrer ersten Kante und<br>
+ * dahinter zusammenhängend die IDs ihrer Kanten. Der Index wird erst beim Lesen neu<br>
+ * aufgebaut, so dass das Einfügen vieler Kanten linear bleibt.<p>
+ * 
+ * Für die eingehenden Kanten gibt es einen zweiten Index im selben Format, der erst<br>
+ * bei der ersten Abfrage eingehender Kanten aufgebaut wird und nur dann Speicher belegt.<p>
+ * 
+ * Zum Suchen einer Kante sind die Kanten jeder Quelle zusätzlich beim Einfügen verkettet,<br>
+ * so dass das Schalten einzelner Transitionen den Index nicht jedes Mal neu aufbaut.
+ * 
+ * @author Michael Assmair
+ * 
+ * @see MarkingGraph
+ *
+ */
+final class EdgeStore {
+	
+	//Anfangsgröße der Arrays
+	private static final int INITIAL_CAPACITY = 16;
+	
+	//Quelle, Index der Transition und Ziel jeder Kante
+	private int[] sources = new int[INITIAL_CAPACITY];
+	private int[] transitions = new int[INITIAL_CAPACITY];
+	private int[] targets = new int[INITIAL_CAPACITY];
+	
+	//zuletzt eingefügte Kante jeder Quelle und je Kante die davor eingefügte Kante
+	//derselben Quelle, jeweils um eins verschoben, 0 steht für keine Kante
+	private int[] lastEdges = new int[INITIAL_CAPACITY];
+	private int[] previousEdges = new int[INITIAL_CAPACITY];
+	
+	//Anzahl der Kanten und Anzahl der Markierungen mit ausgehenden bzw. eingehenden Kanten
+	private int size;
+	private int rows;
+	private int columns;
+	
+	//CSR-Index, Position der ersten Kante jeder Markierung in rowEdges
+	//und die nach Quelle sortierten IDs der Kanten
+	private int[] rowOffsets = new int[1];
+	private int[] rowEdges = new int[0];
+	
+	//Anzahl der Kanten und Markierungen, die im Index enthalten sind
+	private int indexedEdges;
+	private int indexedRows;
+	
+	//Index der eingehenden Kanten, Position der ersten Kante jeder Markierung
+	//in columnEdges und die nach Ziel sortierten IDs der Kanten, null vor der ersten Abfrage
+	private int[] columnOffsets;
+	private int[] columnEdges;
+	
+	//Anzahl der Kanten und Markierungen, die im Index der eingehenden Kanten enthalten sind
+	private int reverseIndexedEdges;
+	private int indexedColumns;
+	
+	
+	/**
+	 * Fügt eine Kante hinzu.
+	 * 
+	 * @param source ID der Markierung vor dem Schalten
+	 * @param transition Index der geschalteten Transition
+	 * @param target ID der Markierung nach dem Schalten
+	 * 
+	 * @return ID der Kante
+	 */
+	int add(int source, int transition, int target) {
+		if(size == sources.length) {
+			sources = Arrays.copyOf(sources, size * 2);
+			transitions = Arrays.copyOf(transitions, size * 2);
+			targets = Arrays.copyOf(targets, size * 2);
+			previousEdges = Arrays.copyOf(previousEdges, size * 2);
+		}
+		if(source >= lastEdges.length) {
+			lastEdges = Arrays.copyOf(lastEdges, Math.max(source + 1, lastEdges.length * 2));
+		}
+		previousEdges[size] = lastEdges[source];
+		lastEdges[source] = size + 1;
+		sources[size] = source;
+		transitions[size] = transition;
+		targets[size] = target;
+		rows = Math.max(rows, source + 1);
+		columns = Math.max(columns, target + 1);
+		return size++;
+	}
+	
+	
+	/**
+	 * Sucht die Kante mit der übergebenen Quelle, Transition und Ziel.<br>
+	 * Durchlaufen werden nur die Kanten der Quelle, der Index wird dabei nicht aufgebaut.
+	 * 
+	 * @param source ID der Markierung vor dem Schalten
+	 * @param transition Index der geschalteten Transition
+	 * @param target ID der Markierung nach dem Schalten
+	 * 
+	 * @return ID der Kante oder -1, falls sie nicht enthalten ist
+	 */
+	int find(int source, int transition, int target) {
+		if(source >= lastEdges.length) {
+			return -1;
+		}
+		for(int edge = lastEdges[source] - 1; edge >= 0; edge = previousEdges[edge] - 1) {
+			if(transitions[edge] == transition && targets[edge] == target) {
+				return edge;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der ausgehenden Kanten einer Markierung liefert.
+	 * 
+	 * @param source ID der Markierung
+	 * 
+	 * @return Anzahl der ausgehenden Kanten
+	 */
+	int outDegree(int source) {
+		ensureIndex();
+		return source < indexedRows ? rowOffsets[source + 1] - rowOffsets[source] : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die eine ausgehende Kante einer Markierung liefert.
+	 * 
+	 * @param source ID der Markierung
+	 * @param k Position der Kante unter den ausgehenden Kanten, kleiner als {@link #outDegree(int)}
+	 * 
+	 * @return ID der Kante
+	 */
+	int outEdge(int source, int k) {
+		ensureIndex();
+		return rowEdges[rowOffsets[source] + k];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der eingehenden Kanten einer Markierung liefert.<br>
+	 * Beim ersten Aufruf wird der Index der eingehenden Kanten aufgebaut.
+	 * 
+	 * @param target ID der Markierung
+	 * 
+	 * @return Anzahl der eingehenden Kanten
+	 */
+	int inDegree(int target) {
+		ensureReverseIndex();
+		return target < indexedColumns ? columnOffsets[target + 1] - columnOffsets[target] : 0;
+	}
+	
+	
+	/**
+	 * Getter-Methode, die eine eingehende Kante einer Markierung liefert.
+	 * 
+	 * @param target ID der Markierung
+	 * @param k Position der Kante unter den eingehenden Kanten, kleiner als {@link #inDegree(int)}
+	 * 
+	 * @return ID der Kante
+	 */
+	int inEdge(int target, int k) {
+		ensureReverseIndex();
+		return columnEdges[columnOffsets[target] + k];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Quelle einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return ID der Markierung vor dem Schalten
+	 */
+	int getSource(int edge) {
+		return sources[edge];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die den Index der geschalteten Transition einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return Index der Transition
+	 */
+	int getTransition(int edge) {
+		return transitions[edge];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die das Ziel einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return ID der Markierung nach dem Schalten
+	 */
+	int getTarget(int edge) {
+		return targets[edge];
+	}
+	
+	
+	/**
+	 * Getter-Methode, die die Anzahl der Kanten liefert.
+	 * 
+	 * @return Anzahl der Kanten
+	 */
+	int size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Entfernt alle Kanten und gibt die Arrays frei.
+	 */
+	void clear() {
+		sources = new int[INITIAL_CAPACITY];
+		transitions = new int[INITIAL_CAPACITY];
+		targets = new int[INITIAL_CAPACITY];
+		lastEdges = new int[INITIAL_CAPACITY];
+		previousEdges = new int[INITIAL_CAPACITY];
+		size = 0;
+		rows = 0;
+		columns = 0;
+		rowOffsets = new int[1];
+		rowEdges = new int[0];
+		indexedEdges = 0;
+		indexedRows = 0;
+		columnOffsets = null;
+		columnEdges = null;
+		reverseIndexedEdges = 0;
+		indexedColumns = 0;
+	}
+	
+	
+	//baut den Index neu auf, falls seit dem letzten Aufbau Kanten eingefügt wurden
+	private void ensureIndex() {
+		if(indexedEdges != size) {
+			buildIndex();
+		}
+	}
+	
+	
+	//baut den Index der eingehenden Kanten beim ersten Aufruf
+	//und nach dem Einfügen weiterer Kanten neu auf
+	private void ensureReverseIndex() {
+		if(columnOffsets == null || reverseIndexedEdges != size) {
+			columnOffsets = new int[columns + 1];
+			columnEdges = sortEdges(targets, columns, columnOffsets);
+			reverseIndexedEdges = size;
+			indexedColumns = columns;
+		}
+	}
+	
+	
+	//baut den Index der ausgehenden Kanten auf
+	private void buildIndex() {
+		rowOffsets = new int[rows + 1];
+		rowEdges = sortEdges(sources, rows, rowOffsets);
+		indexedEdges = size;
+		indexedRows = rows;
+	}
+	
+	
+	//sortiert die IDs der Kanten durch Zählen nach der übergebenen Markierung, Quelle oder Ziel,
+	//die Kanten einer Markierung bleiben in der Reihenfolge ihrer ID
+	private int[] sortEdges(int[] keys, int count, int[] offsets) {
+		for(int edge = 0; edge < size; edge++) {
+			offsets[keys[edge] + 1]++;
+		}
+		for(int key = 0; key < count; key++) {
+			offsets[key + 1] += offsets[key];
+		}
+		final int[] edges = new int[size];
+		final int[] next = Arrays.copyOf(offsets, count);
+		for(int edge = 0; edge < size; edge++) {
+			edges[next[keys[edge]]++] = edge;
+		}
+		return edges;
+	}
+}
@@ -1,11 +1,8 @@
 package petrinets.markingGraphModel;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import petrinets.petrinetModel.Place;
 
@@ -23,15 +20,17 @@ import petrinets.petrinetModel.Place;
  */
 public class Marking {
 	
+	/**
+	 * Wert einer Stelle in einem Überdeckungsgraphen, die beliebig viele Marken tragen kann.
+	 */
+	public static final int OMEGA = Integer.MAX_VALUE;
+	
 	//Array der die Anzahl der Marken für jede Stelle speichert
 	private int[] marking;
 	
 	//ID der Markierung
 	private int markingID;
 	
-	//Adjazenztliste der ausgehenden Kanten
-	private Set<MarkingGraphEdge> adjList = new HashSet<>();
-	
 	/**
 	 * Konstruktor für eine Markierung.<br>
 	 * Aus der übergebene Menge an Stellen wird die Markierung des Petri-Netzes bestimmt.
@@ -55,12 +54,13 @@ public class Marking {
 	}
 	
 	/**
-	 * Getter-Methode, die die Liste der ausgehende Kanten liefert.
+	 * Konstruktor für eine Markierung aus ihrer Array-Darstellung.<br>
+	 * Der übergebene Array wird übernommen und darf danach nicht mehr verändert werden.
 	 * 
-	 * @return Liste der ausgehenden Kanten.
+	 * @param marking Anzahl der Marken für jede Stelle in der Reihenfolge der Stellen
 	 */
-	public final Set<MarkingGraphEdge> getAdjList() {
-		return adjList;
+	public Marking(int[] marking) {
+		this.marking = marking;
 	}
 	
 	/**
@@ -81,6 +81,11 @@ public class Marking {
 		return Integer.toString(markingID);
 	}
 
+	//liefert die ID der Markierung als Zahl für die Kanten des Markierungsgraphen
+	final int getIndex() {
+		return markingID;
+	}
+	
 	/**
 	 * Setter-Methoden, die die ID der Markierung setzt.
 	 * 
@@ -93,7 +98,8 @@ public class Marking {
 	/**
 	 * Überschreibt die toString Methode der Object-Klasse.<br>
 	 * Liefert eine String-Darstellung der Markierung in der Form<br> 
-	 * "(Token der ersten Stelle|Token der zweiten Stelle|...|Token der letzten Stelle)"
+	 * "(Token der ersten Stelle|Token der zweiten Stelle|...|Token der letzten Stelle)"<br>
+	 * Stellen mit beliebig vielen Marken werden als "ω" dargestellt.
 	 * 
 	 * @return String-Darstellung der Markierung
 	 * 
@@ -102,7 +108,11 @@ public class Marking {
 	public final String toString() {	
 		StringBuilder sb = new StringBuilder("(");	
 		for(int i = 0; i < marking.length; i++) {
-			sb.append(marking[i]);
+			if(marking[i] == OMEGA) {
+				sb.append("ω");
+			} else {
+				sb.append(marking[i]);
+			}
 			if(i < marking.length-1)
 				sb.append("|");
 		}		
@@ -131,11 +141,28 @@ public class Marking {
 	
 	/**
 	 * Überschreibt die hashCode Methode der Object-Klasse.<br>
-	 * Erzeugt aus der ID des Elementes den Hashcode.
+	 * Erzeugt aus dem Inhalt des Arrays der Markierung den Hashcode,<br>
+	 * so dass gleiche Markierungen den selben Hashcode liefern.
 	 */
 	@Override
 	public final int hashCode() {
-		return Objects.hash(marking);
+		return Arrays.hashCode(marking);
+	}
+	
+	/**
+	 * Gibt true zurück, falls mindestens eine Stelle beliebig viele Marken tragen kann.
+	 * 
+	 * @return true, falls die Markierung ω enthält
+	 * 
+	 * @see #OMEGA
+	 */
+	public final boolean containsOmega() {
+		for(int tokens : marking) {
+			if(tokens == OMEGA) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	/**
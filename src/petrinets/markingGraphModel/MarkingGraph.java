@@ -1,7 +1,11 @@
 package petrinets.markingGraphModel;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import petrinets.ModelAction;
@@ -14,6 +18,15 @@ import petrinets.petrinetModel.Transition;
  * Diese Klasse repräsentiert das Datenmodell eines Markierungsgraphen.<br>
  * Bei dieser Klasse kann sich ein {@link ModelListener} über die Methode <code>addListener</code><br> 
  * anmelden, der über Änderungen des Datenmodells informiert wird.<br>
+ * Zusätzlich zur Liste wird ein Index von Markierung auf ID geführt,<br>
+ * so dass das Suchen und Einfügen einer Markierung in konstanter Zeit erfolgt.<p>
+ * 
+ * Die Kanten liegen als Quelle, Index der Transition und Ziel in primitiven Arrays<br>
+ * und werden über eine numerische ID angesprochen. Eine {@link MarkingGraphEdge}<br>
+ * wird erst für die Beobachter bzw. über {@link #getEdge(int)} erzeugt.<p>
+ * 
+ * Für Fragen nach der Rückwärts-Erreichbarkeit wird bei Bedarf ein Index der eingehenden<br>
+ * Kanten aufgebaut, über den eine Rückwärts-Breitensuche ohne erneute Exploration erfolgt.
  * 
  * 
  * @author Michael Assmair
@@ -32,6 +45,16 @@ public class MarkingGraph extends ArrayList<Marking>{
 	//Liste der Beobachter die bei dem Datenmodell angemeldet sind
 	private final Set<ModelListener> listenerList = new HashSet<>();
 	
+	//Index der Markierungen, liefert zu einer Markierung deren ID
+	private final Map<Marking, Integer> markingIndex = new HashMap<>();
+	
+	//Kanten des Graphen mit Index der ausgehenden Kanten jeder Markierung
+	private final EdgeStore edges = new EdgeStore();
+	
+	//Transitionen der Kanten und deren Index
+	private final List<Transition> transitions = new ArrayList<>();
+	private final Map<Transition, Integer> transitionIndex = new HashMap<>();
+	
 	//Aktuell hervorgehobene Markierung
 	private Marking currentMarking;
 	
@@ -44,12 +67,15 @@ public class MarkingGraph extends ArrayList<Marking>{
 	 * @see Marking
 	 */
 	public final void initMarkingGraph(Marking marking) {
-		//löscht Liste von Markierungen
+		//löscht Liste von Markierungen und deren Index
 		clear();
-		//löscht ausgehende Kanten der Startmarkierung
-		marking.getAdjList().clear();
+		markingIndex.clear();
+		//löscht alle Kanten
+		edges.clear();
+		transitions.clear();
+		transitionIndex.clear();
 		//fügt Startmarkierung dem Graphen hinzu
-		add(marking);
+		addMarking(marking);
 		notifyListener(new ModelEvent(marking, ModelAction.ADD_MARKING));
 		currentMarking = marking;
 	}
@@ -60,7 +86,7 @@ public class MarkingGraph extends ArrayList<Marking>{
 	 */
 	public final void resetMarkingGraph() {
 		//wird nur ausgeführt, falls es mehr als nur die Startmarkierung gibt.
-		if(get(0).getAdjList().size() > 0) {
+		if(edges.size() > 0) {
 			notifyListener(new ModelEvent("Markierungs-Grapf wird zurückgesetzt.", ModelAction.PRINT_LINE));
 			initMarkingGraph(get(0));
 		}
@@ -83,14 +109,16 @@ public class MarkingGraph extends ArrayList<Marking>{
 	 * @return boolean - true, falls übergebene Markierung noch nicht im Markierungsgraphen
 	 */
 	public final boolean update(Transition transition, Marking marking) {
+		//ID der Markierung, null falls noch nicht enthalten
+		final Integer id = markingIndex.get(marking);
+		
 		//Markierung noch nicht enthalten
-		if(!contains(marking)) {
+		if(id == null) {
 			//fügt Markierung hinzu und setzt ID
-			add(marking);
-			marking.setMarkingID(size()-1);
+			addMarking(marking);
 			notifyListener(new ModelEvent(marking, ModelAction.ADD_MARKING));
 			//aktualisiert Kanten
-			updateEdges(new MarkingGraphEdge(transition, currentMarking, marking));
+			updateEdges(transition, marking);
 			//new aktuelle Markierung des Graphen
 			currentMarking = marking;
 			return true;
@@ -98,26 +126,105 @@ public class MarkingGraph extends ArrayList<Marking>{
 			//Markierung bereits im Graphen
 		} else {
 			//holt Markierung mit ID aus dem Graphen
-			marking = get(indexOf(marking));
+			marking = get(id);
 			notifyListener(new ModelEvent(marking, ModelAction.HIGHLIGHT_MARKING));
 			//aktualisiert Kanten
-			updateEdges(new MarkingGraphEdge(transition, currentMarking, marking));
+			updateEdges(transition, marking);
 			//neue aktuelle Markierung
 			currentMarking = marking;
 			return false;
 		}
 	}
 	
+	/**
+	 * Fügt eine noch nicht enthaltene Markierung in den Graphen ein, ohne die<br>
+	 * aktuell hervorgehobene Markierung zu verändern.<br>
+	 * Wird verwendet, um das Ergebnis einer Analyse in den Graphen zu übertragen.
+	 * 
+	 * @param marking einzufügende Markierung
+	 */
+	public final void insertMarking(Marking marking) {
+		addMarking(marking);
+		notifyListener(new ModelEvent(marking, ModelAction.ADD_MARKING));
+	}
+	
+	/**
+	 * Fügt eine noch nicht enthaltene Kante in den Graphen ein, ohne die<br>
+	 * aktuell hervorgehobene Markierung zu verändern.<br>
+	 * Beide Markierungen der Kante müssen bereits im Graphen enthalten sein.
+	 * 
+	 * @param transition geschaltete Transition
+	 * @param source ID der Markierung vor dem Schalten
+	 * @param target ID der Markierung nach dem Schalten
+	 * 
+	 * @return ID der Kante
+	 */
+	public final int insertEdge(Transition transition, int source, int target) {
+		final int edge = edges.add(source, indexOf(transition), target);
+		if(!listenerList.isEmpty()) {
+			notifyListener(new ModelEvent(getEdge(edge), ModelAction.ADD_EDGE));
+		}
+		return edge;
+	}
+	
+	//fügt die Markierung am Ende der Liste und in den Index ein
+	//die ID entspricht der Position in der Liste
+	private void addMarking(Marking marking) {
+		marking.setMarkingID(size());
+		markingIndex.put(marking, size());
+		add(marking);
+	}
+	
+	/**
+	 * Überschreibt die contains Methode der ArrayList.<br>
+	 * Die Suche erfolgt über den Index der Markierungen.
+	 * 
+	 * @param obj zu suchende Markierung
+	 * 
+	 * @return true, falls die Markierung im Graphen enthalten ist
+	 */
+	@Override
+	public final boolean contains(Object obj) {
+		return markingIndex.containsKey(obj);
+	}
+	
+	/**
+	 * Überschreibt die indexOf Methode der ArrayList.<br>
+	 * Die Suche erfolgt über den Index der Markierungen.
+	 * 
+	 * @param obj zu suchende Markierung
+	 * 
+	 * @return ID der Markierung oder -1, falls sie nicht enthalten ist
+	 */
+	@Override
+	public final int indexOf(Object obj) {
+		final Integer id = markingIndex.get(obj);
+		return id == null ? -1 : id;
+	}
+	
 	//aktualisiert die Kanten des Markierungsgraphen.
-	private void updateEdges(MarkingGraphEdge edge) {
+	private void updateEdges(Transition transition, Marking marking) {
+		final int source = currentMarking.getIndex();
+		final int edge = findEdge(source, transition, marking.getIndex());
 		//Kante noch nicht vorhanden und wird hinzugefügt
-		if(!currentMarking.getAdjList().contains(edge)) {
-			currentMarking.getAdjList().add(edge);
-			notifyListener(new ModelEvent(edge, ModelAction.ADD_EDGE));
+		if(edge < 0) {
+			final int id = edges.add(source, indexOf(transition), marking.getIndex());
+			notifyListener(new ModelEvent(getEdge(id), ModelAction.ADD_EDGE));
 			//Kante bereits vorhanden
 		} else {
-			notifyListener(new ModelEvent(edge, ModelAction.HIGHLIGHT_EDGE));
+			notifyListener(new ModelEvent(getEdge(edge), ModelAction.HIGHLIGHT_EDGE));
+		}
+	}
+	
+	//liefert den Index der Transition und nimmt sie beim ersten Aufruf auf
+	private int indexOf(Transition transition) {
+		final Integer idx = transitionIndex.get(transition);
+		if(idx != null) {
+			return idx;
 		}
+		transitions.add(transition);
+		transitionIndex.put(transition, transitions.size() - 1);
+		return transitions.size() - 1;
 	}
 	
 	
@@ -147,11 +254,191 @@ public class MarkingGraph extends ArrayList<Marking>{
 	 * @return Anzahl der Kanten
 	 */
 	public final int getEdgesNumber() {
-		int tmp = 0;
-		for(Marking marking : this) {
-			tmp = tmp + marking.getAdjList().size();
+		return edges.size();
+	}
+	
+	/**
+	 * Diese Methode liefert die Anzahl der ausgehenden Kanten einer Markierung
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return Anzahl der ausgehenden Kanten
+	 */
+	public final int getOutDegree(int id) {
+		return edges.outDegree(id);
+	}
+	
+	/**
+	 * Diese Methode liefert eine ausgehende Kante einer Markierung.<br>
+	 * Die ausgehenden Kanten liegen in der Reihenfolge ihrer ID.
+	 * 
+	 * @param id ID der Markierung
+	 * @param k Position unter den ausgehenden Kanten, kleiner als <code>getOutDegree(id)</code>
+	 * 
+	 * @return ID der Kante
+	 */
+	public final int getOutEdge(int id, int k) {
+		return edges.outEdge(id, k);
+	}
+	
+	/**
+	 * Diese Methode liefert die Anzahl der eingehenden Kanten einer Markierung.<br>
+	 * Beim ersten Aufruf wird der Index der eingehenden Kanten aufgebaut.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return Anzahl der eingehenden Kanten
+	 */
+	public final int getInDegree(int id) {
+		return edges.inDegree(id);
+	}
+	
+	/**
+	 * Diese Methode liefert eine eingehende Kante einer Markierung.<br>
+	 * Die eingehenden Kanten liegen in der Reihenfolge ihrer ID.
+	 * 
+	 * @param id ID der Markierung
+	 * @param k Position unter den eingehenden Kanten, kleiner als <code>getInDegree(id)</code>
+	 * 
+	 * @return ID der Kante
+	 */
+	public final int getInEdge(int id, int k) {
+		return edges.inEdge(id, k);
+	}
+	
+	/**
+	 * Diese Methode liefert alle Markierungen, von denen aus die übergebene Markierung<br>
+	 * erreichbar ist, einschließlich der Markierung selbst.<br>
+	 * Die Rückwärts-Breitensuche läuft über die eingehenden Kanten.
+	 * 
+	 * @param id ID der zu erreichenden Markierung
+	 * 
+	 * @return IDs der Markierungen, von denen aus die Markierung erreichbar ist
+	 */
+	public final BitSet getBackwardReachable(int id) {
+		return backwardSearch(id, -1);
+	}
+	
+	/**
+	 * Diese Methode prüft, ob eine Markierung von einer anderen aus erreichbar ist.<br>
+	 * Die Rückwärts-Breitensuche vom Ziel aus endet, sobald die Quelle gefunden wurde.
+	 * 
+	 * @param source ID der Markierung, von der aus gesucht wird
+	 * @param target ID der zu erreichenden Markierung
+	 * 
+	 * @return true, falls <code>target</code> von <code>source</code> aus erreichbar ist
+	 */
+	public final boolean isReachable(int source, int target) {
+		return backwardSearch(target, source).get(source);
+	}
+	
+	/**
+	 * Diese Methode prüft, ob die übergebene Markierung eine Home-Markierung ist,<br>
+	 * also von jeder Markierung des Graphen aus erreichbar ist.<br>
+	 * Das Ergebnis gilt nur für einen vollständigen Erreichbarkeitsgraphen.
+	 * 
+	 * @param id ID der Markierung
+	 * 
+	 * @return true, falls die Markierung von jeder Markierung aus erreichbar ist
+	 */
+	public final boolean isHomeMarking(int id) {
+		return getBackwardReachable(id).cardinality() == size();
+	}
+	
+	/**
+	 * Diese Methode prüft, ob die Startmarkierung von jeder Markierung des Graphen<br>
+	 * aus wieder erreicht werden kann, das Petri-Netz also reversibel ist.<br>
+	 * Das Ergebnis gilt nur für einen vollständigen Erreichbarkeitsgraphen.
+	 * 
+	 * @return true, falls die Startmarkierung eine Home-Markierung ist
+	 */
+	public final boolean isReversible() {
+		return isHomeMarking(0);
+	}
+	
+	//Rückwärts-Breitensuche von der übergebenen Markierung über die eingehenden Kanten,
+	//endet vorzeitig, sobald die Markierung stop gefunden wurde, -1 für die vollständige Suche
+	private BitSet backwardSearch(int target, int stop) {
+		final BitSet visited = new BitSet(size());
+		final int[] queue = new int[size()];
+		int head = 0;
+		int tail = 0;
+		visited.set(target);
+		queue[tail++] = target;
+		while(head < tail && target != stop) {
+			final int current = queue[head++];
+			for(int k = 0; k < edges.inDegree(current); k++) {
+				final int pred = edges.getSource(edges.inEdge(current, k));
+				if(!visited.get(pred)) {
+					visited.set(pred);
+					queue[tail++] = pred;
+					if(pred == stop) {
+						return visited;
+					}
+				}
+			}
 		}
-		return tmp;
+		return visited;
+	}
+	
+	/**
+	 * Diese Methode sucht die Kante mit der übergebenen Quelle, Transition und Ziel.<br>
+	 * Bei einem reduzierten Petri-Netz können mehrere Kanten einer Markierung<br>
+	 * dieselbe Transition haben, daher wird auch das Ziel verglichen.
+	 * 
+	 * @param source ID der Markierung vor dem Schalten
+	 * @param transition geschaltete Transition
+	 * @param target ID der Markierung nach dem Schalten
+	 * 
+	 * @return ID der Kante oder -1, falls es keine solche Kante gibt
+	 */
+	public final int findEdge(int source, Transition transition, int target) {
+		final Integer idx = transitionIndex.get(transition);
+		return idx == null ? -1 : edges.find(source, idx, target);
+	}
+	
+	/**
+	 * Getter-Methode, die die Quelle einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return ID der Markierung vor dem Schalten
+	 */
+	public final int getEdgeSource(int edge) {
+		return edges.getSource(edge);
+	}
+	
+	/**
+	 * Getter-Methode, die das Ziel einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return ID der Markierung nach dem Schalten
+	 */
+	public final int getEdgeTarget(int edge) {
+		return edges.getTarget(edge);
+	}
+	
+	/**
+	 * Getter-Methode, die die geschaltete Transition einer Kante liefert.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return geschaltete Transition
+	 */
+	public final Transition getEdgeTransition(int edge) {
+		return transitions.get(edges.getTransition(edge));
+	}
+	
+	/**
+	 * Diese Methode erzeugt die Darstellung einer Kante für die Beobachter.
+	 * 
+	 * @param edge ID der Kante
+	 * 
+	 * @return neue Kante mit der übergebenen ID
+	 */
+	public final MarkingGraphEdge getEdge(int edge) {
+		return new MarkingGraphEdge(edge, getEdgeTransition(edge), get(edges.getSource(edge)), get(edges.getTarget(edge)));
 	}
 	
 	/**
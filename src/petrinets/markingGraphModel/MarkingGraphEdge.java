@@ -26,6 +26,9 @@ public class MarkingGraphEdge {
 	//Beim erzeugen geschaltete Transition
 	private Transition transition;
 	
+	//ID der Kante im Markierungsgraphen, -1 falls sie nicht enthalten ist
+	private final int edgeID;
+	
 	/**
 	 * Konstruktor für die Kante zwischen zwei Markierungen.
 	 * 
@@ -38,22 +41,34 @@ public class MarkingGraphEdge {
 	 * 
 	 */
 	public MarkingGraphEdge(Transition transition, Marking source, Marking target) {
+		this(-1, transition, source, target);
+	}
+	
+	/**
+	 * Konstruktor für eine Kante des Markierungsgraphen mit ihrer ID.
+	 * 
+	 * @param edgeID ID der Kante im Markierungsgraphen
+	 * @param transition die Transition, welche geschaltet wurde, um die Kante zu erzeugen
+	 * @param source Quellknoten der Kante
+	 * @param target Zielknoten der Kante
+	 * 
+	 * @see MarkingGraph#getEdge(int)
+	 */
+	public MarkingGraphEdge(int edgeID, Transition transition, Marking source, Marking target) {
+		this.edgeID = edgeID;
 		this.transition = transition;
 		this.source = source;
 		this.target = target;
 	}
 	
 	/**
-	 * Getter-Methode, die die ID der Kante bestehend aus ID der vorherigen Markierung,<br> 
-	 * ID der Transition und ID der nachfolgenden Markierung liefert
+	 * Getter-Methode, die die ID der Kante als String liefert.<br>
+	 * Die ID ist die Position der Kante im Markierungsgraphen.
 	 * 
-	 * @return ID der Kante
+	 * @return ID der Kante oder null, falls die Kante nicht im Markierungsgraphen enthalten ist
 	 */
 	public final String getEdgeID() {
-		if(source != null && transition != null && target != null) {
-			return source.getMarkingID() + transition.getId() + target.getMarkingID();
-		}
-		return null;	
+		return edgeID >= 0 ? Integer.toString(edgeID) : null;
 	}
 	
 	/**
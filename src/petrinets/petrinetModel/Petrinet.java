@@ -1,6 +1,7 @@
 package petrinets.petrinetModel;
 
 import java.io.File;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -10,6 +11,7 @@ import java.util.TreeMap;
 import petrinets.ModelAction;
 import petrinets.ModelEvent;
 import petrinets.ModelListener;
+import petrinets.analysis.CompiledNet;
 import petrinets.markingGraphModel.Marking;
 import petrinets.markingGraphModel.MarkingGraph;
 
@@ -20,6 +22,12 @@ import petrinets.markingGraphModel.MarkingGraph;
  * Elemente kann über ihre ID direkt zugegriffen werden. Kanten des<br>
  * Petri-Netzes sind als Listen in den Transitionen gespeichert.<p>
  * 
+ * Nach dem Laden wird das Petri-Netz in ein {@link CompiledNet} übersetzt.<br>
+ * Schalten und Aktivierung erfolgen auf dessen Index-Arrays und der Markierung<br>
+ * in Array-Darstellung, Stellen und Transitionen werden danach aktualisiert.<br>
+ * Nach dem Schalten werden nur Transitionen geprüft, deren Vorbereich eine<br>
+ * veränderte Stelle enthält, Beobachter werden nur über geänderte Transitionen informiert.<p>
+ * 
  * Das Datenmodell hat eine Referenz auf den zum Petri-Netz gehörenden<br>
  * Markierungsgraphen.<p>
  * 
@@ -51,6 +59,15 @@ public class Petrinet {
 	//zum Petri-Netz gehörender Markierungsgraph
 	private final MarkingGraph markingGraph = new MarkingGraph();
 	
+	//kompilierte Kopie des geladenen Petri-Netzes und die aktuelle Markierung
+	//in deren Array-Darstellung, Schalten und Aktivierung erfolgen auf diesen Arrays
+	private CompiledNet net;
+	private int[] marking = new int[0];
+	
+	//aktive Transitionen über ihren Index, wird nach dem Schalten nur
+	//für die Transitionen aktualisiert, deren Vorbereich sich geändert hat
+	private final BitSet enabled = new BitSet();
+	
 	
 	/**
 	 * Löscht ein gegebenenfalls bereits geladenes Petri-Netz<br>
@@ -65,6 +82,7 @@ public class Petrinet {
 		//lädt Petri-Netz aus Datei
 		notifyListener(new ModelEvent(file, ModelAction.LOAD_FILE));
 		PetrinetParser.loadFile(file, this);
+		net = CompiledNet.compile(this);
 		
 		//initialisiert Markierungsgraph
 		markingGraph.initMarkingGraph(new Marking(places));
@@ -93,45 +111,80 @@ public class Petrinet {
 	 * 			
 	 */
 	public final boolean update(String id) {
+		final int transition = net.indexOf(id);
 		//ID ist ID einer Transition und Transition ist aktiv
-		if(transitions.get(id).isActiv()) {
+		if(enabled.get(transition)) {
 			//Stellen, Transitionen und Markierungsgraph werden aktualisiert
-			updatePlaces(id);
-			updateTransitions();
-			return markingGraph.update(transitions.get(id), new Marking(places));
+			updatePlaces(transition);
+			updateDependentTransitions(transition);
+			return markingGraph.update(net.getTransition(transition), new Marking(marking.clone()));
 		}
 		return false;
 	}
 	
 	
 	//aktualisiert das Petri-Netz anhand der geschalteten Transition
-	private void updatePlaces(String transitionID) {	
-		notifyListener(new ModelEvent(transitions.get(transitionID).getIdAndName() + " wurde geschalten.", ModelAction.PRINT_LINE));
+	private void updatePlaces(int transition) {	
+		notifyListener(new ModelEvent(net.getTransition(transition).getIdAndName() + " wurde geschalten.", ModelAction.PRINT_LINE));
+		
+		//schaltet die Transition auf der Array-Darstellung der Markierung
+		net.fireInPlace(marking, transition);
 		
 		//Schleife über die Stellen im Vorbereich
-		for(Place place : transitions.get(transitionID).getPreviousPlaces()) {
-			place.setTokens(place.getTokens()-1);
-			//Listener werden informiert
-			notifyListener(new ModelEvent(place, ModelAction.UPDATE_PLACE));
+		for(int place : net.getPreviousPlaces(transition)) {
+			updatePlace(place);
 		}
 		
 		//Schleife über die Stellen im Nachbereich
-		for(Place place : transitions.get(transitionID).getNextPlaces()) {
-			place.setTokens(place.getTokens()+1);
-			//Listener werden informiert
-			notifyListener(new ModelEvent(place, ModelAction.UPDATE_PLACE));
-
+		for(int place : net.getNextPlaces(transition)) {
+			updatePlace(place);
 		}	
 	}
 	
 	
+	//überträgt die Marken einer Stelle aus der Markierung auf die Stelle
+	private void updatePlace(int idx) {
+		final Place place = net.getPlace(idx);
+		place.setTokens(marking[idx]);
+		//Listener werden informiert
+		notifyListener(new ModelEvent(place, ModelAction.UPDATE_PLACE));
+	}
+	
+	
 	//Alle Transitionen werden anhand der Stellen
 	//im Vorbereich aktualisiert
 	private void updateTransitions() {
-		for(Transition transition : transitions.values()) {
-			transition.setActiv();
+		for(int transition = 0; transition < net.getTransitionCount(); transition++) {
+			enabled.set(transition, net.isActiv(marking, transition));
+			net.getTransition(transition).setActiv(enabled.get(transition));
 			//Listener werden informiert
-			notifyListener(new ModelEvent(transition, ModelAction.UPDATE_TRANSITION));;
+			notifyListener(new ModelEvent(net.getTransition(transition), ModelAction.UPDATE_TRANSITION));
+		}
+	}
+	
+	
+	//nach dem Schalten werden nur die Transitionen geprüft, deren Vorbereich eine
+	//veränderte Stelle enthält, Listener werden nur bei einer Änderung informiert
+	private void updateDependentTransitions(int transition) {
+		for(int place : net.getPreviousPlaces(transition)) {
+			updateTransitionsOf(place);
+		}
+		for(int place : net.getNextPlaces(transition)) {
+			updateTransitionsOf(place);
+		}
+	}
+	
+	
+	//aktualisiert die Transitionen mit der Stelle im Vorbereich
+	private void updateTransitionsOf(int place) {
+		for(int transition : net.getDependentTransitions(place)) {
+			final boolean activ = net.isActiv(marking, transition);
+			if(activ != enabled.get(transition)) {
+				enabled.set(transition, activ);
+				net.getTransition(transition).setActiv(activ);
+				//Listener werden informiert
+				notifyListener(new ModelEvent(net.getTransition(transition), ModelAction.UPDATE_TRANSITION));
+			}
 		}
 	}
 	
@@ -165,7 +218,9 @@ public class Petrinet {
 	/**
 	 * Methode, um das Petri-Netz und den Markierungsgraph<br>
 	 * zu aktualisieren, so dass die Markierungen des Petri-Netzes<br>
-	 * der der übergebenen Markierung entspricht
+	 * der der übergebenen Markierung entspricht.<br>
+	 * Enthält die Markierung ω, bleiben Petri-Netz und Markierungsgraph<br>
+	 * unverändert und es wird nur eine Meldung ausgegeben
 	 * 
 	 * @param id ID der Markierung auf die das Petri-Netz aktualisiert werden soll
 	 * 
@@ -175,15 +230,19 @@ public class Petrinet {
 	 */
 	public final void setMarking(String id) {
 		
-		//speichert die Markierung in einem Array
-		final int[] startmarking = markingGraph.get(Integer.parseInt(id)).getMarking();
-		int idx = 0;
+		//Markierungen eines Überdeckungsgraphen mit beliebig vielen
+		//Marken können nicht auf das Petri-Netz übertragen werden
+		if(markingGraph.get(Integer.parseInt(id)).containsOmega()) {
+			notifyListener(new ModelEvent("Markierung " + id + " enthält ω und kann nicht auf das Petri-Netz übertragen werden.", ModelAction.PRINT_LINE));
+			return;
+		}
+		
+		//übernimmt eine Kopie der Markierung als aktuelle Markierung
+		marking = markingGraph.get(Integer.parseInt(id)).getMarking().clone();
 		
 		//alle Stellen werden aktualisiert
-		for(Place place : places.values()) {
-			place.setTokens(startmarking[idx++]);
-			//Listener werden informiert
-			notifyListener(new ModelEvent(place, ModelAction.UPDATE_PLACE));
+		for(int idx = 0; idx < marking.length; idx++) {
+			updatePlace(idx);
 		}
 		//Transitionen und Markierungsgraph werden
 		//nach der Änderung aktualisiert
@@ -243,6 +302,18 @@ public class Petrinet {
 		notifyListener(new ModelEvent(transition, ModelAction.ADD_TRANSITION));
 	}
 	
+	/**
+	 * Getter-Methode, die die kompilierte Kopie des geladenen Petri-Netzes liefert.<br>
+	 * Sie wird beim Laden erzeugt und vom Schalten und von der Analyse gemeinsam verwendet.
+	 * 
+	 * @return kompiliertes Petri-Netz
+	 * 
+	 * @see CompiledNet
+	 */
+	public final CompiledNet getCompiledNet() {
+		return net;
+	}
+	
 	/**
 	 * Getter-Methode, die die Stellen des Petri-Netzes liefert
 	 * 
@@ -81,18 +81,12 @@ public class Transition extends Element {
 	}
 
 	/**
-	 * Methode, die die Transition auf Schaltbar oder nicht Schaltbar setzt, anhand der Stellen im Vorbereich.
+	 * Setter-Methode, die die Transition auf Schaltbar oder nicht Schaltbar setzt.<br>
+	 * Die Aktivierung wird vom Petri-Netz auf dessen kompilierter Kopie bestimmt.
 	 * 
+	 * @param activ true, falls jede Stelle im Vorbereich mindestens eine Marke trägt
 	 */
-	final void setActiv() {
-		boolean tmpSwitch = true;
-		//Schleife über alle Stellen im Vorbereich
-		//wenn jede stelle mindestens eine Marke besitzt, wir die Transition auf Aktiv gesetzt
-		for(Place place : previousPlaces) {
-			if(place.getTokens() < 1)
-				//nicht schaltbar, falls eine Stelle im Vorbereich keine Marken trägt.
-				tmpSwitch = false;
-		}
-		activ = tmpSwitch;
+	final void setActiv(boolean activ) {
+		this.activ = activ;
 	}
 }
@@ -253,6 +253,7 @@ class MarkingGraphView extends JPanel implements ModelListener {
 	 * <li> <Strong>SET_FIRST_OMEGA_MARKING</Strong> - um die erste Markierung des Abbruchkriteriums zu markieren. Quelle {@link Marking}
 	 * <li> <Strong>SET_SECOND_OMEGA_MARKING</Strong> - um die zweite Markierung des Abbruchkriteriums zu markieren. Quelle {@link Marking}
 	 * <li> <Strong>SET_OMEGA_PATH</Strong> -  um den Pfad zu markieren der zum Abbruchkriterium geführt hat. Quelle {@link MarkingGraphView}
+	 * <li> <Strong>SET_DEADLOCK_PATH</Strong> -  um den kürzesten Pfad zu einer Verklemmung zu markieren. Quelle {@link MarkingGraphEdge}
 	 * </ul>
 	 * 
 	 * @see ModelListener
@@ -293,6 +294,10 @@ class MarkingGraphView extends JPanel implements ModelListener {
 		//Kante des Pfades zum Abbruchkriterium wird übergeben
 		} else if(ModelAction.SET_OMEGA_PATH.equals(evt.getAction())) {
 			setOmegaPathEdge((MarkingGraphEdge)evt.getSource(), 0.8);
+			
+		//Kante des Pfades zur Verklemmung wird übergeben
+		} else if(ModelAction.SET_DEADLOCK_PATH.equals(evt.getAction())) {
+			setOmegaPathEdge((MarkingGraphEdge)evt.getSource(), 0.8);
 		}
 	}
 
@@ -3,11 +3,16 @@ package petrinets.view;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javax.swing.ButtonGroup;
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JRadioButtonMenuItem;
 
+import petrinets.analysis.ExplorationMode;
+import petrinets.analysis.SearchStrategy;
+import petrinets.analysis.StorageBackend;
 import petrinets.controller.ButtonActions;
 
 /**
@@ -29,6 +34,27 @@ class MenuBar extends JMenuBar {
 	private final JCheckBoxMenuItem setChangeable = new JCheckBoxMenuItem("Petri-Netz Knoten fixiert");
 	private final JMenuItem closeWindow = new JMenuItem("Beenden");
 	
+	//Schaltflächen für die Einstellungen der Analyse
+	private final JRadioButtonMenuItem reachabilityMode = new JRadioButtonMenuItem("Erreichbarkeitsgraph");
+	private final JRadioButtonMenuItem coverabilityMode = new JRadioButtonMenuItem("Überdeckungsgraph (Karp-Miller)");
+	private final JRadioButtonMenuItem coveringSetMode = new JRadioButtonMenuItem("Minimale Überdeckungsmenge");
+	private final JRadioButtonMenuItem bitStateMode = new JRadioButtonMenuItem("Bitstate-Hashing (approximativ)");
+	private final JRadioButtonMenuItem hashCompactionMode = new JRadioButtonMenuItem("Hash-Kompaktierung (approximativ)");
+	private final JRadioButtonMenuItem deadlockMode = new JRadioButtonMenuItem("Verklemmungssuche");
+	private final JRadioButtonMenuItem smallBitState = new JRadioButtonMenuItem("2^24 Bits (2 MiB)");
+	private final JRadioButtonMenuItem mediumBitState = new JRadioButtonMenuItem("2^28 Bits (32 MiB)");
+	private final JRadioButtonMenuItem largeBitState = new JRadioButtonMenuItem("2^32 Bits (512 MiB)");
+	private final JCheckBoxMenuItem structuralCheck = new JCheckBoxMenuItem("Strukturelle Vorprüfung (P-Invarianten, T-Vektor)");
+	private final JCheckBoxMenuItem netReduction = new JCheckBoxMenuItem("Netzreduktion");
+	private final JRadioButtonMenuItem breadthFirst = new JRadioButtonMenuItem("Breitensuche");
+	private final JRadioButtonMenuItem parallelBreadthFirst = new JRadioButtonMenuItem("Parallele Breitensuche");
+	private final JRadioButtonMenuItem depthFirst = new JRadioButtonMenuItem("Tiefensuche");
+	private final JRadioButtonMenuItem heapStorage = new JRadioButtonMenuItem("Speicher im Heap");
+	private final JRadioButtonMenuItem offHeapStorage = new JRadioButtonMenuItem("Speicher außerhalb des Heaps");
+	private final JRadioButtonMenuItem mappedStorage = new JRadioButtonMenuItem("Speicher in temporären Dateien");
+	private final JMenuItem checkpointDirectory = new JMenuItem("Verzeichnis für Zwischenstände...");
+	private final JMenu budgetMenu = new JMenu("Grenzen der Exploration");
+	
 	//PetrinetView um MouseDragg im PetrinetView zu aktivieren bzw. deaktivieren.
 	private final PetrinetView petrinetView;
 	
@@ -57,10 +83,101 @@ class MenuBar extends JMenuBar {
 
 		add(fileMenu);
 		
+		JMenu analyseMenu = new JMenu("Analyse");
+		analyseMenu.add(reachabilityMode);
+		analyseMenu.add(coverabilityMode);
+		analyseMenu.add(coveringSetMode);
+		analyseMenu.add(hashCompactionMode);
+		analyseMenu.add(bitStateMode);
+		analyseMenu.add(deadlockMode);
+		JMenu bitStateMenu = new JMenu("Größe des Bitarrays");
+		bitStateMenu.add(smallBitState);
+		bitStateMenu.add(mediumBitState);
+		bitStateMenu.add(largeBitState);
+		analyseMenu.add(bitStateMenu);
+		analyseMenu.addSeparator();
+		analyseMenu.add(structuralCheck);
+		analyseMenu.add(netReduction);
+		analyseMenu.addSeparator();
+		analyseMenu.add(breadthFirst);
+		analyseMenu.add(parallelBreadthFirst);
+		analyseMenu.add(depthFirst);
+		analyseMenu.addSeparator();
+		analyseMenu.add(heapStorage);
+		analyseMenu.add(offHeapStorage);
+		analyseMenu.add(mappedStorage);
+		analyseMenu.addSeparator();
+		analyseMenu.add(checkpointDirectory);
+		analyseMenu.add(budgetMenu);
+		analyseMenu.add(budgetMenu("Messwerte der Exploration", ButtonActions.METRICS_INTERVAL, 2,
+				new String[] {"aus", "jede Sekunde", "alle 5 Sekunden", "alle 30 Sekunden"}, "0", "1", "5", "30"));
+		//Markierungen im Markierungsgraphen, Standard sind 10.000
+		analyseMenu.add(budgetMenu("Markierungen im Markierungsgraphen", ButtonActions.GRAPH_LIMIT, 1,
+				new String[] {"1.000", "10.000", "100.000", "alle"}, "1000", "10000", "100000", "0"));
+		add(analyseMenu);
+		
+		//es kann nur eine Art des Graphen gewählt sein, Standard ist der Erreichbarkeitsgraph
+		ButtonGroup modeGroup = new ButtonGroup();
+		modeGroup.add(reachabilityMode);
+		modeGroup.add(coverabilityMode);
+		modeGroup.add(coveringSetMode);
+		modeGroup.add(hashCompactionMode);
+		modeGroup.add(bitStateMode);
+		modeGroup.add(deadlockMode);
+		reachabilityMode.setSelected(true);
+		
+		//es kann nur eine Größe des Bitarrays gewählt sein, Standard sind 2^28 Bits
+		ButtonGroup bitStateGroup = new ButtonGroup();
+		bitStateGroup.add(smallBitState);
+		bitStateGroup.add(mediumBitState);
+		bitStateGroup.add(largeBitState);
+		mediumBitState.setSelected(true);
+		
+		//es kann nur eine Suchstrategie gewählt sein, Standard ist die Breitensuche
+		ButtonGroup strategyGroup = new ButtonGroup();
+		strategyGroup.add(breadthFirst);
+		strategyGroup.add(parallelBreadthFirst);
+		strategyGroup.add(depthFirst);
+		breadthFirst.setSelected(true);
+		
+		//es kann nur ein Speicher gewählt sein, Standard ist der Heap
+		ButtonGroup storageGroup = new ButtonGroup();
+		storageGroup.add(heapStorage);
+		storageGroup.add(offHeapStorage);
+		storageGroup.add(mappedStorage);
+		heapStorage.setSelected(true);
+		
+		//Grenzen der Exploration, Standard ist unbegrenzt
+		budgetMenu.add(budgetMenu("Markierungen", ButtonActions.MAX_STATES, 0,
+				new String[] {"unbegrenzt", "100.000", "1.000.000", "10.000.000"}, "0", "100000", "1000000", "10000000"));
+		budgetMenu.add(budgetMenu("Kanten", ButtonActions.MAX_EDGES, 0,
+				new String[] {"unbegrenzt", "1.000.000", "10.000.000", "100.000.000"}, "0", "1000000", "10000000", "100000000"));
+		budgetMenu.add(budgetMenu("Laufzeit", ButtonActions.TIMEOUT, 0,
+				new String[] {"unbegrenzt", "10 Sekunden", "1 Minute", "10 Minuten"}, "0", "10", "60", "600"));
+		budgetMenu.add(budgetMenu("Belegung des Heaps", ButtonActions.HEAP_THRESHOLD, 0,
+				new String[] {"unbegrenzt", "50%", "60%", "75%"}, "0", "50", "60", "75"));
+		
 		addActionListener();
 
 	}
 	
+	//erzeugt ein Untermenü mit den Werten einer Grenze der Exploration, des Abstands der Messwerte
+	//bzw. der Anzahl der Markierungen im Markierungsgraphen, es kann nur ein Wert gewählt sein,
+	//der gewählte wird mit dem Kommando gemeldet
+	private JMenu budgetMenu(String title, ButtonActions action, int selected, String[] labels, String... values) {
+		final JMenu menu = new JMenu(title);
+		final ButtonGroup group = new ButtonGroup();
+		for(int i = 0; i < labels.length; i++) {
+			final JRadioButtonMenuItem item = new JRadioButtonMenuItem(labels[i]);
+			final String value = values[i];
+			item.addActionListener(e -> actionListener.actionPerformed(new ActionEvent(action, 0, value)));
+			item.setSelected(i == selected);
+			group.add(item);
+			menu.add(item);
+		}
+		return menu;
+	}
+	
 	/**
 	 * Add-Methode, die einen ActionListener bei der MenueBar anmeldet
 	 * 
@@ -84,6 +201,56 @@ class MenuBar extends JMenuBar {
 		chooseMultipleData.addActionListener(e -> actionListener
 				.actionPerformed(new ActionEvent(ButtonActions.CHOOSE_MULTIPLE_DATA, 0, null)));
 		
+		//meldet die gewählte Art des Graphen mit deren Namen an den Controller
+		reachabilityMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.REACHABILITY.name())));
+		coverabilityMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.COVERABILITY.name())));
+		coveringSetMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.MINIMAL_COVERABILITY_SET.name())));
+		hashCompactionMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.HASH_COMPACTION.name())));
+		bitStateMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.BIT_STATE.name())));
+		deadlockMode.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.EXPLORATION_MODE, 0, ExplorationMode.DEADLOCK.name())));
+		
+		//meldet die gewählte Größe des Bitarrays als Zweierlogarithmus an den Controller
+		smallBitState.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.BIT_STATE_SIZE, 0, "24")));
+		mediumBitState.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.BIT_STATE_SIZE, 0, "28")));
+		largeBitState.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.BIT_STATE_SIZE, 0, "32")));
+		
+		//meldet structuralCheck mit dem Zustand der Option an den Controller
+		structuralCheck.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.STRUCTURAL_CHECK, 0, Boolean.toString(structuralCheck.getState()))));
+		
+		//meldet netReduction mit dem Zustand der Option an den Controller
+		netReduction.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.NET_REDUCTION, 0, Boolean.toString(netReduction.getState()))));
+		
+		//meldet die gewählte Suchstrategie mit deren Namen an den Controller
+		breadthFirst.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.SEARCH_STRATEGY, 0, SearchStrategy.BREADTH_FIRST.name())));
+		parallelBreadthFirst.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.SEARCH_STRATEGY, 0, SearchStrategy.PARALLEL_BREADTH_FIRST.name())));
+		depthFirst.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.SEARCH_STRATEGY, 0, SearchStrategy.DEPTH_FIRST.name())));
+		
+		//meldet den gewählten Speicher mit dessen Namen an den Controller
+		heapStorage.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.STORAGE_BACKEND, 0, StorageBackend.HEAP.name())));
+		offHeapStorage.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.STORAGE_BACKEND, 0, StorageBackend.OFF_HEAP.name())));
+		mappedStorage.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.STORAGE_BACKEND, 0, StorageBackend.MEMORY_MAPPED.name())));
+		
+		//meldet checkpointDirectory an den Controller
+		checkpointDirectory.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.CHECKPOINT_DIRECTORY, 0, null)));
+		
 		//wechselt zwischen Konten sind verschiebbar und nicht verschiebbar
 		setChangeable.addActionListener(e -> petrinetView
 				.setMouseDraggDisabled(setChangeable.getState()));
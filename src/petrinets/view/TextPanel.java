@@ -20,6 +20,7 @@ import javax.swing.JToolBar;
 import petrinets.ModelAction;
 import petrinets.ModelEvent;
 import petrinets.ModelListener;
+import petrinets.analysis.ExplorationMetrics;
 import petrinets.markingGraphModel.Marking;
 import petrinets.markingGraphModel.MarkingGraphEdge;
 import petrinets.petrinetModel.Petrinet;
@@ -111,6 +112,7 @@ class TextPanel extends JPanel implements ModelListener {
 	 * <li> <Strong>loadFile</Strong> - falls eine neue File geladen wurde. Quelle {@link File}
 	 * <li> <Strong>addMarking</Strong> - falls eine Markierung hinzugefügt wurde. Quelle {@link Marking}
 	 * <li> <Strong>addEdge</Strong> - falls eine Kante hinzugefügt wurde. Quelle {@link MarkingGraphView}
+	 * <li> <Strong>setMetrics</Strong> - Messwerte einer laufenden oder beendeten Exploration. Quelle {@link ExplorationMetrics}
 	 * </ul>
 	 * 
 	 * @see ModelEvent
@@ -151,5 +153,11 @@ class TextPanel extends JPanel implements ModelListener {
 			text.append("Kante von " + edge.getPredMarking().toString() + " nach " + edge.getSuccMakring().toString() + " wurde hinzugefügt." + "\n");
 			text.setCaretPosition(text.getDocument().getLength());
 		}
+		
+		//Messwerte der Exploration werden übergeben
+		else if(ModelAction.SET_METRICS.equals(evt.getAction())) {
+			text.append(((ExplorationMetrics)evt.getSource()).toString() + "\n");
+			text.setCaretPosition(text.getDocument().getLength());
+		}
 	}
 }
@@ -28,6 +28,8 @@ class ToolBar extends JToolBar {
 	private final JButton plusToken = new JButton(new ImageIcon(getClass().getClassLoader().getResource("images/plus.png")));
 	private final JButton minusToken = new JButton(new ImageIcon(getClass().getClassLoader().getResource("images/minus.png")));
 	private final JButton analyseGraph = new JButton(new ImageIcon(getClass().getClassLoader().getResource("images/idee.png")));
+	private final JButton searchDeadlock = new JButton("Verklemmung");
+	private final JButton cancelAnalysis = new JButton(new ImageIcon(getClass().getClassLoader().getResource("images/erase.png")));
 	private final JButton resetPetrinetView = new JButton("resetPnKamera");
 	private final JButton resetMarkingGraphView = new JButton("resetEgKamera");
 	
@@ -58,6 +60,8 @@ class ToolBar extends JToolBar {
 		add(plusToken);
 		add(minusToken);
 		add(analyseGraph);
+		add(searchDeadlock);
+		add(cancelAnalysis);
 		addSeparator(new Dimension(5, 0));
 		add(resetPetrinetView);
 		add(resetMarkingGraphView);
@@ -84,6 +88,12 @@ class ToolBar extends JToolBar {
 		analyseGraph.setToolTipText(
 				"Analysiere Petri-Netz");	
 		
+		searchDeadlock.setToolTipText(
+				"Sucht die erste erreichbare Verklemmung und eine kürzeste Schaltfolge zu ihr");
+		
+		cancelAnalysis.setToolTipText(
+				"Bricht die laufende Analyse bzw. Stapelverarbeitung ab");
+		
 		resetPetrinetView.setToolTipText(
 				"Setzt die Kamera des Petri-Netzes zurück");
 		
@@ -122,6 +132,14 @@ class ToolBar extends JToolBar {
 		analyseGraph.addActionListener(e -> actionListener
 				.actionPerformed(new ActionEvent(ButtonActions.ANALYSE_GRAPH, 0, null)));	
 		
+		//meldet searchDeadlock an den Controller
+		searchDeadlock.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.SEARCH_DEADLOCK, 0, null)));
+		
+		//meldet cancelAnalysis an den Controller
+		cancelAnalysis.addActionListener(e -> actionListener
+				.actionPerformed(new ActionEvent(ButtonActions.CANCEL_ANALYSIS, 0, null)));
+		
 		//setzt die Kamera des petrinetViews zurück
 		resetPetrinetView.addActionListener(e -> petrinetView
 				.getViewPanel().getCamera().resetView());